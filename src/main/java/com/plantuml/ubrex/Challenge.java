@@ -44,4 +44,15 @@ public interface Challenge {
 		return runChallenge(TextNavigator.build(string), 0);
 	}
 
+	/**
+	 * Returns the compiled form of this challenge, or <code>null</code> if it can
+	 * only be interpreted.
+	 * 
+	 * @param prefix path of the enclosing named groups, used to build the keys of
+	 *               the captures
+	 */
+	public default CompiledChallenge compile(String prefix) {
+		return null;
+	}
+
 }
@@ -61,4 +61,13 @@ public class ChallengeAlternative implements Challenge {
 		alternatives.add(pattern);
 	}
 
+	@Override
+	public CompiledChallenge compile(String prefix) {
+		final CompiledChallenge[] compiled = CompiledChallenge.compileAll(new ArrayList<>(alternatives), prefix);
+		if (compiled == null)
+			return null;
+
+		return CompiledChallenge.alternative(compiled);
+	}
+
 }
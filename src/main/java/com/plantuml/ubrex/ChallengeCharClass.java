@@ -34,7 +34,7 @@
  */
 package com.plantuml.ubrex;
 
-public class ChallengeCharClass implements Challenge {
+public class ChallengeCharClass implements CharChallenge {
 
 	private final CharClass charClass;
 
@@ -48,13 +48,8 @@ public class ChallengeCharClass implements Challenge {
 	}
 
 	@Override
-	public ChallengeResult runChallenge(TextNavigator string, int position) {
-		if (string.length() == position)
-			return new ChallengeResult(NO_MATCH);
-		final char ch = string.charAt(position);
-		if (charClass.matches(ch))
-			return new ChallengeResult(1);
-		return new ChallengeResult(NO_MATCH);
+	public boolean matches(char ch) {
+		return charClass.matches(ch);
 	}
 
 }
@@ -37,7 +37,7 @@ package com.plantuml.ubrex;
 import java.util.EnumSet;
 import java.util.Set;
 
-public class ChallengeCharSet implements Challenge {
+public class ChallengeCharSet implements CharChallenge {
 
 	private final Set<CharClassRaw> charClasses = EnumSet.noneOf(CharClassRaw.class);
 	private final CharSet charSet = new CharSet();
@@ -90,15 +90,8 @@ public class ChallengeCharSet implements Challenge {
 	}
 
 	@Override
-	public ChallengeResult runChallenge(TextNavigator string, int position) {
-		if (string.length() == position)
-			return new ChallengeResult(NO_MATCH);
-
-		final char ch = string.charAt(position);
-		if ((charSet.contains(ch) || CharClassRaw.internalMatchesAny(charClasses, ch)) != reversed)
-			return new ChallengeResult(1);
-
-		return new ChallengeResult(NO_MATCH);
+	public boolean matches(char ch) {
+		return (charSet.contains(ch) || CharClassRaw.internalMatchesAny(charClasses, ch)) != reversed;
 	}
 
 }
@@ -43,4 +43,9 @@ public class ChallengeEndOfText implements Challenge {
 		return new ChallengeResult(NO_MATCH);
 	}
 
+	@Override
+	public CompiledChallenge compile(String prefix) {
+		return CompiledChallenge.endOfText();
+	}
+
 }
@@ -69,4 +69,19 @@ public class ChallengeLazzyOneOrMore implements Challenge {
 		}
 	}
 
+	@Override
+	public CompiledChallenge compile(String prefix) {
+		final CompiledChallenge compiledOrigin = origin.compile(prefix);
+		final CompiledChallenge compiledEnd = end.compile(prefix);
+		if (compiledOrigin == null || compiledEnd == null)
+			return null;
+
+		// The captures of the end are not prefixed by the enclosing name: leave this
+		// case to the interpreter
+		if (compiledEnd.isCapturing())
+			return null;
+
+		return CompiledChallenge.upTo(compiledOrigin, compiledEnd, true);
+	}
+
 }
@@ -66,4 +66,13 @@ public class ChallengeLookAhead implements Challenge {
 		throw new IllegalStateException();
 	}
 
+	@Override
+	public CompiledChallenge compile(String prefix) {
+		final CompiledChallenge compiled = origin.compile(prefix);
+		if (compiled == null)
+			return null;
+
+		return CompiledChallenge.lookAhead(compiled, ahead == LookAround.LOOK_AHEAD_POSITIVE);
+	}
+
 }
@@ -67,4 +67,13 @@ public class ChallengeOneOrMore implements Challenge {
 		}
 	}
 
+	@Override
+	public CompiledChallenge compile(String prefix) {
+		final CompiledChallenge compiled = origin.compile(prefix);
+		if (compiled == null)
+			return null;
+
+		return CompiledChallenge.repetition(compiled, null, false, true);
+	}
+
 }
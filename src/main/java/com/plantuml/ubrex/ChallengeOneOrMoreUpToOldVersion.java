@@ -66,4 +66,14 @@ public class ChallengeOneOrMoreUpToOldVersion implements Challenge {
 		}
 	}
 
+	@Override
+	public CompiledChallenge compile(String prefix) {
+		final CompiledChallenge compiledOrigin = origin.compile(prefix);
+		final CompiledChallenge compiledEnd = end.compile(prefix);
+		if (compiledOrigin == null || compiledEnd == null)
+			return null;
+
+		return CompiledChallenge.upTo(compiledOrigin, compiledEnd, false);
+	}
+
 }
@@ -56,4 +56,13 @@ public class ChallengeOptional implements Challenge {
 		return tmp;
 	}
 
+	@Override
+	public CompiledChallenge compile(String prefix) {
+		final CompiledChallenge compiled = origin.compile(prefix);
+		if (compiled == null)
+			return null;
+
+		return CompiledChallenge.optional(compiled);
+	}
+
 }
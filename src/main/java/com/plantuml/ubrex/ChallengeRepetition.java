@@ -69,4 +69,13 @@ public class ChallengeRepetition implements Challenge {
 		}
 	}
 
+	@Override
+	public CompiledChallenge compile(String prefix) {
+		final CompiledChallenge compiled = origin.compile(prefix);
+		if (compiled == null)
+			return null;
+
+		return CompiledChallenge.repetition(compiled, repetition, false, true);
+	}
+
 }
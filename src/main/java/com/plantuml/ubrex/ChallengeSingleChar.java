@@ -34,7 +34,7 @@
  */
 package com.plantuml.ubrex;
 
-public class ChallengeSingleChar implements Challenge {
+public class ChallengeSingleChar implements CharChallenge {
 
 	private final CaseMode mode = CaseMode.CASE_INSENSITIVE;
 
@@ -71,16 +71,11 @@ public class ChallengeSingleChar implements Challenge {
 	}
 
 	@Override
-	public ChallengeResult runChallenge(TextNavigator string, int position) {
-		if (string.length() == position)
-			return new ChallengeResult(NO_MATCH);
-		char extract = string.charAt(position);
+	public boolean matches(char extract) {
 		if (mode == CaseMode.CASE_INSENSITIVE)
 			extract = CaseMode.ensureLowercase(extract);
 
-		if (extract == ch)
-			return new ChallengeResult(1);
-		return new ChallengeResult(NO_MATCH);
+		return extract == ch;
 	}
 
 }
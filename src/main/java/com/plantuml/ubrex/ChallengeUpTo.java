@@ -55,4 +55,13 @@ public class ChallengeUpTo implements Challenge {
 		}
 	}
 
+	@Override
+	public CompiledChallenge compile(String prefix) {
+		final CompiledChallenge compiled = origin.compile(prefix);
+		if (compiled == null)
+			return null;
+
+		return CompiledChallenge.skipTo(compiled);
+	}
+
 }
@@ -60,4 +60,13 @@ public class ChallengeZeroOrMore implements Challenge {
 		}
 	}
 
+	@Override
+	public CompiledChallenge compile(String prefix) {
+		final CompiledChallenge compiled = origin.compile(prefix);
+		if (compiled == null)
+			return null;
+
+		return CompiledChallenge.repetition(compiled, null, true, false);
+	}
+
 }
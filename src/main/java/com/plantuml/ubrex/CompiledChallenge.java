@@ -0,0 +1,305 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ *
+ * If you like this project or if you find it useful, you can support us at:
+ *
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ *
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ *
+ */
+package com.plantuml.ubrex;
+
+import java.util.List;
+
+/**
+ * Compiled form of a {@link Challenge}.
+ * 
+ * The interpreter builds a {@link ChallengeResult} and copies a
+ * {@link Capture} for every character it reads. A compiled challenge only
+ * returns the position where it stops, or {@link Challenge#NO_MATCH}, and
+ * writes its captures as offsets into a {@link CompiledRun}.
+ * 
+ * Repetitions of UBrex are possessive and alternatives are ordered, so the
+ * behaviour is exactly the one of the interpreter: a failing challenge may
+ * leave some captures behind, and whoever recovers from this failure rolls them
+ * back.
+ */
+public abstract class CompiledChallenge {
+
+	private final boolean capturing;
+
+	CompiledChallenge(boolean capturing) {
+		this.capturing = capturing;
+	}
+
+	/**
+	 * Tells if this challenge can add captures to the run.
+	 */
+	final boolean isCapturing() {
+		return capturing;
+	}
+
+	abstract int run(CompiledRun run, int position);
+
+	static CompiledChallenge[] compileAll(List<Challenge> challenges, String prefix) {
+		final CompiledChallenge[] result = new CompiledChallenge[challenges.size()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = challenges.get(i).compile(prefix);
+			if (result[i] == null)
+				return null;
+		}
+		return result;
+	}
+
+	private static boolean isCapturing(CompiledChallenge[] challenges) {
+		for (CompiledChallenge challenge : challenges)
+			if (challenge.isCapturing())
+				return true;
+		return false;
+	}
+
+	static CompiledChallenge singleChar(CharChallenge challenge) {
+		long mask1 = 0L;
+		long mask2 = 0L;
+		for (char ch = 0; ch < 128; ch++)
+			if (challenge.matches(ch))
+				if (ch < 64)
+					mask1 |= 1L << ch;
+				else
+					mask2 |= 1L << (ch - 64);
+
+		final long ascii1 = mask1;
+		final long ascii2 = mask2;
+		return new CompiledChallenge(false) {
+			@Override
+			int run(CompiledRun run, int position) {
+				if (position >= run.length)
+					return Challenge.NO_MATCH;
+
+				final char ch = run.text.charAt(position);
+				final boolean ok;
+				if (ch < 64)
+					ok = (ascii1 & (1L << ch)) != 0;
+				else if (ch < 128)
+					ok = (ascii2 & (1L << (ch - 64))) != 0;
+				else
+					ok = challenge.matches(ch);
+
+				if (ok == false)
+					return Challenge.NO_MATCH;
+
+				run.nameEnd = position + 1;
+				return position + 1;
+			}
+		};
+	}
+
+	static CompiledChallenge sequence(CompiledChallenge[] challenges) {
+		return new CompiledChallenge(isCapturing(challenges)) {
+			@Override
+			int run(CompiledRun run, int position) {
+				int current = position;
+				for (CompiledChallenge challenge : challenges) {
+					current = challenge.run(run, current);
+					if (current < 0)
+						return Challenge.NO_MATCH;
+				}
+				run.nameEnd = current;
+				return current;
+			}
+		};
+	}
+
+	static CompiledChallenge named(String key, CompiledChallenge[] challenges) {
+		return new CompiledChallenge(true) {
+			@Override
+			int run(CompiledRun run, int position) {
+				int current = position;
+				int valueEnd = -1;
+				for (CompiledChallenge challenge : challenges) {
+					current = challenge.run(run, current);
+					if (current < 0)
+						return Challenge.NO_MATCH;
+					if (valueEnd == -1)
+						valueEnd = run.nameEnd;
+				}
+				run.capture(key, position, valueEnd);
+				run.nameEnd = current;
+				return current;
+			}
+		};
+	}
+
+	static CompiledChallenge optional(CompiledChallenge origin) {
+		return new CompiledChallenge(origin.isCapturing()) {
+			@Override
+			int run(CompiledRun run, int position) {
+				final int mark = run.mark();
+				final int result = origin.run(run, position);
+				if (result >= 0)
+					return result;
+
+				run.rollback(mark);
+				run.nameEnd = position;
+				return position;
+			}
+		};
+	}
+
+	static CompiledChallenge alternative(CompiledChallenge[] alternatives) {
+		return new CompiledChallenge(isCapturing(alternatives)) {
+			@Override
+			int run(CompiledRun run, int position) {
+				final int mark = run.mark();
+				for (CompiledChallenge alternative : alternatives) {
+					final int result = alternative.run(run, position);
+					if (result >= 0)
+						return result;
+					run.rollback(mark);
+				}
+				return Challenge.NO_MATCH;
+			}
+		};
+	}
+
+	/**
+	 * Possessive repetition, as {@link ChallengeOneOrMore},
+	 * {@link ChallengeZeroOrMore} and {@link ChallengeRepetition}. The captures
+	 * of the repeated challenge are kept, except for zero or more.
+	 */
+	static CompiledChallenge repetition(CompiledChallenge origin, Repetition repetition, boolean zeroAllowed,
+			boolean keepCaptures) {
+		return new CompiledChallenge(keepCaptures && origin.isCapturing()) {
+			@Override
+			int run(CompiledRun run, int position) {
+				final int start = run.mark();
+				int current = position;
+				int count = 0;
+				while (true) {
+					final int mark = run.mark();
+					final int result = origin.run(run, current);
+					if (result < 0) {
+						run.rollback(keepCaptures ? mark : start);
+						if (zeroAllowed == false && current == position)
+							return Challenge.NO_MATCH;
+						if (repetition != null && repetition.match(count) == false)
+							return Challenge.NO_MATCH;
+						run.nameEnd = current;
+						return current;
+					}
+					if (result == current)
+						throw new IllegalStateException("infinite loop");
+					current = result;
+					count++;
+				}
+			}
+		};
+	}
+
+	/**
+	 * Repeats <code>origin</code> until <code>end</code> matches, as
+	 * {@link ChallengeLazzyOneOrMore} when <code>end</code> is part of the match,
+	 * or as {@link ChallengeOneOrMoreUpToOldVersion} when it is only looked at.
+	 */
+	static CompiledChallenge upTo(CompiledChallenge origin, CompiledChallenge end, boolean consumeEnd) {
+		return new CompiledChallenge(origin.isCapturing()) {
+			@Override
+			int run(CompiledRun run, int position) {
+				int current = position;
+				while (true) {
+					final int result = origin.run(run, current);
+					if (result < 0)
+						return Challenge.NO_MATCH;
+					if (result == current)
+						throw new IllegalStateException("infinite loop");
+					current = result;
+
+					final int mark = run.mark();
+					final int endResult = end.run(run, current);
+					run.rollback(mark);
+					if (endResult >= 0) {
+						run.nameEnd = current;
+						return consumeEnd ? endResult : current;
+					}
+				}
+			}
+		};
+	}
+
+	/**
+	 * Skips characters until <code>origin</code> matches, as
+	 * {@link ChallengeUpTo}.
+	 */
+	static CompiledChallenge skipTo(CompiledChallenge origin) {
+		return new CompiledChallenge(false) {
+			@Override
+			int run(CompiledRun run, int position) {
+				final int mark = run.mark();
+				for (int current = position; current <= run.length; current++) {
+					final int result = origin.run(run, current);
+					run.rollback(mark);
+					if (result >= 0) {
+						run.nameEnd = current;
+						return current;
+					}
+				}
+				return Challenge.NO_MATCH;
+			}
+		};
+	}
+
+	static CompiledChallenge lookAhead(CompiledChallenge origin, boolean positive) {
+		return new CompiledChallenge(false) {
+			@Override
+			int run(CompiledRun run, int position) {
+				final int mark = run.mark();
+				final boolean found = origin.run(run, position) >= 0;
+				run.rollback(mark);
+				if (found != positive)
+					return Challenge.NO_MATCH;
+
+				run.nameEnd = position;
+				return position;
+			}
+		};
+	}
+
+	static CompiledChallenge endOfText() {
+		return new CompiledChallenge(false) {
+			@Override
+			int run(CompiledRun run, int position) {
+				if (position < run.length)
+					return Challenge.NO_MATCH;
+
+				run.nameEnd = position;
+				return position;
+			}
+		};
+	}
+
+}
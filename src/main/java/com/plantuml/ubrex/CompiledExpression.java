@@ -0,0 +1,106 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ *
+ * If you like this project or if you find it useful, you can support us at:
+ *
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ *
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ *
+ */
+package com.plantuml.ubrex;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@link UnicodeBracketedExpression} running a {@link CompiledChallenge}.
+ * 
+ * It gives the same results as the interpreter, without building any
+ * intermediate {@link ChallengeResult} or {@link Capture}.
+ */
+public class CompiledExpression implements UnicodeBracketedExpression {
+
+	private final CompiledChallenge challenge;
+
+	public CompiledExpression(CompiledChallenge challenge) {
+		this.challenge = challenge;
+	}
+
+	@Override
+	public UMatcher match(String string) {
+		return matchInternal(string, 0);
+	}
+
+	@Override
+	public UMatcher match(TextNavigator string, int position) {
+		return matchInternal(string, position);
+	}
+
+	private UMatcher matchInternal(final CharSequence string, final int position) {
+		final CompiledRun run = new CompiledRun(string);
+		final int end = challenge.run(run, position);
+		return new UMatcher() {
+			@Override
+			public String toString() {
+				return getAcceptedMatch() + " " + (end < 0 ? "[]" : run.getKeys().toString());
+			}
+
+			@Override
+			public boolean startMatch() {
+				return end >= 0;
+			}
+
+			@Override
+			public boolean exactMatch() {
+				return end == run.length;
+			}
+
+			@Override
+			public String getAcceptedMatch() {
+				if (end < 0)
+					return "";
+				return string.subSequence(position, end).toString();
+			}
+
+			@Override
+			public List<String> getCapture(String path) {
+				if (end < 0)
+					return Collections.emptyList();
+				return run.findValuesByKey(path);
+			}
+
+			@Override
+			public List<String> getKeysToBeRefactored() {
+				if (end < 0)
+					return Collections.emptyList();
+				return run.getKeys();
+			}
+		};
+	}
+
+}
@@ -0,0 +1,119 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ *
+ * If you like this project or if you find it useful, you can support us at:
+ *
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ *
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ *
+ */
+package com.plantuml.ubrex;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * State of one call to a {@link CompiledExpression}: the text, and the
+ * captures found so far, stored as offsets so that nothing is copied until a
+ * value is actually asked for.
+ */
+final class CompiledRun {
+
+	final CharSequence text;
+	final int length;
+
+	// End of the part of the last successful challenge that a named group keeps
+	// as its value. This is shorter than the match for a lazy repetition.
+	int nameEnd;
+
+	private String[] keys;
+	private int[] starts;
+	private int[] ends;
+	private int size;
+
+	CompiledRun(CharSequence text) {
+		this.text = text;
+		this.length = text.length();
+	}
+
+	int mark() {
+		return size;
+	}
+
+	void rollback(int mark) {
+		size = mark;
+	}
+
+	void capture(String key, int start, int end) {
+		if (keys == null) {
+			keys = new String[8];
+			starts = new int[8];
+			ends = new int[8];
+		} else if (size == keys.length) {
+			final int newLength = size * 2;
+			final String[] newKeys = new String[newLength];
+			final int[] newStarts = new int[newLength];
+			final int[] newEnds = new int[newLength];
+			System.arraycopy(keys, 0, newKeys, 0, size);
+			System.arraycopy(starts, 0, newStarts, 0, size);
+			System.arraycopy(ends, 0, newEnds, 0, size);
+			keys = newKeys;
+			starts = newStarts;
+			ends = newEnds;
+		}
+		keys[size] = key;
+		starts[size] = start;
+		ends[size] = end;
+		size++;
+	}
+
+	List<String> findValuesByKey(String key) {
+		List<String> result = null;
+		for (int i = 0; i < size; i++)
+			if (keys[i].equals(key)) {
+				if (result == null)
+					result = new ArrayList<>();
+				result.add(text.subSequence(starts[i], ends[i]).toString());
+			}
+
+		if (result == null)
+			return Collections.emptyList();
+
+		return result;
+	}
+
+	List<String> getKeys() {
+		final List<String> result = new ArrayList<>(size);
+		for (int i = 0; i < size; i++)
+			result.add(keys[i]);
+
+		return result;
+	}
+
+}
@@ -116,6 +116,15 @@ public class CompositeList implements Challenge {
 		return new ChallengeResult(current - position, capture);
 	}
 
+	@Override
+	public CompiledChallenge compile(String prefix) {
+		final CompiledChallenge[] compiled = CompiledChallenge.compileAll(challenges, prefix);
+		if (compiled == null)
+			return null;
+
+		return CompiledChallenge.sequence(compiled);
+	}
+
 	public List<Challenge> getInternalChallengesList() {
 		return Collections.unmodifiableList(challenges);
 	}
@@ -88,4 +88,16 @@ public class CompositeNamed implements Challenge {
 		return new ChallengeResult(current - position, capture);
 	}
 
+	@Override
+	public CompiledChallenge compile(String prefix) {
+		if (challenges.isEmpty())
+			return null;
+
+		final CompiledChallenge[] compiled = CompiledChallenge.compileAll(challenges, prefix + name + "/");
+		if (compiled == null)
+			return null;
+
+		return CompiledChallenge.named(prefix + name, compiled);
+	}
+
 }
@@ -49,7 +49,18 @@ public interface UnicodeBracketedExpression {
 	public UMatcher match(TextNavigator string, int position);
 
 	public static UnicodeBracketedExpression build(String ubrex) {
-		return from(CompositeList.parseAndBuild(ubrex));
+		return compile(CompositeList.parseAndBuild(ubrex));
+	}
+
+	/**
+	 * Compiles the challenge when possible, and interprets it otherwise.
+	 */
+	public static UnicodeBracketedExpression compile(Challenge challenge) {
+		final CompiledChallenge compiled = challenge.compile("");
+		if (compiled == null)
+			return from(challenge);
+
+		return new CompiledExpression(compiled);
 	}
 
 	public static UnicodeBracketedExpression from(final Challenge challenge) {
@@ -51,9 +51,26 @@ public abstract class UBrexPart implements UnicodeBracketedExpression {
 		return challenge;
 	}
 
+	// Compiled on first use, once the builders have finished to fill the challenge
+	private UnicodeBracketedExpression expression;
+
+	private UnicodeBracketedExpression getExpression() {
+		UnicodeBracketedExpression result = expression;
+		if (result == null) {
+			result = UnicodeBracketedExpression.compile(challenge);
+			expression = result;
+		}
+		return result;
+	}
+
+	@Override
+	final public UMatcher match(String string) {
+		return getExpression().match(string);
+	}
+
 	@Override
 	final public UMatcher match(TextNavigator string, int position) {
-		return UnicodeBracketedExpression.from(challenge).match(string, position);
+		return getExpression().match(string, position);
 	}
 
 }
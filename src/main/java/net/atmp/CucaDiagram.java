@@ -40,8 +40,10 @@ import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -130,6 +132,8 @@ public abstract class CucaDiagram extends UmlDiagram implements GroupHierarchy,
 	private boolean visibilityModifierPresent;
 
 	private final List<Link> links = new ArrayList<>();
+	// Links touching each entity, in the order of this.links
+	private final Map<Entity, List<Link>> linksByEntity = new HashMap<>();
 
 	private final Plasma<Entity> namespace;
 	private final Quark<Entity> root;
@@ -640,24 +644,28 @@ public abstract class CucaDiagram extends UmlDiagram implements GroupHierarchy,
 	}
 
 	final public boolean isStandalone(Entity ent) {
-		for (final Link link : getLinks())
-			if (link.getEntity1() == ent || link.getEntity2() == ent)
-				return false;
-
-		return true;
+		return getLinksOf(ent).isEmpty();
 	}
 
 	final public boolean isStandaloneForArgo(Entity ent) {
-		for (final Link link : getLinks()) {
-			if (link.isHidden() || link.isInvis())
-				continue;
-			if (link.getEntity1() == ent || link.getEntity2() == ent)
+		for (final Link link : getLinksOf(ent))
+			if (link.isHidden() == false && link.isInvis() == false)
 				return false;
-		}
 
 		return true;
 	}
 
+	/**
+	 * Links starting or ending at <code>ent</code>, in the order they were added.
+	 */
+	public final List<Link> getLinksOf(Entity ent) {
+		final List<Link> result = linksByEntity.get(ent);
+		if (result == null)
+			return Collections.emptyList();
+
+		return Collections.unmodifiableList(result);
+	}
+
 	final public Link getLastLink() {
 		final List<Link> links = getLinks();
 		for (int i = links.size() - 1; i >= 0; i--) {
@@ -893,10 +901,19 @@ public abstract class CucaDiagram extends UmlDiagram implements GroupHierarchy,
 			return;
 
 		this.links.add(link);
+		linksByEntity.computeIfAbsent(link.getEntity1(), k -> new ArrayList<>()).add(link);
+		if (link.getEntity2() != link.getEntity1())
+			linksByEntity.computeIfAbsent(link.getEntity2(), k -> new ArrayList<>()).add(link);
 	}
 
 	private boolean containsSimilarLink(Link other) {
-		for (Link link : this.links)
+		// Any similar link touches both entities: only the smallest list is scanned
+		List<Link> candidates = getLinksOf(other.getEntity1());
+		final List<Link> candidates2 = getLinksOf(other.getEntity2());
+		if (candidates2.size() < candidates.size())
+			candidates = candidates2;
+
+		for (Link link : candidates)
 			if (other.sameConnections(link))
 				return true;
 
@@ -908,6 +925,14 @@ public abstract class CucaDiagram extends UmlDiagram implements GroupHierarchy,
 		if (ok == false)
 			throw new IllegalArgumentException();
 
+		removeFromIndex(link.getEntity1(), link);
+		removeFromIndex(link.getEntity2(), link);
+	}
+
+	private void removeFromIndex(Entity ent, Link link) {
+		final List<Link> list = linksByEntity.get(ent);
+		if (list != null && list.remove(link) && list.isEmpty())
+			linksByEntity.remove(ent);
 	}
 
 	public Collection<Quark<Entity>> quarks() {
@@ -70,6 +70,7 @@ import net.sourceforge.plantuml.klimt.color.HColorSimple;
 import net.sourceforge.plantuml.klimt.color.HColors;
 import net.sourceforge.plantuml.klimt.drawing.LimitFinder;
 import net.sourceforge.plantuml.klimt.drawing.UGraphic;
+import net.sourceforge.plantuml.klimt.drawing.UGraphicRecorder;
 import net.sourceforge.plantuml.klimt.drawing.debug.UGraphicDebug;
 import net.sourceforge.plantuml.klimt.drawing.eps.EpsStrategy;
 import net.sourceforge.plantuml.klimt.drawing.eps.UGraphicEps;
@@ -246,7 +247,8 @@ public class ImageBuilder {
 	}
 
 	private ImageData writeImageInternal(OutputStream os) throws IOException {
-		XDimension2D dim = getFinalDimension();
+		final UGraphicRecorder recorder = dimension == null ? createRecorder() : null;
+		XDimension2D dim = getFinalDimension(recorder);
 		XDimension2D dimWarning = null;
 		if (warnings.size() > 0) {
 			dimWarning = getWarningDimension(fileFormatOption.getFileFormat().getDefaultStringBounder());
@@ -271,7 +273,10 @@ public class ImageBuilder {
 			drawRandomPoint(ug);
 
 		ug = handwritten(ug.apply(new UTranslate(margin.getLeft(), margin.getTop())));
-		udrawable.drawU(ug);
+		if (recorder == null)
+			udrawable.drawU(ug);
+		else
+			recorder.replay(ug);
 		ug.flushUg();
 		ug.writeToStream(os, metadata, 96);
 		os.flush();
@@ -354,16 +359,45 @@ public class ImageBuilder {
 		ug2.apply(color).apply(color.bg()).draw(URectangle.build(1, 1));
 	}
 
-	private XDimension2D getFinalDimension() {
+	private XDimension2D getFinalDimension(UGraphicRecorder recorder) {
 		if (dimension == null) {
 			final LimitFinder limitFinder = LimitFinder.create(stringBounder, true);
-			udrawable.drawU(limitFinder);
+			if (recorder == null) {
+				udrawable.drawU(limitFinder);
+			} else {
+				udrawable.drawU(recorder);
+				recorder.replay(limitFinder);
+			}
 			dimension = new XDimension2D(limitFinder.getMaxX() + 1 + margin.getLeft() + margin.getRight(),
 					limitFinder.getMaxY() + 1 + margin.getTop() + margin.getBottom());
 		}
 		return dimension;
 	}
 
+	// The drawing is recorded once, then replayed for the bounds and for the
+	// backend. Only formats whose UGraphic follows the UDriver model are concerned.
+	private UGraphicRecorder createRecorder() {
+		final ColorMapper colorMapper = fileFormatOption.getColorMapper();
+		switch (fileFormatOption.getFileFormat()) {
+		case PNG:
+		case PNG_EMPTY:
+		case RAW:
+			return UGraphicRecorder.create(backcolor, colorMapper, stringBounder);
+		case SVG:
+			return UGraphicRecorder.create(backcolor, colorMapper, stringBounder, "SVG");
+		// ::comment when __CORE__
+		case EPS:
+		case EPS_TEXT:
+			return UGraphicRecorder.create(backcolor, colorMapper, stringBounder);
+		case LATEX:
+		case LATEX_NO_PREAMBLE:
+			return UGraphicRecorder.create(backcolor, colorMapper, stringBounder, "SPECIALTXT");
+		// ::done
+		default:
+			return null;
+		}
+	}
+
 	private UGraphic handwritten(UGraphic ug) {
 		if (skinParam != null && skinParam.handwritten())
 			return new UGraphicHandwritten(ug);
@@ -420,6 +454,7 @@ public class ImageBuilder {
 		option = option.withLinkTarget(getSvgLinkTarget());
 		option = option.withFont(pragma.getValue(PragmaKey.SVG_FONT));
 		option = option.withPragma(pragma);
+		option = option.withStreaming(pragma.isTrue(PragmaKey.SVG_STREAMING));
 		if (diagram != null) {
 			option = option.withTitle(diagram.getTitleDisplay());
 			option = option.withRootAttribute("data-diagram-type", diagram.getUmlDiagramType().name());
@@ -64,6 +64,7 @@ import net.sourceforge.plantuml.klimt.font.FontConfiguration;
 import net.sourceforge.plantuml.klimt.font.UFont;
 import net.sourceforge.plantuml.klimt.geom.HorizontalAlignment;
 import net.sourceforge.plantuml.klimt.geom.VerticalAlignment;
+import net.sourceforge.plantuml.klimt.shape.DimensionStats;
 import net.sourceforge.plantuml.klimt.shape.UText;
 import net.sourceforge.plantuml.preproc.PreprocessingArtifact;
 import net.sourceforge.plantuml.stats.StatsUtilsIncrement;
@@ -216,6 +217,7 @@ public abstract class AbstractPSystem implements Diagram, WarningHandler {
 //			}
 			return exportDiagramNow(os, index, fileFormatOption);
 		} finally {
+			DimensionStats.log();
 			// ::comment when __CORE__
 			if (OptionFlags.getInstance().isEnableStats())
 				StatsUtilsIncrement.onceMoreGenerate(System.currentTimeMillis() - now, getClass(),
@@ -0,0 +1,322 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import net.sourceforge.plantuml.dot.GraphvizRuntimeEnvironment;
+import net.sourceforge.plantuml.log.Logme;
+import net.sourceforge.plantuml.security.SFile;
+import net.sourceforge.plantuml.utils.Log;
+import net.sourceforge.plantuml.utils.SignatureUtils;
+import net.sourceforge.plantuml.version.Version;
+
+/**
+ * Remembers, for each source file, what its last successful generation
+ * depended on, so that <code>-incremental</code> runs can skip unchanged files
+ * before any preprocessing takes place.
+ * <p>
+ * A manifest is stored as <code>.plantuml-manifest</code> in the output
+ * directory (or in the directory of the sources when no output directory is
+ * given). A file is skipped when its content, the options that affect
+ * rendering, the content of every file it included and the presence of every
+ * generated image are unchanged.
+ * <p>
+ * Dependencies that are not local files (<code>!include</code> of an URL,
+ * <code>!theme ... from</code>, <code>&lt;img:http...&gt;</code>,
+ * <code>%getenv</code>, <code>%date</code>, <code>%filedate</code>...)
+ * cannot be tracked: files using them, directly or through one of their
+ * includes, are never recorded and are therefore always regenerated.
+ */
+public class BuildManifest {
+	// ::remove file when __CORE__
+
+	public static final String FILENAME = ".plantuml-manifest";
+
+	// Same builtins as RenderedCache.NOT_CACHEABLE in picoweb
+	private static final Pattern UNTRACKED = Pattern.compile(
+			"(?i)(^\\s*!include\\w*\\s+<?https?:|^\\s*!theme\\s+.*\\s+from\\s|<img:https?:|%getenv|%date|%now|%load_json|%file_exists|%filedate|%random|!import)",
+			Pattern.MULTILINE);
+
+	private static final Map<File, BuildManifest> manifests = new ConcurrentHashMap<>();
+	private static final Map<String, String> fileHashes = new ConcurrentHashMap<>();
+
+	private final SFile file;
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+	private volatile boolean dirty;
+	private int skipped;
+
+	static class Entry {
+		private final String fingerprint;
+		private final Map<String, String> includes;
+		private final List<String> outputs;
+
+		Entry(String fingerprint, Map<String, String> includes, List<String> outputs) {
+			this.fingerprint = fingerprint;
+			this.includes = includes;
+			this.outputs = outputs;
+		}
+	}
+
+	private BuildManifest(SFile file) {
+		this.file = file;
+		if (file.exists())
+			try {
+				load();
+			} catch (IOException e) {
+				Logme.error(e);
+				entries.clear();
+			}
+	}
+
+	public static BuildManifest getManifest(File directory) {
+		return manifests.computeIfAbsent(directory.getAbsoluteFile(), dir -> new BuildManifest(SFile.fromFile(dir).file(FILENAME)));
+	}
+
+	/**
+	 * Fingerprint of a source file: its raw content together with everything in
+	 * <code>option</code> that changes the generated images. Returns null when the
+	 * file cannot be read or relies on something that cannot be tracked.
+	 */
+	public static String getFingerprint(File source, Option option) throws IOException {
+		final byte[] content = readAll(SFile.fromFile(source));
+		if (content == null || isUntracked(content))
+			return null;
+
+		final MessageDigest digest = newDigest();
+		final StringBuilder context = new StringBuilder();
+		context.append(Version.versionString()).append('\n');
+		appendFormat(context, option.getFileFormatOption());
+		context.append(option.getCharset()).append('\n');
+		context.append(option.getOutputDir()).append('\n');
+		for (String s : option.getConfig())
+			context.append(s).append('\n');
+		for (Map.Entry<String, String> ent : option.getDefines().entrySet())
+			context.append(ent.getKey()).append('=').append(ent.getValue()).append('\n');
+		// A Graphviz upgrade changes the layouts
+		context.append(GraphvizRuntimeEnvironment.getInstance().dotIdentity()).append('\n');
+		digest.update(context.toString().getBytes(UTF_8));
+		digest.update(content);
+		return SignatureUtils.toHexString(digest.digest());
+	}
+
+	private static void appendFormat(StringBuilder context, FileFormatOption format) {
+		context.append(format.getFileFormat().name()).append('\n');
+		context.append(format.isWithMetadata()).append('\n');
+		context.append(format.isUseRedForError()).append('\n');
+		context.append(format.isDebugSvek()).append('\n');
+		context.append(format.getSvgLinkTarget()).append('\n');
+		context.append(format.getHoverColor()).append('\n');
+		context.append(format.getTikzFontDistortion()).append('\n');
+		context.append(format.getScaleCoef()).append('\n');
+		context.append(format.getPreserveAspectRatio()).append('\n');
+		context.append(format.getWatermark()).append('\n');
+		// Color mappers are stateless constants, told apart by their class
+		context.append(format.getColorMapper().getClass().getName()).append('\n');
+	}
+
+	public boolean isUpToDate(File source, String fingerprint) {
+		final Entry entry = entries.get(source.getAbsolutePath());
+		if (entry == null || fingerprint == null || entry.fingerprint.equals(fingerprint) == false)
+			return false;
+
+		for (String output : entry.outputs)
+			if (new SFile(output).exists() == false)
+				return false;
+
+		for (Map.Entry<String, String> ent : entry.includes.entrySet())
+			if (ent.getValue().equals(getFileHash(new File(ent.getKey()))) == false)
+				return false;
+
+		synchronized (this) {
+			skipped++;
+		}
+		return true;
+	}
+
+	public void record(File source, String fingerprint, Collection<File> includes, List<GeneratedImage> images) {
+		if (fingerprint == null)
+			return;
+
+		final Map<String, String> includeHashes = new ConcurrentHashMap<>();
+		for (File include : includes) {
+			final String hash = getFileHash(include);
+			if (hash == null)
+				return;
+			includeHashes.put(include.getAbsolutePath(), hash);
+		}
+		final List<String> outputs = new ArrayList<>();
+		for (GeneratedImage image : images) {
+			if (image.lineErrorRaw() != -1 || image.getPngFile() == null)
+				return;
+			outputs.add(image.getPngFile().getAbsolutePath());
+		}
+		entries.put(source.getAbsolutePath(), new Entry(fingerprint, includeHashes, Collections.unmodifiableList(outputs)));
+		dirty = true;
+	}
+
+	private static boolean isUntracked(byte[] content) {
+		return UNTRACKED.matcher(new String(content, UTF_8)).find();
+	}
+
+	/**
+	 * Hash of an included file, or null when it cannot be read or when it relies
+	 * itself on something that cannot be tracked.
+	 */
+	private static String getFileHash(File f) {
+		final String path = f.getAbsolutePath();
+		final String cached = fileHashes.get(path);
+		if (cached != null)
+			return cached;
+
+		if (f.isFile() == false)
+			return null;
+
+		final byte[] content;
+		try {
+			content = readAll(SFile.fromFile(f));
+		} catch (IOException e) {
+			return null;
+		}
+		if (content == null || isUntracked(content))
+			return null;
+
+		final MessageDigest digest = newDigest();
+		digest.update(content);
+		final String result = SignatureUtils.toHexString(digest.digest());
+		fileHashes.put(path, result);
+		return result;
+	}
+
+	/**
+	 * Reads through SFile, so that the security profile applies. Returns null if
+	 * the file cannot be opened.
+	 */
+	private static byte[] readAll(SFile f) throws IOException {
+		final InputStream is = f.openFile();
+		if (is == null)
+			return null;
+		return FileUtils.copyToByteArray(is);
+	}
+
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-512");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private void load() throws IOException {
+		final InputStream is = file.openFile();
+		if (is == null)
+			return;
+		try (BufferedReader br = new BufferedReader(new InputStreamReader(is, UTF_8))) {
+			String source = null;
+			String fingerprint = null;
+			Map<String, String> includes = null;
+			List<String> outputs = null;
+			String s;
+			while ((s = br.readLine()) != null) {
+				final String[] fields = s.split("\t");
+				if (fields[0].equals("S") && fields.length == 3) {
+					if (source != null)
+						entries.put(source, new Entry(fingerprint, includes, outputs));
+					source = fields[1];
+					fingerprint = fields[2];
+					includes = new ConcurrentHashMap<>();
+					outputs = new ArrayList<>();
+				} else if (fields[0].equals("I") && fields.length == 3 && source != null) {
+					includes.put(fields[1], fields[2]);
+				} else if (fields[0].equals("O") && fields.length == 2 && source != null) {
+					outputs.add(fields[1]);
+				}
+			}
+			if (source != null)
+				entries.put(source, new Entry(fingerprint, includes, outputs));
+		}
+	}
+
+	private void save() throws IOException {
+		file.getParentFile().mkdirs();
+		final SFile tmp = new SFile(file.getPath() + ".tmp");
+		try (PrintWriter pw = tmp.createPrintWriter(UTF_8.name())) {
+			for (Map.Entry<String, Entry> ent : entries.entrySet()) {
+				pw.print("S\t" + ent.getKey() + "\t" + ent.getValue().fingerprint + "\n");
+				for (Map.Entry<String, String> include : ent.getValue().includes.entrySet())
+					pw.print("I\t" + include.getKey() + "\t" + include.getValue() + "\n");
+				for (String output : ent.getValue().outputs)
+					pw.print("O\t" + output + "\n");
+			}
+		}
+		if (tmp.renameTo(file))
+			return;
+		// Some platforms do not rename over an existing file
+		file.delete();
+		if (tmp.renameTo(file) == false)
+			throw new IOException("Cannot write " + file);
+	}
+
+	public static void saveAll() {
+		for (BuildManifest manifest : manifests.values()) {
+			if (manifest.skipped > 0)
+				Log.info(() -> "Incremental: " + manifest.skipped + " file(s) up to date in " + manifest.file);
+			if (manifest.dirty)
+				try {
+					manifest.save();
+				} catch (IOException e) {
+					Logme.error(e);
+				}
+		}
+	}
+
+}
@@ -42,8 +42,6 @@ import java.awt.RenderingHints;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
-import java.util.LinkedHashMap;
-import java.util.Map;
 
 import net.sourceforge.plantuml.braille.BrailleCharFactory;
 import net.sourceforge.plantuml.braille.UGraphicBraille;
@@ -57,6 +55,7 @@ import net.sourceforge.plantuml.log.Logme;
 import net.sourceforge.plantuml.png.MetadataTag;
 import net.sourceforge.plantuml.security.SFile;
 import net.sourceforge.plantuml.text.SvgCharSizeHack;
+import net.sourceforge.plantuml.utils.SegmentedCache;
 
 /**
  * Format for output files generated by PlantUML.
@@ -196,11 +195,16 @@ public enum FileFormat {
 
 	private static final int CACHE_SIZE = 10_000;
 
-	private static final Map<FontTextKey, XDimension2D> DIMENSION_CACHE = new LinkedHashMap<FontTextKey, XDimension2D>(
-			CACHE_SIZE, 0.75f, true) {
+	private static final SegmentedCache<FontTextKey, XDimension2D> DIMENSION_CACHE = new SegmentedCache<>(CACHE_SIZE,
+			16);
+
+	// Each thread measures with its own Graphics2D, built with the same hints as gg
+	private static final ThreadLocal<Graphics2D> MEASURE_GRAPHICS = new ThreadLocal<Graphics2D>() {
 		@Override
-		protected boolean removeEldestEntry(Map.Entry<FontTextKey, XDimension2D> eldest) {
-			return size() > CACHE_SIZE;
+		protected Graphics2D initialValue() {
+			final Graphics2D result = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB).createGraphics();
+			result.setRenderingHints(gg.getRenderingHints());
+			return result;
 		}
 	};
 
@@ -231,18 +235,21 @@ public enum FileFormat {
 
 		final FontTextKey key = new FontTextKey(font, text);
 
-		synchronized (DIMENSION_CACHE) {
-			XDimension2D cached = DIMENSION_CACHE.get(key);
-			if (cached != null)
-				return cached;
+		final XDimension2D cached = DIMENSION_CACHE.get(key);
+		if (cached != null)
+			return cached;
 
-			final Font javaFont = font.getUnderlayingFont(text);
-			final FontMetrics fm = gg.getFontMetrics(javaFont);
-			final Rectangle2D rect = fm.getStringBounds(text, gg);
-			final XDimension2D result = new XDimension2D(rect.getWidth(), rect.getHeight());
-			DIMENSION_CACHE.put(key, result);
-			return result;
-		}
+		final Graphics2D g2d = MEASURE_GRAPHICS.get();
+		final Font javaFont = font.getUnderlayingFont(text);
+		final FontMetrics fm = g2d.getFontMetrics(javaFont);
+		final Rectangle2D rect = fm.getStringBounds(text, g2d);
+		final XDimension2D result = new XDimension2D(rect.getWidth(), rect.getHeight());
+		DIMENSION_CACHE.put(key, result);
+		return result;
+	}
+
+	public static String getDimensionCacheStatistics() {
+		return "Text dimension cache: " + DIMENSION_CACHE.getStatistics();
 	}
 
 	// ::comment when __CORE__
@@ -94,9 +94,11 @@ public class Option {
 	private String picowebBindAddress = null;
 	private int picowebPort = -1;
 	private boolean picowebEnableStop = false;
+	private int picowebQueueSize = 64;
 	private int stdrpt = 0;
 	private boolean hideMetadata = false;
 	private boolean checkMetadata = false;
+	private boolean incremental = false;
 	private String filename;
 	// ::done
 	private int imageIndex = 0;
@@ -270,6 +272,34 @@ public class Option {
 				if (timeSeconds.matches("\\d+"))
 					OptionFlags.getInstance().setTimeoutMs(Integer.parseInt(timeSeconds) * 1000L);
 
+			} else if (s.equalsIgnoreCase("-dotpool")) {
+				i++;
+				if (i == arg.length)
+					continue;
+
+				final String nb = arg[i];
+				if ("auto".equalsIgnoreCase(nb))
+					OptionFlags.getInstance().setDotPoolSize(defaultNbThreads());
+				else if (nb.matches("\\d+"))
+					OptionFlags.getInstance().setDotPoolSize(Integer.parseInt(nb));
+
+			} else if (s.equalsIgnoreCase("-picowebqueue")) {
+				i++;
+				if (i == arg.length)
+					continue;
+
+				final String nb = arg[i];
+				if (nb.matches("\\d+"))
+					this.picowebQueueSize = Integer.parseInt(nb);
+
+			} else if (s.equalsIgnoreCase("-dotcache")) {
+				i++;
+				if (i == arg.length)
+					continue;
+
+				OptionFlags.getInstance()
+						.setDotCacheDir(new SFile(StringUtils.eventuallyRemoveStartingAndEndingDoubleQuote(arg[i])));
+
 			} else if (s.equalsIgnoreCase("-failfast")) {
 				this.failfast = true;
 
@@ -458,6 +488,9 @@ public class Option {
 			} else if (s.equalsIgnoreCase("-checkmetadata")) {
 				checkMetadata = true;
 
+			} else if (s.equalsIgnoreCase("-incremental")) {
+				incremental = true;
+
 			} else if (s.equalsIgnoreCase("-stdrpt:1")) {
 				stdrpt = 1;
 
@@ -528,6 +561,10 @@ public class Option {
 	public boolean getPicowebEnableStop() {
 		return picowebEnableStop;
 	}
+
+	public int getPicowebQueueSize() {
+		return picowebQueueSize;
+	}
 	// ::done
 
 	private void addInConfig(BufferedReader br) throws IOException {
@@ -655,6 +692,10 @@ public class Option {
 		defines.put(name, value);
 	}
 
+	public Map<String, String> getDefines() {
+		return Collections.unmodifiableMap(defines);
+	}
+
 	public List<String> getConfig() {
 		return Collections.unmodifiableList(config);
 	}
@@ -791,6 +832,10 @@ public class Option {
 		return checkMetadata;
 	}
 
+	public final boolean isIncremental() {
+		return incremental;
+	}
+
 	public final void setFilename(String filename) {
 		this.filename = filename;
 	}
@@ -146,6 +146,8 @@ public class OptionFlags {
 	private boolean clipboard;
 	private String fileSeparator = "_";
 	private long timeoutMs = 15 * 60 * 1000L; // 15 minutes
+	private int dotPoolSize;
+	private SFile dotCacheDir;
 	private SFile logData;
 
 	public final boolean isVerbose() {
@@ -331,6 +333,22 @@ public class OptionFlags {
 		this.timeoutMs = timeoutMs;
 	}
 
+	public final int getDotPoolSize() {
+		return dotPoolSize;
+	}
+
+	public final void setDotPoolSize(int dotPoolSize) {
+		this.dotPoolSize = dotPoolSize;
+	}
+
+	public final SFile getDotCacheDir() {
+		return dotCacheDir;
+	}
+
+	public final void setDotCacheDir(SFile dotCacheDir) {
+		this.dotCacheDir = dotCacheDir;
+	}
+
 	public void setExtractStdLib(boolean extractStdLib) {
 		this.extractStdLib = extractStdLib;
 	}
@@ -100,6 +100,8 @@ public class OptionPrint {
 		System.out.println("    -debugsvek\t\tTo generate intermediate svek files");
 		System.out.println("    -decodeurl\t\tTo retrieve the PlantUML source from an encoded URL");
 		System.out.println("    -disablestats\tTo disable statistics computation (default)");
+		System.out.println("    -dotcache \"dir\"\tTo store Graphviz layouts in this dir and reuse them between runs");
+		System.out.println("    -dotpool N\t\tTo keep up to (N) Graphviz processes alive and reuse them between diagrams");
 		System.out.println("    -duration\t\tTo print the duration of complete diagrams processing");
 		System.out.println("    -e[x]clude pattern\tTo exclude files that match the provided pattern");
 		System.out.println("    -enablestats\tTo enable statistics computation");
@@ -115,6 +117,7 @@ public class OptionPrint {
 		System.out.println("    -htmlstats\t\tTo output general statistics in file plantuml-stats.html");
 		System.out.println("    -I" + separator + "path" + separator + "to" + separator + "file\tTo include file as if '!include file' were used");
 		System.out.println("    -I" + separator + "path" + separator + "to" + separator + "*.puml\tTo include files with pattern");
+		System.out.println("    -incremental\t\tTo skip files whose sources and includes did not change since last run");
 		System.out.println("    -language\t\tTo print the list of PlantUML keywords");
 		System.out.println("    -loopstats\t\tTo continuously print statistics about usage");
 		System.out.println("    -metadata\t\tTo retrieve PlantUML sources from PNG images");
@@ -127,6 +130,7 @@ public class OptionPrint {
 		System.out.println("    -Ppragma1=value\tTo set pragma as if '!pragma pragma1 value' were used");
 		System.out.println("    -p[ipe]\t\tTo use stdin for PlantUML source and stdout for PNG/SVG/EPS generation");
 		System.out.println("    -picoweb\t\tTo start internal HTTP Server. See https://plantuml.com/picoweb");
+		System.out.println("    -picowebqueue N\tTo let (N) connections wait for one of the -nbthread workers before answering 503");
 		System.out.println("    -pipeimageindex N\tTo generate the Nth image with pipe option");
 		System.out.println("    -preproc\t\tTo output preprocessor text of diagrams");
 		System.out.println("    -printfonts\t\tTo print fonts available on your system");
@@ -43,6 +43,7 @@ import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinTask;
 
 import net.atmp.CucaDiagram;
 import net.sourceforge.plantuml.core.Diagram;
@@ -96,10 +97,33 @@ public class PSystemUtils {
 		return exportDiagramsDefault(system, suggestedFile, fileFormatOption);
 	}
 
+	/**
+	 * Number of files that {@link #exportDiagrams} is going to write for this
+	 * diagram, so that the names of the following diagrams can be chosen before
+	 * this one is actually exported. Returns -1 when this is only known after the
+	 * export.
+	 */
+	public static int getNbFiles(Diagram system, FileFormatOption fileFormatOption) {
+		if (system instanceof NewpagedDiagram || system instanceof SequenceDiagram)
+			return system.getNbImages();
+
+		if (system instanceof CucaDiagram && fileFormatOption.getFileFormat() == FileFormat.HTML)
+			return -1;
+
+		if (system instanceof TitledDiagram && fileFormatOption.getFileFormat() == FileFormat.PNG) {
+			final TitledDiagram diagram = (TitledDiagram) system;
+			return diagram.getSplitPagesHorizontal() * diagram.getSplitPagesVertical();
+		}
+		return 1;
+	}
+
 	private static List<FileImageData> exportDiagramsNewpaged(NewpagedDiagram system, SuggestedFile suggestedFile,
 			FileFormatOption fileFormat) throws IOException {
-		final List<FileImageData> result = new ArrayList<>();
 		final int nbImages = system.getNbImages();
+		if (nbImages > 1 && ForkJoinTask.inForkJoinPool())
+			return exportDiagramsNewpagedParallel(system, suggestedFile, fileFormat);
+
+		final List<FileImageData> result = new ArrayList<>();
 		for (int i = 0; i < nbImages; i++) {
 
 			final SFile f = suggestedFile.getFile(i);
@@ -122,6 +146,51 @@ public class PSystemUtils {
 		return result;
 	}
 
+	// Pages are independent diagrams, so they are exported as separate tasks of
+	// the current pool.
+	private static List<FileImageData> exportDiagramsNewpagedParallel(NewpagedDiagram system,
+			SuggestedFile suggestedFile, FileFormatOption fileFormat) throws IOException {
+		final List<ForkJoinTask<FileImageData>> tasks = new ArrayList<>();
+		for (int i = 0; i < system.getNbImages(); i++) {
+			final SFile f = suggestedFile.getFile(i);
+			if (canFileBeWritten(f) == false)
+				break;
+
+			final int num = i;
+			tasks.add(ForkJoinTask.adapt(() -> {
+				try (OutputStream fos = f.createBufferedOutputStream()) {
+					system.exportDiagram(fos, num, fileFormat);
+				}
+				Log.info(() -> "File size : " + f.length());
+				return new FileImageData(f, null);
+			}).fork());
+		}
+		final List<FileImageData> result = new ArrayList<>();
+		for (ForkJoinTask<FileImageData> task : tasks)
+			result.add(join(task));
+
+		return result;
+	}
+
+	/**
+	 * Joins a task created from a {@link java.util.concurrent.Callable}, giving
+	 * back the {@link IOException} it may have thrown.
+	 * <p>
+	 * The IOException is wrapped by the adapted task, and wrapped again when
+	 * <code>join()</code> rethrows an exception raised in another worker, so the
+	 * whole cause chain is searched.
+	 */
+	public static <T> T join(ForkJoinTask<T> task) throws IOException {
+		try {
+			return task.join();
+		} catch (RuntimeException e) {
+			for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause())
+				if (cause instanceof IOException)
+					throw (IOException) cause;
+			throw e;
+		}
+	}
+
 	public static boolean canFileBeWritten(SFile f) {
 		Log.info(() -> "Creating file: " + f.getAbsolutePath());
 		if (f.exists() && f.canWrite() == false) {
@@ -48,8 +48,7 @@ import java.io.PrintWriter;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 
 import javax.swing.UIManager;
@@ -57,6 +56,8 @@ import javax.swing.UIManager;
 import net.sourceforge.plantuml.code.NoPlantumlCompressionException;
 import net.sourceforge.plantuml.code.Transcoder;
 import net.sourceforge.plantuml.code.TranscoderUtil;
+import net.sourceforge.plantuml.dot.DotWorkerPool;
+import net.sourceforge.plantuml.dot.GraphvizLayoutCache;
 import net.sourceforge.plantuml.file.FileGroup;
 import net.sourceforge.plantuml.file.SuggestedFile;
 import net.sourceforge.plantuml.ftp.FtpServer;
@@ -66,9 +67,11 @@ import net.sourceforge.plantuml.klimt.sprite.SpriteUtils;
 import net.sourceforge.plantuml.log.Logme;
 import net.sourceforge.plantuml.picoweb.PicoWebServer;
 import net.sourceforge.plantuml.png.MetadataTag;
+import net.sourceforge.plantuml.preproc.FileWithSuffix;
 import net.sourceforge.plantuml.preproc.Stdlib;
 import net.sourceforge.plantuml.security.SFile;
 import net.sourceforge.plantuml.security.SImageIO;
+import net.sourceforge.plantuml.security.SURLCache;
 import net.sourceforge.plantuml.security.SecurityUtils;
 import net.sourceforge.plantuml.stats.StatsUtils;
 import net.sourceforge.plantuml.swing.ClipboardLoop;
@@ -227,6 +230,11 @@ public class Run {
 			final double duration = (System.currentTimeMillis() - start) / 1000.0;
 			Log.error("Duration = " + duration + " seconds");
 		}
+		BuildManifest.saveAll();
+		DotWorkerPool.getInstance().printStatistics();
+		GraphvizLayoutCache.getInstance().printStatistics();
+		SURLCache.getInstance().printStatistics();
+		Log.info(() -> FileFormat.getDimensionCacheStatistics());
 
 		if (OptionFlags.getInstance().isGui() == false) {
 			if (error.hasError() || error.isNoData())
@@ -352,8 +360,9 @@ public class Run {
 	}
 
 	private static void goPicoweb(Option option) throws IOException {
+		final int nbWorkers = option.getNbThreads() > 0 ? option.getNbThreads() : Option.defaultNbThreads();
 		PicoWebServer.startServer(option.getPicowebPort(), option.getPicowebBindAddress(),
-				option.getPicowebEnableStop());
+				option.getPicowebEnableStop(), nbWorkers, option.getPicowebQueueSize());
 	}
 
 	public static void printFonts() {
@@ -430,7 +439,9 @@ public class Run {
 
 	private static void multithread(Option option, ErrorStatus error) throws InterruptedException {
 		Log.info(() -> "Using several threads: " + option.getNbThreads());
-		final ExecutorService executor = Executors.newFixedThreadPool(option.getNbThreads());
+		// Files are tasks of a fork/join pool, so that the blocks and pages they fork
+		// are stolen by idle threads when one file holds most of the diagrams.
+		final ForkJoinPool executor = new ForkJoinPool(option.getNbThreads());
 
 		int nb = 0;
 		for (String s : option.getResult()) {
@@ -482,6 +493,18 @@ public class Run {
 			extractMetadata(f);
 			return;
 		}
+		BuildManifest manifest = null;
+		String fingerprint = null;
+		if (option.isIncremental() && option.getOutputFile() == null && option.isComputeurl() == false
+				&& option.isCheckOnly() == false && option.getPreprocessorOutputMode() == null) {
+			manifest = BuildManifest.getManifest(getManifestDirectory(f, option));
+			fingerprint = BuildManifest.getFingerprint(f, option);
+			if (manifest.isUpToDate(f, fingerprint)) {
+				Log.info(() -> "Up to date: " + f.getPath());
+				error.goOk();
+				return;
+			}
+		}
 		final ISourceFileReader sourceFileReader;
 		if (option.getOutputFile() == null) {
 			File outputDir = option.getOutputDir();
@@ -500,6 +523,7 @@ public class Run {
 		}
 		sourceFileReader.setCheckMetadata(option.isCheckMetadata());
 		((SourceFileReaderAbstract) sourceFileReader).setNoerror(option.isNoerror());
+		((SourceFileReaderAbstract) sourceFileReader).setParallel(option.getNbThreads() > 1);
 
 		if (option.isComputeurl()) {
 			error.goOk();
@@ -536,6 +560,26 @@ public class Run {
 		}
 
 		hasErrors(f, result, error, rpt);
+		if (manifest != null)
+			manifest.record(f, fingerprint,
+					FileWithSuffix.convert(((SourceFileReaderAbstract) sourceFileReader).getIncludedFiles()), result);
+	}
+
+	private static File getManifestDirectory(File f, Option option) {
+		final File parent = f.getAbsoluteFile().getParentFile();
+		final File outputDir = option.getOutputDir();
+		if (outputDir == null)
+			return parent;
+
+		String path = outputDir.getPath();
+		if (path.endsWith("$"))
+			path = path.substring(0, path.length() - 1);
+
+		final File result = new File(path);
+		if (result.isAbsolute())
+			return result;
+
+		return new File(parent, path);
 	}
 
 	private static void extractPreproc(Option option, final ISourceFileReader sourceFileReader) throws IOException {
@@ -52,6 +52,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinTask;
 
 import net.sourceforge.plantuml.api.ImageDataSimple;
 import net.sourceforge.plantuml.core.Diagram;
@@ -75,6 +76,7 @@ public abstract class SourceFileReaderAbstract implements ISourceFileReader {
 	private FileFormatOption fileFormatOption;
 	private boolean checkMetadata;
 	private boolean noerror;
+	private boolean parallel;
 
 	final private Charset charset;
 
@@ -107,6 +109,14 @@ public abstract class SourceFileReaderAbstract implements ISourceFileReader {
 		this.checkMetadata = checkMetadata;
 	}
 
+	/**
+	 * When set, the blocks of the file are parsed and exported as fork/join tasks
+	 * instead of one after the other.
+	 */
+	public void setParallel(boolean parallel) {
+		this.parallel = parallel;
+	}
+
 	public boolean hasError() {
 		for (final BlockUml b : builder.getBlockUmls())
 			if (b.getDiagram() instanceof PSystemError)
@@ -166,6 +176,9 @@ public abstract class SourceFileReaderAbstract implements ISourceFileReader {
 		Log.info(() -> "Reading file: " + file);
 
 		cpt = 0;
+		if (parallel && checkMetadata == false && builder.getBlockUmls().size() > 1)
+			return getGeneratedImagesParallel();
+
 		final List<GeneratedImage> result = new ArrayList<>();
 
 		for (BlockUml blockUml : builder.getBlockUmls()) {
@@ -212,6 +225,97 @@ public abstract class SourceFileReaderAbstract implements ISourceFileReader {
 		return Collections.unmodifiableList(result);
 	}
 
+	static class Job {
+		private final BlockUml blockUml;
+		private final Diagram system;
+		private final ForkJoinTask<List<FileImageData>> export;
+
+		Job(BlockUml blockUml, Diagram system, ForkJoinTask<List<FileImageData>> export) {
+			this.blockUml = blockUml;
+			this.system = system;
+			this.export = export;
+		}
+	}
+
+	// Same result as the sequential loop: files are named in a first pass, in
+	// block order, using the number of files each diagram will produce, so that
+	// parsing and exports can run on any thread in any order.
+	private List<GeneratedImage> getGeneratedImagesParallel() throws IOException {
+		final List<BlockUml> blocks = builder.getBlockUmls();
+		final List<ForkJoinTask<Throwable>> parsing = new ArrayList<>();
+		for (BlockUml blockUml : blocks)
+			parsing.add(ForkJoinTask.adapt(() -> {
+				try {
+					blockUml.getDiagram();
+					return null;
+				} catch (Throwable t) {
+					return t;
+				}
+			}).fork());
+
+		final List<Job> jobs = new ArrayList<>();
+		BlockUml crashed = null;
+		Throwable crash = null;
+		SFile crashFile = null;
+		for (int i = 0; i < blocks.size(); i++) {
+			final BlockUml blockUml = blocks.get(i);
+			final SuggestedFile suggested = getSuggestedFile(blockUml);
+			final Throwable t = parsing.get(i).join();
+			if (t != null) {
+				Logme.error(t);
+				if (OptionFlags.getInstance().isSilentlyCompletelyIgnoreErrors() || noerror)
+					continue;
+
+				crashed = blockUml;
+				crash = t;
+				crashFile = suggested.getFile(0);
+				break;
+			}
+			final Diagram system = blockUml.getDiagram();
+			if (OptionFlags.getInstance().isSilentlyCompletelyIgnoreErrors() && system instanceof PSystemError)
+				continue;
+
+			OptionFlags.getInstance().logData(SFile.fromFile(file), system);
+			final ForkJoinTask<List<FileImageData>> export;
+			if (noerror && system instanceof PSystemError) {
+				final List<FileImageData> exportDiagrams = new ArrayList<FileImageData>();
+				exportDiagrams
+						.add(new FileImageData(null, new ImageDataSimple(new XDimension2D(0, 0), FileImageData.ERROR)));
+				export = ForkJoinTask.adapt(() -> exportDiagrams);
+				export.invoke();
+				cpt += exportDiagrams.size() - 1;
+			} else {
+				final int nbFiles = PSystemUtils.getNbFiles(system, fileFormatOption);
+				export = ForkJoinTask.adapt(
+						() -> PSystemUtils.exportDiagrams(system, suggested, fileFormatOption, checkMetadata));
+				if (nbFiles == -1) {
+					export.invoke();
+					cpt += PSystemUtils.join(export).size() - 1;
+				} else {
+					export.fork();
+					cpt += nbFiles - 1;
+				}
+			}
+			jobs.add(new Job(blockUml, system, export));
+		}
+
+		final List<GeneratedImage> result = new ArrayList<>();
+		for (Job job : jobs)
+			for (FileImageData fdata : PSystemUtils.join(job.export)) {
+				final String desc = "[" + file.getName() + "] " + job.system.getDescription();
+				final SFile f = fdata.getFile();
+				exportWarnOrErrIfWord(f, job.system);
+				result.add(new GeneratedImageImpl(f, desc, job.blockUml, fdata.getStatus()));
+			}
+
+		if (crashed != null)
+			return getCrashedImage(crashed, crash, crashFile);
+
+		Log.info(() -> "Number of image(s): " + result.size());
+
+		return Collections.unmodifiableList(result);
+	}
+
 	abstract protected SuggestedFile getSuggestedFile(BlockUml blockUml) throws FileNotFoundException;
 
 	protected final void setNoerror(boolean noerror) {
@@ -116,7 +116,7 @@ public class CommandLinkLongActivity extends CommandMultilines2<ActivityDiagram>
 	protected CommandExecutionResult executeNow(final ActivityDiagram diagram, BlocLines lines, ParserPass currentPass)
 			throws NoSuchColorException {
 		lines = lines.trim();
-		final RegexResult line0 = getStartingPattern().matcher(lines.getFirst().getTrimmed().getString());
+		final RegexResult line0 = getStartingResult(lines);
 
 		final Entity entity1 = CommandLinkActivity.getEntity(lines.getLocation(), diagram, line0, true);
 		if (entity1 == null)
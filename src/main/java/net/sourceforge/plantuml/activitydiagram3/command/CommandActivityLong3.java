@@ -78,7 +78,7 @@ public class CommandActivityLong3 extends CommandMultilines3<ActivityDiagram3> {
 	@Override
 	protected CommandExecutionResult executeNow(ActivityDiagram3 diagram, BlocLines lines) throws NoSuchColorException {
 		lines = lines.removeEmptyColumns();
-		final RegexResult line0 = getStartingPattern().matcher(lines.getFirst().getTrimmed().getString());
+		final RegexResult line0 = getStartingResult(lines);
 		final Colors colors = color().getColor(line0, diagram.getSkinParam().getIHtmlColorSet());
 
 		final RegexResult lineLast = getEndingPattern().matcher(lines.getLast().getString());
@@ -77,7 +77,7 @@ public class CommandArrowLong3 extends CommandMultilines2<ActivityDiagram3> {
 	protected CommandExecutionResult executeNow(ActivityDiagram3 diagram, BlocLines lines, ParserPass currentPass)
 			throws NoSuchColorException {
 		lines = lines.removeEmptyColumns();
-		final RegexResult line0 = getStartingPattern().matcher(lines.getFirst().getTrimmed().getString());
+		final RegexResult line0 = getStartingResult(lines);
 		// final HtmlColor color =
 		// diagram.getSkinParam().getIHtmlColorSet().getColorIfValid(line0.get("COLOR",
 		// 0));
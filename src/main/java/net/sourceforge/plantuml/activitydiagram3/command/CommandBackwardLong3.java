@@ -75,7 +75,7 @@ public class CommandBackwardLong3 extends CommandMultilines3<ActivityDiagram3> {
 	@Override
 	protected CommandExecutionResult executeNow(ActivityDiagram3 diagram, BlocLines lines) throws NoSuchColorException {
 		lines = lines.removeEmptyColumns();
-		final RegexResult line0 = getStartingPattern().matcher(lines.getFirst().getTrimmed().getString());
+		final RegexResult line0 = getStartingResult(lines);
 		final RegexResult lineLast = getEndingPattern().matcher(lines.getLast().getString());
 		final String end = lineLast.get("END", 0);
 		final String stereo = lineLast.get("END", 1);
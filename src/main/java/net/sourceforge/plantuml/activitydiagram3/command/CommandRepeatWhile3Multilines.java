@@ -80,7 +80,7 @@ public class CommandRepeatWhile3Multilines extends CommandMultilines3<ActivityDi
 	@Override
 	protected CommandExecutionResult executeNow(ActivityDiagram3 diagram, BlocLines lines) {
 		lines = lines.trim();
-		final RegexResult line0 = getStartingPattern().matcher(StringUtils.trin(lines.getFirst().getString()));
+		final RegexResult line0 = getStartingResult(lines);
 		final RegexResult lineLast = getEndingPattern().matcher(lines.getLast().getString());
 
 		// System.err.println("line0=" + line0);
@@ -47,6 +47,7 @@ import net.sourceforge.plantuml.klimt.font.StringBounder;
 import net.sourceforge.plantuml.klimt.geom.HorizontalAlignment;
 import net.sourceforge.plantuml.klimt.geom.MinMax;
 import net.sourceforge.plantuml.klimt.shape.AbstractTextBlock;
+import net.sourceforge.plantuml.klimt.shape.DimensionStats;
 import net.sourceforge.plantuml.skin.AlignmentParam;
 import net.sourceforge.plantuml.style.ISkinParam;
 import net.sourceforge.plantuml.style.Style;
@@ -106,6 +107,9 @@ public abstract class AbstractFtile extends AbstractTextBlock implements Ftile {
 	private FtileGeometry cachedGeometry;
 
 	final public FtileGeometry calculateDimension(StringBounder stringBounder) {
+		if (DimensionStats.INSTRUMENT)
+			DimensionStats.count(getClass(), cachedGeometry == null);
+
 		if (cachedGeometry == null)
 			cachedGeometry = calculateDimensionFtile(stringBounder);
 
@@ -53,6 +53,7 @@ import net.sourceforge.plantuml.klimt.geom.VerticalAlignment;
 import net.sourceforge.plantuml.klimt.geom.XDimension2D;
 import net.sourceforge.plantuml.klimt.geom.XLine2D;
 import net.sourceforge.plantuml.klimt.geom.XPoint2D;
+import net.sourceforge.plantuml.klimt.shape.DimensionMemo;
 import net.sourceforge.plantuml.klimt.shape.TextBlock;
 import net.sourceforge.plantuml.klimt.shape.TextBlockUtils;
 import net.sourceforge.plantuml.klimt.shape.UPolygon;
@@ -67,6 +68,7 @@ public class Snake implements UShape {
 		private final TextBlock textBlock;
 		private final VerticalAlignment verticalAlignment;
 		private final HorizontalAlignment horizontalAlignment;
+		private final DimensionMemo dimension = new DimensionMemo(Text.class);
 
 		Text(TextBlock textBlock, VerticalAlignment verticalAlignment, HorizontalAlignment horizontalAlignment) {
 			this.textBlock = Objects.requireNonNull(textBlock);
@@ -75,7 +77,11 @@ public class Snake implements UShape {
 		}
 
 		private boolean hasText(StringBounder stringBounder) {
-			return TextBlockUtils.isEmpty(this.textBlock, stringBounder) == false;
+			if (textBlock == TextBlockUtils.EMPTY_TEXT_BLOCK)
+				return false;
+
+			final XDimension2D dim = dimension.get(stringBounder, textBlock::calculateDimension);
+			return dim.getHeight() != 0 || dim.getWidth() != 0;
 		}
 
 	}
@@ -38,6 +38,7 @@ package net.sourceforge.plantuml.activitydiagram3.ftile.vcompact.cond;
 import net.sourceforge.plantuml.activitydiagram3.ftile.AbstractFtile;
 import net.sourceforge.plantuml.activitydiagram3.ftile.FtileGeometry;
 import net.sourceforge.plantuml.klimt.font.StringBounder;
+import net.sourceforge.plantuml.klimt.shape.DimensionStats;
 import net.sourceforge.plantuml.style.ISkinParam;
 
 public abstract class FtileDimensionMemoize extends AbstractFtile {
@@ -50,6 +51,9 @@ public abstract class FtileDimensionMemoize extends AbstractFtile {
 	private FtileGeometry calculateDimensionInternal;
 
 	protected final FtileGeometry calculateDimensionInternal(StringBounder stringBounder) {
+		if (DimensionStats.INSTRUMENT)
+			DimensionStats.count(FtileDimensionMemoize.class, calculateDimensionInternal == null);
+
 		if (calculateDimensionInternal == null)
 			calculateDimensionInternal = calculateDimensionInternalSlow(stringBounder);
 
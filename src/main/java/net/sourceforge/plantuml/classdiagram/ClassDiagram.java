@@ -115,7 +115,7 @@ public class ClassDiagram extends AbstractClassOrObjectDiagram {
 		for (Link link : this.getLinks()) {
 			final int len = link.getLength();
 			if (len == 1)
-				for (Link link2 : this.getLinks())
+				for (Link link2 : this.getLinksOf(link.getEntity1()))
 					if (link2.sameConnections(link) && link2.getLength() != 1)
 						link2.setLength(1);
 
@@ -141,7 +141,7 @@ public class CommandCreateClassMultilines extends CommandMultilines2<ClassDiagra
 	protected CommandExecutionResult executeNow(ClassDiagram diagram, BlocLines lines, ParserPass currentPass)
 			throws NoSuchColorException {
 		lines = lines.trimSmart(1);
-		final RegexResult line0 = getStartingPattern().matcher(lines.getFirst().getTrimmed().getString());
+		final RegexResult line0 = getStartingResult(lines);
 		final String typeString = StringUtils.goUpperCase(line0.get("TYPE", 0));
 		final LeafType type = LeafType.getLeafType(typeString);
 		final String visibilityString = line0.get("VISIBILITY", 0);
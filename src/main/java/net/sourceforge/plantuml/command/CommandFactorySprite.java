@@ -92,7 +92,7 @@ public final class CommandFactorySprite implements SingleMultiFactoryCommand<Wit
 		@Override
 		protected CommandExecutionResult executeNow(final WithSprite system, BlocLines lines, ParserPass currentPass) {
 			lines = lines.trim().removeEmptyLines();
-			final RegexResult line0 = getStartingPattern().matcher(lines.getFirst().getTrimmed().getString());
+			final RegexResult line0 = getStartingResult(lines);
 
 			lines = lines.subExtract(1, 1);
 			lines = lines.removeEmptyColumns();
@@ -0,0 +1,96 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml.command;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.sourceforge.plantuml.text.StringLocated;
+
+/**
+ * Dispatch index over the commands of a {@link PSystemCommandFactory}.
+ * <p>
+ * Each command exposing a fox signature (the set of characters its regex
+ * requires) is only returned for lines whose own signature contains it. The
+ * filtered lists are kept per line signature, so that a line is only tested
+ * against the commands that could possibly match it. Order of the original
+ * list is preserved, as the first matching command wins.
+ */
+final class CommandIndex {
+
+	private static final int MAX_CACHED_SIGNATURES = 4096;
+
+	private final Command[] commands;
+	private final long[] signatures;
+	private final Map<Long, Command[]> candidates = new ConcurrentHashMap<>();
+
+	CommandIndex(List<Command> cmds) {
+		this.commands = cmds.toArray(new Command[cmds.size()]);
+		this.signatures = new long[commands.length];
+		for (int i = 0; i < commands.length; i++)
+			signatures[i] = getFoxSignature(commands[i]);
+	}
+
+	private static long getFoxSignature(Command cmd) {
+		if (cmd instanceof SingleLineCommand2)
+			return ((SingleLineCommand2) cmd).getFoxSignature();
+
+		return 0L;
+	}
+
+	Command[] getCandidates(StringLocated line) {
+		final long fox = line.getFoxSignature();
+		Command[] result = candidates.get(fox);
+		if (result == null) {
+			result = computeCandidates(fox);
+			if (candidates.size() < MAX_CACHED_SIGNATURES)
+				candidates.put(fox, result);
+		}
+		return result;
+	}
+
+	private Command[] computeCandidates(long fox) {
+		final List<Command> result = new ArrayList<>();
+		for (int i = 0; i < commands.length; i++)
+			if ((signatures[i] & fox) == signatures[i])
+				result.add(commands[i]);
+
+		return result.toArray(new Command[result.size()]);
+	}
+
+}
@@ -38,6 +38,7 @@ package net.sourceforge.plantuml.command;
 import net.sourceforge.plantuml.core.Diagram;
 import net.sourceforge.plantuml.klimt.color.NoSuchColorException;
 import net.sourceforge.plantuml.regex.IRegex;
+import net.sourceforge.plantuml.regex.RegexResult;
 import net.sourceforge.plantuml.text.StringLocated;
 import net.sourceforge.plantuml.utils.BlocLines;
 
@@ -69,8 +70,8 @@ public abstract class CommandMultilines3<S extends Diagram> implements Command<S
 		if (first == null)
 			return CommandControl.NOT_OK;
 
-		final boolean result1 = starting.match(first.getTrimmed());
-		if (result1 == false)
+		final RegexResult result1 = LineMatcher.match(starting, first.getTrimmed());
+		if (result1 == null)
 			return CommandControl.NOT_OK;
 
 		if (lines.size() == 1)
@@ -111,6 +112,19 @@ public abstract class CommandMultilines3<S extends Diagram> implements Command<S
 		return starting;
 	}
 
+	/**
+	 * Returns the groups captured on the first line, usually already matched by
+	 * {@link #isValid(BlocLines)}.
+	 */
+	protected final RegexResult getStartingResult(BlocLines lines) {
+		final StringLocated first = lines.getFirst().getTrimmed();
+		final RegexResult result = first.getRegexResult(starting);
+		if (result != null)
+			return result;
+
+		return starting.matcher(first.getString());
+	}
+
 	protected final IRegex getEndingPattern() {
 		return patternEnd;
 	}
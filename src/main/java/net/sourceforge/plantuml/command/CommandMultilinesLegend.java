@@ -82,7 +82,7 @@ public class CommandMultilinesLegend extends CommandMultilines2<TitledDiagram> {
 			throws NoSuchColorException {
 		final LineLocation location = lines.getLocation();
 		lines = lines.trimSmart(1);
-		final RegexResult line0 = getStartingPattern().matcher(lines.getFirst().getTrimmed().getString());
+		final RegexResult line0 = getStartingResult(lines);
 		final String align = line0.get("ALIGN", 0);
 		final String valign = line0.get("VALIGN", 0);
 		lines = lines.subExtract(1, 1);
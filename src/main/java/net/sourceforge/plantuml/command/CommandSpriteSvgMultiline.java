@@ -73,7 +73,7 @@ public class CommandSpriteSvgMultiline extends CommandMultilines2<TitledDiagram>
 	protected CommandExecutionResult executeNow(TitledDiagram system, BlocLines lines, ParserPass currentPass)
 			throws NoSuchColorException {
 
-		final RegexResult line0 = getStartingPattern().matcher(lines.getFirst().getTrimmed().getString());
+		final RegexResult line0 = getStartingResult(lines);
 		final String svgStart = line0.get("SVGSTART", 0);
 		lines = lines.subExtract(1, 0);
 
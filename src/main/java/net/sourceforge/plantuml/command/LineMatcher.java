@@ -0,0 +1,69 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml.command;
+
+import net.sourceforge.plantuml.regex.IRegex;
+import net.sourceforge.plantuml.regex.RegexConcat;
+import net.sourceforge.plantuml.regex.RegexResult;
+import net.sourceforge.plantuml.text.StringLocated;
+
+/**
+ * Matches a line against the pattern of a command, and remembers the result
+ * in the line itself, so that <code>isValid()</code>, <code>execute()</code>
+ * and the following parser passes do not match the same line again.
+ */
+final class LineMatcher {
+
+	private LineMatcher() {
+	}
+
+	static RegexResult match(IRegex pattern, StringLocated line) {
+		RegexResult result = line.getRegexResult(pattern);
+		if (result != null)
+			return result;
+
+		if (pattern instanceof RegexConcat)
+			result = ((RegexConcat) pattern).matcher(line);
+		else if (pattern.match(line))
+			result = pattern.matcher(line.getString());
+
+		if (result != null)
+			line.setRegexResult(pattern, result);
+
+		return result;
+	}
+
+}
@@ -36,7 +36,9 @@
 package net.sourceforge.plantuml.command;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import net.sourceforge.plantuml.AbstractPSystem;
@@ -59,6 +61,7 @@ import net.sourceforge.plantuml.version.IteratorCounter2;
 public abstract class PSystemCommandFactory extends PSystemAbstractFactory {
 
 	private final List<Command> cmds = new ArrayList<>();
+	private CommandIndex index;
 
 	protected abstract void initCommandsList(List<Command> cmds);
 
@@ -88,6 +91,8 @@ public abstract class PSystemCommandFactory extends PSystemAbstractFactory {
 		AbstractPSystem sys = createEmptyDiagram(source, previous, preprocessing);
 
 		final Set<ParserPass> requiredPass = sys.getRequiredPass();
+		// Commands found in the first pass, by line number, reused by the next passes
+		final Map<Integer, Step> steps = requiredPass.size() > 1 ? new HashMap<Integer, Step>() : null;
 
 		for (ParserPass pass : requiredPass) {
 			sys.startingPass(pass);
@@ -98,7 +103,7 @@ public abstract class PSystemCommandFactory extends PSystemAbstractFactory {
 					// For next pass
 					break;
 				}
-				sys = executeFewLines(sys, source, it, pass, preprocessing);
+				sys = executeFewLines(sys, source, it, pass, preprocessing, steps);
 				if (sys instanceof PSystemError)
 					return sys;
 			}
@@ -128,8 +133,8 @@ public abstract class PSystemCommandFactory extends PSystemAbstractFactory {
 	}
 
 	private AbstractPSystem executeFewLines(AbstractPSystem sys, UmlSource source, final IteratorCounter2 it,
-			ParserPass currentPass, PreprocessingArtifact preprocessing) {
-		final Step step = getCandidate(it);
+			ParserPass currentPass, PreprocessingArtifact preprocessing, Map<Integer, Step> steps) {
+		final Step step = getCandidate(it, steps);
 		if (step == null) {
 			final ErrorUml err = new ErrorUml(ErrorUmlType.SYNTAX_ERROR, "Syntax Error?", 0, it.peek().getLocation(), getUmlDiagramType());
 			it.next();
@@ -156,6 +161,7 @@ public abstract class PSystemCommandFactory extends PSystemAbstractFactory {
 	static class Step {
 		final Command command;
 		final BlocLines blocLines;
+		private int next;
 
 		Step(Command command, BlocLines blocLines) {
 			this.command = command;
@@ -164,14 +170,38 @@ public abstract class PSystemCommandFactory extends PSystemAbstractFactory {
 
 	}
 
+	private Step getCandidate(final IteratorCounter2 it, Map<Integer, Step> steps) {
+		if (steps == null)
+			return getCandidate(it);
+
+		final Integer num = it.currentNum();
+		Step result = steps.get(num);
+		if (result == null) {
+			result = getCandidate(it);
+			if (result != null) {
+				result.next = it.currentNum();
+				steps.put(num, result);
+			}
+		} else {
+			while (it.currentNum() < result.next)
+				it.next();
+		}
+		return result;
+	}
+
 	private Step getCandidate(final IteratorCounter2 it) {
-		final BlocLines single = BlocLines.single(it.peek());
+		final StringLocated line = it.peek();
+		final BlocLines single = BlocLines.single(line);
+		final CommandIndex index;
 		synchronized (cmds) {
-			if (cmds.size() == 0)
+			if (this.index == null) {
 				initCommandsList(cmds);
+				this.index = new CommandIndex(cmds);
+			}
+			index = this.index;
 		}
 
-		for (Command cmd : cmds) {
+		for (Command cmd : index.getCandidates(line)) {
 			final CommandControl result = cmd.isValid(single);
 			if (result == CommandControl.OK) {
 				it.next();
@@ -41,6 +41,7 @@ import net.sourceforge.plantuml.core.Diagram;
 import net.sourceforge.plantuml.error.PSystemError;
 import net.sourceforge.plantuml.klimt.color.NoSuchColorException;
 import net.sourceforge.plantuml.regex.IRegex;
+import net.sourceforge.plantuml.regex.RegexConcat;
 import net.sourceforge.plantuml.regex.RegexResult;
 import net.sourceforge.plantuml.text.StringLocated;
 import net.sourceforge.plantuml.utils.BlocLines;
@@ -97,13 +98,27 @@ public abstract class SingleLineCommand2<S extends Diagram> implements Command<S
 			return CommandControl.NOT_OK;
 		}
 
-		final boolean result = pattern.match(line2);
-		if (result)
+		final RegexResult result = LineMatcher.match(pattern, line2);
+		if (result != null)
 			return finalVerification();
 
 		return CommandControl.NOT_OK;
 	}
 
+	/**
+	 * Returns the characters that a single line must contain for this command to
+	 * be valid, or 0L when no such filter is known.
+	 */
+	public long getFoxSignature() {
+		if (syntaxWithFinalBracket())
+			return 0L;
+
+		if (pattern instanceof RegexConcat)
+			return ((RegexConcat) pattern).getFoxSignature();
+
+		return 0L;
+	}
+
 	private CommandControl isValidBracket(BlocLines lines) {
 		assert lines.size() == 2;
 		assert syntaxWithFinalBracket();
@@ -131,11 +146,14 @@ public abstract class SingleLineCommand2<S extends Diagram> implements Command<S
 			throw new IllegalArgumentException();
 
 		final StringLocated first = lines.getFirst();
-		final String line = myTrim(first);
+		final StringLocated line2 = myTrim2(first);
+		final String line = line2.getString();
 		if (isForbidden(line))
 			return CommandExecutionResult.error("Syntax error: " + line);
 
-		final RegexResult arg = pattern.matcher(line);
+		RegexResult arg = line2.getRegexResult(pattern);
+		if (arg == null)
+			arg = pattern.matcher(line);
 		if (arg == null)
 			return CommandExecutionResult.error("Cannot parse line " + line);
 
@@ -100,8 +100,10 @@ public abstract class UBrexSingleLineCommand2<S extends Diagram> implements Comm
 		}
 
 		final UMatcher result = pattern.match(line2.getString());
-		if (result.exactMatch())
+		if (result.exactMatch()) {
+			line2.setRegexResult(pattern, new RegexResult(result));
 			return finalVerification();
+		}
 
 		return CommandControl.NOT_OK;
 	}
@@ -133,21 +135,25 @@ public abstract class UBrexSingleLineCommand2<S extends Diagram> implements Comm
 			throw new IllegalArgumentException();
 
 		final StringLocated first = lines.getFirst();
-		final String line = myTrim(first);
+		final StringLocated line2 = myTrim2(first);
+		final String line = line2.getString();
 		if (isForbidden(line))
 			return CommandExecutionResult.error("Syntax error: " + line);
 
 		// final RegexResult arg = pattern.matcher(line);
-		final UMatcher result = pattern.match(line);
-
-		if (result.exactMatch() == false)
-			return CommandExecutionResult.error("Cannot parse line " + line);
+		RegexResult arg = line2.getRegexResult(pattern);
+		if (arg == null) {
+			final UMatcher result = pattern.match(line);
+			if (result.exactMatch() == false)
+				return CommandExecutionResult.error("Cannot parse line " + line);
+			arg = new RegexResult(result);
+		}
 
 		if (system instanceof PSystemError)
 			return CommandExecutionResult.error("PSystemError cannot be cast");
 
 		try {
-			return executeArg(system, first.getLocation(), new RegexResult(result), currentPass);
+			return executeArg(system, first.getLocation(), arg, currentPass);
 		} catch (NoSuchColorException e) {
 			return CommandExecutionResult.badColor();
 		}
@@ -128,7 +128,7 @@ public final class CommandFactoryNote implements SingleMultiFactoryCommand<Abstr
 			protected CommandExecutionResult executeNow(final AbstractEntityDiagram diagram, BlocLines lines,
 					ParserPass currentPass) throws NoSuchColorException {
 				// StringUtils.trim(lines, false);
-				final RegexResult line0 = getStartingPattern().matcher(lines.getFirst().getTrimmed().getString());
+				final RegexResult line0 = getStartingResult(lines);
 				lines = lines.subExtract(1, 1).expandsNewline(false);
 				lines = lines.removeEmptyColumns();
 				final Display display = lines.toDisplay();
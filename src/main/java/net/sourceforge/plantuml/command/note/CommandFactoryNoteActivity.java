@@ -105,7 +105,7 @@ public final class CommandFactoryNoteActivity implements SingleMultiFactoryComma
 			public final CommandExecutionResult executeNow(final ActivityDiagram diagram, BlocLines lines, ParserPass currentPass)
 					throws NoSuchColorException {
 				// StringUtils.trim(lines, true);
-				final RegexResult arg = getStartingPattern().matcher(lines.getFirst().getTrimmed().getString());
+				final RegexResult arg = getStartingResult(lines);
 				lines = lines.subExtract(1, 1).expandsNewline(false);
 				lines = lines.removeEmptyColumns();
 
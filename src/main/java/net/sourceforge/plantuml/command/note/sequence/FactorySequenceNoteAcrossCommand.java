@@ -128,7 +128,7 @@ public final class FactorySequenceNoteAcrossCommand implements SingleMultiFactor
 			@Override
 			protected CommandExecutionResult executeNow(final SequenceDiagram diagram, BlocLines lines,
 					ParserPass currentPass) throws NoSuchColorException {
-				final RegexResult line0 = getStartingPattern().matcher(lines.getFirst().getTrimmed().getString());
+				final RegexResult line0 = getStartingResult(lines);
 				lines = lines.subExtract(1, 1);
 				lines = lines.removeEmptyColumns().expandsNewline(false);
 				final Display display = lines.toDisplay();
@@ -96,7 +96,7 @@ public class CommandArchimateMultilines extends CommandMultilines2<AbstractEntit
 	protected CommandExecutionResult executeNow(AbstractEntityDiagram diagram, BlocLines lines, ParserPass currentPass)
 			throws NoSuchColorException {
 		lines = lines.trim();
-		final RegexResult line0 = getStartingPattern().matcher(lines.getFirst().getTrimmed().getString());
+		final RegexResult line0 = getStartingResult(lines);
 		final String codeRaw = line0.getLazzy("CODE", 0);
 
 		final Quark<Entity> quark = diagram.quarkInContext(false, diagram.cleanId(codeRaw));
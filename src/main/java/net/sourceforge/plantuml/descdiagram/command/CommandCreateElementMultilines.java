@@ -128,7 +128,7 @@ public class CommandCreateElementMultilines extends CommandMultilines2<AbstractE
 		final LineLocation location = lines.getLocation();
 
 		lines = lines.trimSmart(1).expandsNewline(false);
-		final RegexResult line0 = getStartingPattern().matcher(lines.getFirst().getTrimmed().getString());
+		final RegexResult line0 = getStartingResult(lines);
 		final String symbol = StringUtils.goUpperCase(line0.get("TYPE", 0));
 		final LeafType type;
 		USymbol usymbol;
@@ -108,8 +108,13 @@ abstract class AbstractGraphviz implements Graphviz {
 		try {
 			Log.info(() -> "Starting Graphviz process " + Arrays.asList(cmd));
 			Log.info(() -> "DotString size: " + dotString.length());
-			p = new ProcessRunner(cmd);
-			state = p.run(dotString.getBytes(), os);
+			final DotWorkerPool pool = DotWorkerPool.getInstance();
+			if (pool.accepts(cmd)) {
+				state = pool.run(cmd, dotString.getBytes(), os);
+			} else {
+				p = new ProcessRunner(cmd);
+				state = p.run(dotString.getBytes(), os);
+			}
 			Log.info(() -> "Ending process ok");
 		} catch (Throwable e) {
 			Logme.error(e);
@@ -0,0 +1,216 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml.dot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Timer;
+import java.util.TimerTask;
+
+import net.sourceforge.plantuml.utils.Log;
+
+/**
+ * A long-lived <code>dot -Tsvg</code> process reading several graphs from the
+ * same standard input.
+ * <p>
+ * Each graph is followed by a tiny sentinel graph: the end of its SVG output
+ * tells us where the real output stops, even when dot has silently rejected
+ * the first graph.
+ */
+class DotWorker {
+	// ::remove file when __CORE__
+
+	private static final String SENTINEL_NAME = "plantuml_sentinel";
+	private static final byte[] SENTINEL = ("\ndigraph " + SENTINEL_NAME + " {}\n").getBytes(StandardCharsets.UTF_8);
+	private static final byte[] SENTINEL_TITLE = ("<title>" + SENTINEL_NAME + "</title>")
+			.getBytes(StandardCharsets.UTF_8);
+	private static final byte[] XML_START = "<?xml".getBytes(StandardCharsets.UTF_8);
+	private static final byte[] SVG_START = "<svg".getBytes(StandardCharsets.UTF_8);
+	private static final byte[] SVG_END = "</svg>".getBytes(StandardCharsets.UTF_8);
+
+	// The output of the sentinel graph is a few hundred bytes: its title is
+	// always found within this distance from the end
+	private static final int SENTINEL_WINDOW = 4096;
+
+	private static final Timer watchdog = new Timer("dot-worker-watchdog", true);
+
+	private final Process process;
+	private final InputStream stdout;
+	private final OutputStream stdin;
+	private int nbUses;
+
+	DotWorker(String[] cmd) throws IOException {
+		final ProcessBuilder builder = new ProcessBuilder(cmd);
+		this.process = builder.start();
+		this.stdout = process.getInputStream();
+		this.stdin = process.getOutputStream();
+		drainErrorStream(process.getErrorStream());
+	}
+
+	private static void drainErrorStream(final InputStream err) {
+		final Thread thread = new Thread("dot-worker-stderr") {
+			@Override
+			public void run() {
+				final byte[] buffer = new byte[1024];
+				try {
+					int length;
+					while ((length = err.read(buffer)) != -1) {
+						final String s = new String(buffer, 0, length, StandardCharsets.UTF_8);
+						Log.info(() -> "dot worker error stream: " + s);
+					}
+				} catch (IOException e) {
+					// Process is gone
+				}
+			}
+		};
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	boolean isAlive() {
+		return process.isAlive();
+	}
+
+	int getNbUses() {
+		return nbUses;
+	}
+
+	ProcessState layout(byte[] in, OutputStream redirection, long timeoutMs) throws IOException {
+		nbUses++;
+		final TimerTask kill = new TimerTask() {
+			@Override
+			public void run() {
+				destroy();
+			}
+		};
+		watchdog.schedule(kill, timeoutMs);
+		try {
+			stdin.write(in);
+			stdin.write(SENTINEL);
+			stdin.flush();
+
+			final Output baos = new Output();
+			final byte[] buffer = new byte[8192];
+			int length;
+			while ((length = stdout.read(buffer)) != -1) {
+				baos.write(buffer, 0, length);
+				if (mayEndDocument(buffer, length) == false)
+					continue;
+
+				final int end = endOfRealOutput(baos.getData(), baos.size());
+				if (end != -1) {
+					if (redirection != null)
+						redirection.write(baos.getData(), 0, end);
+					return ProcessState.TERMINATED_OK();
+				}
+			}
+			// dot exited, either killed by the watchdog or because of an error
+			if (kill.cancel() == false)
+				return ProcessState.TIMEOUT();
+
+			if (redirection != null)
+				baos.writeTo(redirection);
+			return ProcessState.TERMINATED_OK();
+		} finally {
+			kill.cancel();
+		}
+	}
+
+	/**
+	 * Gives access to the internal buffer, so that checking the end of the output
+	 * after each read does not copy everything read so far.
+	 */
+	static class Output extends ByteArrayOutputStream {
+
+		byte[] getData() {
+			return buf;
+		}
+
+	}
+
+	private static int endOfRealOutput(byte[] data, int size) {
+		int last = size;
+		while (last > 0 && (data[last - 1] == '\n' || data[last - 1] == '\r'))
+			last--;
+
+		if (last < SVG_END.length || matchAt(data, last - SVG_END.length, SVG_END) == false)
+			return -1;
+
+		final int from = Math.max(0, last - SENTINEL_WINDOW);
+		final int sentinel = lastIndexOf(data, SENTINEL_TITLE, from, last);
+		if (sentinel == -1)
+			return -1;
+
+		int start = lastIndexOf(data, XML_START, from, sentinel);
+		if (start == -1)
+			start = lastIndexOf(data, SVG_START, from, sentinel);
+
+		return start;
+	}
+
+	private static int lastIndexOf(byte[] data, byte[] pattern, int from, int before) {
+		for (int i = before - pattern.length; i >= from; i--)
+			if (matchAt(data, i, pattern))
+				return i;
+
+		return -1;
+	}
+
+	private static boolean matchAt(byte[] data, int pos, byte[] pattern) {
+		for (int i = 0; i < pattern.length; i++)
+			if (data[pos + i] != pattern[i])
+				return false;
+
+		return true;
+	}
+
+	private static boolean mayEndDocument(byte[] buffer, int length) {
+		int last = length;
+		while (last > 0 && (buffer[last - 1] == '\n' || buffer[last - 1] == '\r'))
+			last--;
+
+		// The closing tag may have been split between two reads
+		return last == 0 || last < SVG_END.length || buffer[last - 1] == '>';
+	}
+
+	void destroy() {
+		process.destroy();
+	}
+
+}
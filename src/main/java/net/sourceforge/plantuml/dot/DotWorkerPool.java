@@ -0,0 +1,215 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml.dot;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.sourceforge.plantuml.OptionFlags;
+import net.sourceforge.plantuml.log.Logme;
+import net.sourceforge.plantuml.utils.Log;
+
+/**
+ * Keeps <code>dot</code> processes alive between layouts, so that small
+ * diagrams do not pay the fork/exec and startup cost of Graphviz each time.
+ * <p>
+ * Enabled with <code>-dotpool N</code>, where N bounds the number of live
+ * workers. When every worker is busy, the layout falls back to a one-shot
+ * {@link ProcessRunner}.
+ */
+public class DotWorkerPool {
+	// ::remove file when __CORE__
+
+	private static final int MAX_USES_PER_WORKER = 1000;
+
+	private final static DotWorkerPool singleton = new DotWorkerPool();
+
+	private final Map<String, Deque<DotWorker>> idle = new HashMap<>();
+	private int nbLive;
+
+	private final AtomicLong nbLayouts = new AtomicLong();
+	private final AtomicLong nbReused = new AtomicLong();
+	private final AtomicLong nbStarted = new AtomicLong();
+	private final AtomicLong nbFallback = new AtomicLong();
+	private final AtomicLong totalNanos = new AtomicLong();
+	private final AtomicLong maxNanos = new AtomicLong();
+
+	private DotWorkerPool() {
+		Runtime.getRuntime().addShutdownHook(new Thread("dot-worker-pool-shutdown") {
+			@Override
+			public void run() {
+				shutdown();
+			}
+		});
+	}
+
+	public static DotWorkerPool getInstance() {
+		return singleton;
+	}
+
+	boolean accepts(String[] cmd) {
+		if (OptionFlags.getInstance().getDotPoolSize() <= 0)
+			return false;
+
+		return cmd.length == 2 && cmd[1].equals("-Tsvg");
+	}
+
+	ProcessState run(String[] cmd, byte[] in, OutputStream os) {
+		final long start = System.nanoTime();
+		final String key = Arrays.toString(cmd);
+		final DotWorker worker = acquire(key, cmd);
+		if (worker == null) {
+			nbFallback.incrementAndGet();
+			try {
+				return new ProcessRunner(cmd).run(in, os);
+			} finally {
+				layoutDone(start);
+			}
+		}
+		boolean healthy = false;
+		try {
+			final ProcessState state = worker.layout(in, os, OptionFlags.getInstance().getTimeoutMs());
+			healthy = state.equals(ProcessState.TERMINATED_OK()) && worker.isAlive();
+			return state;
+		} catch (IOException e) {
+			Logme.error(e);
+			return ProcessState.EXCEPTION(e);
+		} finally {
+			release(key, worker, healthy);
+			final long duration = layoutDone(start);
+			Log.info(() -> "Pooled dot layout in " + duration / 1000000L + " ms");
+		}
+	}
+
+	// Every layout is counted, pooled or not
+	private long layoutDone(long start) {
+		final long duration = System.nanoTime() - start;
+		nbLayouts.incrementAndGet();
+		totalNanos.addAndGet(duration);
+		updateMax(duration);
+		return duration;
+	}
+
+	private void updateMax(long duration) {
+		long current;
+		do {
+			current = maxNanos.get();
+			if (duration <= current)
+				return;
+		} while (maxNanos.compareAndSet(current, duration) == false);
+	}
+
+	private DotWorker acquire(String key, String[] cmd) {
+		synchronized (idle) {
+			final Deque<DotWorker> workers = idle.get(key);
+			while (workers != null && workers.size() > 0) {
+				final DotWorker worker = workers.pollFirst();
+				if (worker.isAlive()) {
+					nbReused.incrementAndGet();
+					return worker;
+				}
+				nbLive--;
+			}
+			if (nbLive >= OptionFlags.getInstance().getDotPoolSize())
+				return null;
+
+			nbLive++;
+		}
+		try {
+			final DotWorker worker = new DotWorker(cmd);
+			nbStarted.incrementAndGet();
+			Log.info(() -> "Starting pooled Graphviz process " + Arrays.asList(cmd));
+			return worker;
+		} catch (IOException e) {
+			Logme.error(e);
+			synchronized (idle) {
+				nbLive--;
+			}
+			return null;
+		}
+	}
+
+	private void release(String key, DotWorker worker, boolean healthy) {
+		if (healthy && worker.getNbUses() < MAX_USES_PER_WORKER) {
+			synchronized (idle) {
+				Deque<DotWorker> workers = idle.get(key);
+				if (workers == null) {
+					workers = new ArrayDeque<>();
+					idle.put(key, workers);
+				}
+				workers.addFirst(worker);
+			}
+			return;
+		}
+		worker.destroy();
+		synchronized (idle) {
+			nbLive--;
+		}
+	}
+
+	public void shutdown() {
+		synchronized (idle) {
+			for (Deque<DotWorker> workers : idle.values())
+				for (DotWorker worker : workers) {
+					worker.destroy();
+					nbLive--;
+				}
+			idle.clear();
+		}
+	}
+
+	public String getStatistics() {
+		final long layouts = nbLayouts.get();
+		final long pooled = layouts - nbFallback.get();
+		final long reuseRate = pooled == 0 ? 0 : 100 * nbReused.get() / pooled;
+		final long average = layouts == 0 ? 0 : totalNanos.get() / layouts / 1000000L;
+		return "Dot pool: " + layouts + " layouts, " + nbStarted.get() + " processes started, " + reuseRate
+				+ "% reused, " + nbFallback.get() + " fallbacks, average " + average + " ms, max "
+				+ maxNanos.get() / 1000000L + " ms";
+	}
+
+	public void printStatistics() {
+		if (nbLayouts.get() > 0)
+			Log.info(() -> getStatistics());
+	}
+
+}
@@ -0,0 +1,226 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml.dot;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.sourceforge.plantuml.FileUtils;
+import net.sourceforge.plantuml.OptionFlags;
+import net.sourceforge.plantuml.log.Logme;
+import net.sourceforge.plantuml.security.SFile;
+import net.sourceforge.plantuml.utils.Log;
+import net.sourceforge.plantuml.utils.SignatureUtils;
+
+/**
+ * Content-addressed cache of Graphviz layouts.
+ * <p>
+ * The key is a SHA-512 of the DOT string, the output type and the dot
+ * executable with its version, so that a cached SVG is only reused for the
+ * exact same graph laid out by the exact same Graphviz. Entries are kept in a
+ * bounded in-memory LRU, and optionally in a directory given with
+ * <code>-dotcache "dir"</code>, accessed through {@link SFile} so that the
+ * security profile is honoured.
+ */
+public class GraphvizLayoutCache {
+	// ::remove file when __CORE__
+
+	private static final long MAX_MEMORY_CHARS = 16L * 1024 * 1024;
+
+	private final static GraphvizLayoutCache singleton = new GraphvizLayoutCache();
+
+	private final Map<String, String> memory = new LinkedHashMap<>(16, 0.75f, true);
+	private long memoryChars;
+	private final Map<File, String> versions = new ConcurrentHashMap<>();
+
+	private final AtomicLong nbMemoryHits = new AtomicLong();
+	private final AtomicLong nbDiskHits = new AtomicLong();
+	private final AtomicLong nbMisses = new AtomicLong();
+
+	private GraphvizLayoutCache() {
+	}
+
+	public static GraphvizLayoutCache getInstance() {
+		return singleton;
+	}
+
+	/**
+	 * Returns the cache key of this layout, or null if this Graphviz
+	 * implementation cannot be cached.
+	 */
+	public String getKey(Graphviz graphviz, String dotString, String type) {
+		if (graphviz instanceof AbstractGraphviz == false)
+			return null;
+
+		final File dotExe = graphviz.getDotExe();
+		if (dotExe == null)
+			return null;
+
+		final String version = getVersion(graphviz, dotExe);
+		return SignatureUtils.getSHA512Hex(dotExe.getAbsolutePath() + "\n" + version + "\n" + type + "\n" + dotString);
+	}
+
+	private String getVersion(Graphviz graphviz, File dotExe) {
+		String result = versions.get(dotExe);
+		if (result == null) {
+			result = graphviz.dotVersion();
+			versions.put(dotExe, result);
+		}
+		return result;
+	}
+
+	public String get(String key) {
+		synchronized (memory) {
+			final String result = memory.get(key);
+			if (result != null) {
+				nbMemoryHits.incrementAndGet();
+				return result;
+			}
+		}
+		final String result = readFromDisk(key);
+		if (result != null) {
+			nbDiskHits.incrementAndGet();
+			putInMemory(key, result);
+			return result;
+		}
+		nbMisses.incrementAndGet();
+		return null;
+	}
+
+	public void put(String key, String svg) {
+		putInMemory(key, svg);
+		writeToDisk(key, svg);
+	}
+
+	private void putInMemory(String key, String svg) {
+		if (svg.length() > MAX_MEMORY_CHARS)
+			return;
+
+		synchronized (memory) {
+			final String old = memory.put(key, svg);
+			if (old != null)
+				memoryChars -= old.length();
+			memoryChars += svg.length();
+			for (Iterator<String> it = memory.values().iterator(); memoryChars > MAX_MEMORY_CHARS && it.hasNext();) {
+				memoryChars -= it.next().length();
+				it.remove();
+			}
+		}
+	}
+
+	private SFile getDiskFile(String key) {
+		final SFile dir = OptionFlags.getInstance().getDotCacheDir();
+		if (dir == null)
+			return null;
+
+		final SFile result = dir.file(key + ".svg");
+		// The security profile applies to the cache directory too
+		if (result.isFileOk() == false)
+			return null;
+
+		return result;
+	}
+
+	private String readFromDisk(String key) {
+		final SFile file = getDiskFile(key);
+		if (file == null || file.isFile() == false)
+			return null;
+
+		try (InputStream is = file.openFile()) {
+			if (is == null)
+				return null;
+			return new String(FileUtils.copyToByteArray(is), UTF_8);
+		} catch (IOException e) {
+			Logme.error(e);
+			return null;
+		}
+	}
+
+	private void writeToDisk(String key, String svg) {
+		final SFile file = getDiskFile(key);
+		if (file == null)
+			return;
+
+		file.getParentFile().mkdirs();
+		// Written aside then renamed, so that a concurrent reader never sees a
+		// partial file
+		final SFile tmp = file.getParentFile()
+				.file(key + "." + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+		try {
+			FileUtils.copyToFile(svg.getBytes(UTF_8), tmp);
+		} catch (IOException e) {
+			Log.error("Cannot write Graphviz cache " + file + " " + e);
+			tmp.delete();
+			return;
+		}
+		// Entries are content addressed: an existing file already holds the same
+		// layout
+		if (tmp.renameTo(file) == false)
+			tmp.delete();
+	}
+
+	public long getMemoryHits() {
+		return nbMemoryHits.get();
+	}
+
+	public long getDiskHits() {
+		return nbDiskHits.get();
+	}
+
+	public long getMisses() {
+		return nbMisses.get();
+	}
+
+	public String getStatistics() {
+		return "Graphviz layout cache: " + getMemoryHits() + " memory hits, " + getDiskHits() + " disk hits, "
+				+ getMisses() + " misses";
+	}
+
+	public void printStatistics() {
+		if (getMemoryHits() + getDiskHits() + getMisses() > 0)
+			Log.info(() -> getStatistics());
+	}
+
+}
@@ -62,6 +62,7 @@ public class GraphvizRuntimeEnvironment {
 	private final Map<File, GraphvizVersion> map = new ConcurrentHashMap<File, GraphvizVersion>();
 	private String dotExecutable;
 	private String dotVersion;
+	private String dotIdentity;
 
 	private GraphvizRuntimeEnvironment() {
 	}
@@ -209,6 +210,27 @@ public class GraphvizRuntimeEnvironment {
 		return dotVersion;
 	}
 
+	/**
+	 * The dot executable and its version, for caches keyed on layouts: a
+	 * Graphviz upgrade changes them.
+	 */
+	public synchronized String dotIdentity() {
+		if (dotIdentity == null) {
+			final File dotExe = getDotExe();
+			String version;
+			try {
+				version = dotVersion();
+			} catch (IOException e) {
+				version = "Error:" + e;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				version = "Error:" + e;
+			}
+			dotIdentity = (dotExe == null ? "" : dotExe.getAbsolutePath()) + "\n" + version;
+		}
+		return dotIdentity;
+	}
+
 	@DuplicateCode(reference = "GraphvizUtils")
 	public boolean graphviz244onWindows() {
 		try {
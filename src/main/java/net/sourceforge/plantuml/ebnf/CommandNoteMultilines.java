@@ -77,7 +77,7 @@ public class CommandNoteMultilines extends CommandMultilines2<PSystemEbnf> {
 	@Override
 	protected CommandExecutionResult executeNow(PSystemEbnf diagram, BlocLines lines, ParserPass currentPass)
 			throws NoSuchColorException {
-		final RegexResult line0 = getStartingPattern().matcher(lines.getFirst().getTrimmed().getString());
+		final RegexResult line0 = getStartingResult(lines);
 		lines = lines.subExtract(1, 1);
 		lines = lines.removeEmptyColumns();
 		final Display note = lines.toDisplay();
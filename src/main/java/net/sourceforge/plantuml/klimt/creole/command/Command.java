@@ -41,7 +41,15 @@ public interface Command {
 
 	public String startingChars();
 
-	public int matchingSize(String line);
+	/**
+	 * Returns the number of characters matched at the given position of the line,
+	 * or 0 if this command does not apply there.
+	 */
+	public int matchingSize(CharSequence line, int position);
 
-	public String executeAndGetRemaining(String line, StripeSimple stripe);
+	/**
+	 * Executes the command found at the given position and returns the index of
+	 * the first character following it.
+	 */
+	public int executeAndGetEnd(CharSequence line, int position, StripeSimple stripe);
 }
@@ -71,16 +71,16 @@ public class CommandCreoleColorAndSizeChange implements Command {
 		this.mypattern = pattern;
 	}
 
-	public int matchingSize(String line) {
-		final Matcher2 m = mypattern.matcher(line);
+	public int matchingSize(CharSequence line, int position) {
+		final Matcher2 m = mypattern.matcher(line).region(position, line.length());
 		if (m.find() == false)
 			return 0;
 
-		return m.group(1).length();
+		return m.end(1) - position;
 	}
 
-	public String executeAndGetRemaining(String line, StripeSimple stripe) throws NoSuchColorRuntimeException {
-		final Matcher2 m = mypattern.matcher(line);
+	public int executeAndGetEnd(CharSequence line, int position, StripeSimple stripe) throws NoSuchColorRuntimeException {
+		final Matcher2 m = mypattern.matcher(line).region(position, line.length());
 		if (m.find() == false)
 			throw new IllegalStateException();
 
@@ -99,7 +99,7 @@ public class CommandCreoleColorAndSizeChange implements Command {
 			stripe.setActualFontConfiguration(fc2);
 			stripe.analyzeAndAdd(m.group(4));
 			stripe.setActualFontConfiguration(fc1);
-			return line.substring(m.group(1).length());
+			return m.end(1);
 		} catch (NoSuchColorException e) {
 			throw new NoSuchColorRuntimeException();
 		}
@@ -69,16 +69,16 @@ public class CommandCreoleColorChange implements Command {
 		this.mypattern = pattern;
 	}
 
-	public int matchingSize(String line) {
-		final Matcher2 m = mypattern.matcher(line);
+	public int matchingSize(CharSequence line, int position) {
+		final Matcher2 m = mypattern.matcher(line).region(position, line.length());
 		if (m.find() == false)
 			return 0;
 
 		return m.group(2).length();
 	}
 
-	public String executeAndGetRemaining(String line, StripeSimple stripe) throws NoSuchColorRuntimeException {
-		final Matcher2 m = mypattern.matcher(line);
+	public int executeAndGetEnd(CharSequence line, int position, StripeSimple stripe) throws NoSuchColorRuntimeException {
+		final Matcher2 m = mypattern.matcher(line).region(position, line.length());
 		if (m.find() == false)
 			throw new IllegalStateException();
 
@@ -94,7 +94,7 @@ public class CommandCreoleColorChange implements Command {
 		}
 		stripe.analyzeAndAdd(m.group(3));
 		stripe.setActualFontConfiguration(fc1);
-		return line.substring(m.group(1).length());
+		return m.end(1);
 	}
 
 }
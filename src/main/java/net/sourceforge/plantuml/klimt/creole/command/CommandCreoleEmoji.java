@@ -56,16 +56,16 @@ public class CommandCreoleEmoji implements Command {
 		return new CommandCreoleEmoji();
 	}
 
-	public int matchingSize(String line) {
-		final Matcher2 m = pattern.matcher(line);
+	public int matchingSize(CharSequence line, int position) {
+		final Matcher2 m = pattern.matcher(line).region(position, line.length());
 		if (m.find() == false)
 			return 0;
 
-		return m.group(1).length();
+		return m.end(1) - position;
 	}
 
-	public String executeAndGetRemaining(String line, StripeSimple stripe) {
-		final Matcher2 m = pattern.matcher(line);
+	public int executeAndGetEnd(CharSequence line, int position, StripeSimple stripe) {
+		final Matcher2 m = pattern.matcher(line).region(position, line.length());
 		if (m.find() == false)
 			throw new IllegalStateException();
 
@@ -78,7 +78,7 @@ public class CommandCreoleEmoji implements Command {
 
 
 		stripe.addEmoji(emoji, scale, colorName);
-		return line.substring(m.group(1).length());
+		return m.end(1);
 	}
 
 }
@@ -59,26 +59,26 @@ public class CommandCreoleExposantChange extends CommandCreoleCache implements C
 				"^(" + "\\<" + position.getHtmlTag() + "\\>" + "(.*?)\\</" + position.getHtmlTag() + "\\>)", position);
 	}
 
-	public int matchingSize(String line) {
-		final Matcher2 m = mypattern.matcher(line);
+	public int matchingSize(CharSequence line, int position) {
+		final Matcher2 m = mypattern.matcher(line).region(position, line.length());
 		if (m.find() == false) {
 			return 0;
 		}
 		return m.group(2).length();
 	}
 
-	public String executeAndGetRemaining(String line, StripeSimple stripe) {
-		final Matcher2 m = mypattern.matcher(line);
+	public int executeAndGetEnd(CharSequence line, int position, StripeSimple stripe) {
+		final Matcher2 m = mypattern.matcher(line).region(position, line.length());
 		if (m.find() == false) {
 			throw new IllegalStateException();
 		}
 		final FontConfiguration fc1 = stripe.getActualFontConfiguration();
-		final FontConfiguration fc2 = fc1.changeFontPosition(position);
+		final FontConfiguration fc2 = fc1.changeFontPosition(this.position);
 
 		stripe.setActualFontConfiguration(fc2);
 		stripe.analyzeAndAdd(m.group(2));
 		stripe.setActualFontConfiguration(fc1);
-		return line.substring(m.group(1).length());
+		return m.end(1);
 	}
 
 }
@@ -57,16 +57,16 @@ public class CommandCreoleImg implements Command {
 		return new CommandCreoleImg();
 	}
 
-	public int matchingSize(String line) {
-		final Matcher2 m = pattern.matcher(line);
+	public int matchingSize(CharSequence line, int position) {
+		final Matcher2 m = pattern.matcher(line).region(position, line.length());
 		if (m.find() == false)
 			return 0;
 
-		return m.group(1).length();
+		return m.end(1) - position;
 	}
 
-	public String executeAndGetRemaining(String line, StripeSimple stripe) {
-		final Matcher2 m = pattern.matcher(line);
+	public int executeAndGetEnd(CharSequence line, int position, StripeSimple stripe) {
+		final Matcher2 m = pattern.matcher(line).region(position, line.length());
 		if (m.find() == false)
 			throw new IllegalStateException();
 
@@ -77,7 +77,7 @@ public class CommandCreoleImg implements Command {
 
 		src = StringUtils.eventuallyRemoveStartingAndEndingDoubleQuote(src, "\"");
 		stripe.addImage(src, scale);
-		return line.substring(m.group(1).length());
+		return m.end(1);
 	}
 
 }
@@ -57,22 +57,22 @@ public class CommandCreoleMath implements Command {
 		return new CommandCreoleMath();
 	}
 
-	public int matchingSize(String line) {
-		final Matcher2 m = pattern.matcher(line);
+	public int matchingSize(CharSequence line, int position) {
+		final Matcher2 m = pattern.matcher(line).region(position, line.length());
 		if (m.find() == false) {
 			return 0;
 		}
-		return m.group(1).length();
+		return m.end(1) - position;
 	}
 
-	public String executeAndGetRemaining(String line, StripeSimple stripe) {
-		final Matcher2 m = pattern.matcher(line);
+	public int executeAndGetEnd(CharSequence line, int position, StripeSimple stripe) {
+		final Matcher2 m = pattern.matcher(line).region(position, line.length());
 		if (m.find() == false) {
 			throw new IllegalStateException();
 		}
 		final String math = m.group(2);
 		stripe.addMath(ScientificEquationSafe.fromAsciiMath(math));
-		return line.substring(m.group(1).length());
+		return m.end(1);
 	}
 
 }
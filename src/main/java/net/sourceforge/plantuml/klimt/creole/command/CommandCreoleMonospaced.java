@@ -59,16 +59,16 @@ public class CommandCreoleMonospaced implements Command {
 		this.pattern = Pattern2.cmpile(p1);
 	}
 
-	public int matchingSize(String line) {
-		final Matcher2 m = pattern.matcher(line);
+	public int matchingSize(CharSequence line, int position) {
+		final Matcher2 m = pattern.matcher(line).region(position, line.length());
 		if (m.find() == false) {
 			return 0;
 		}
-		return m.group(1).length();
+		return m.end(1) - position;
 	}
 
-	public String executeAndGetRemaining(String line, StripeSimple stripe) {
-		final Matcher2 m = pattern.matcher(line);
+	public int executeAndGetEnd(CharSequence line, int position, StripeSimple stripe) {
+		final Matcher2 m = pattern.matcher(line).region(position, line.length());
 		if (m.find() == false)
 			throw new IllegalStateException();
 
@@ -77,7 +77,7 @@ public class CommandCreoleMonospaced implements Command {
 		stripe.setActualFontConfiguration(fc2);
 		stripe.analyzeAndAdd(m.group(2));
 		stripe.setActualFontConfiguration(fc1);
-		return line.substring(m.group(1).length());
+		return m.end(1);
 	}
 
 }
@@ -56,23 +56,23 @@ public class CommandCreoleQrcode implements Command {
 		return new CommandCreoleQrcode();
 	}
 
-	public int matchingSize(String line) {
-		final Matcher2 m = pattern.matcher(line);
+	public int matchingSize(CharSequence line, int position) {
+		final Matcher2 m = pattern.matcher(line).region(position, line.length());
 		if (m.find() == false) {
 			return 0;
 		}
-		return m.group(1).length();
+		return m.end(1) - position;
 	}
 
-	public String executeAndGetRemaining(String line, StripeSimple stripe) {
-		final Matcher2 m = pattern.matcher(line);
+	public int executeAndGetEnd(CharSequence line, int position, StripeSimple stripe) {
+		final Matcher2 m = pattern.matcher(line).region(position, line.length());
 		if (m.find() == false) {
 			throw new IllegalStateException();
 		}
 		final String src = m.group(2);
 		final double scale = Parser.getScale(m.group(3), 3);
 		stripe.addQrcode(src, scale);
-		return line.substring(m.group(1).length());
+		return m.end(1);
 	}
 
 }
@@ -64,16 +64,16 @@ public class CommandCreoleSizeChange implements Command {
 		this.mypattern = p;
 	}
 
-	public int matchingSize(String line) {
-		final Matcher2 m = mypattern.matcher(line);
+	public int matchingSize(CharSequence line, int position) {
+		final Matcher2 m = mypattern.matcher(line).region(position, line.length());
 		if (m.find() == false) {
 			return 0;
 		}
 		return m.group(2).length();
 	}
 
-	public String executeAndGetRemaining(String line, StripeSimple stripe) {
-		final Matcher2 m = mypattern.matcher(line);
+	public int executeAndGetEnd(CharSequence line, int position, StripeSimple stripe) {
+		final Matcher2 m = mypattern.matcher(line).region(position, line.length());
 		if (m.find() == false) {
 			throw new IllegalStateException();
 		}
@@ -84,7 +84,7 @@ public class CommandCreoleSizeChange implements Command {
 		stripe.setActualFontConfiguration(fc2);
 		stripe.analyzeAndAdd(m.group(3));
 		stripe.setActualFontConfiguration(fc1);
-		return line.substring(m.group(1).length());
+		return m.end(1);
 	}
 
 }
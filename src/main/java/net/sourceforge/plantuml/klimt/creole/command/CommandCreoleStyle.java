@@ -80,8 +80,8 @@ public class CommandCreoleStyle extends CommandCreoleCache implements Command {
 		return null;
 	}
 
-	public String executeAndGetRemaining(final String line, StripeSimple stripe) {
-		final Matcher2 m = mypattern.matcher(line);
+	public int executeAndGetEnd(CharSequence line, int position, StripeSimple stripe) {
+		final Matcher2 m = mypattern.matcher(line).region(position, line.length());
 		if (m.find() == false) {
 			throw new IllegalStateException();
 		}
@@ -91,15 +91,15 @@ public class CommandCreoleStyle extends CommandCreoleCache implements Command {
 		final int groupCount = m.groupCount();
 		stripe.analyzeAndAdd(m.group(groupCount));
 		stripe.setActualFontConfiguration(fc1);
-		return line.substring(m.group(1).length());
+		return m.end(1);
 	}
 
-	public int matchingSize(String line) {
-		final Matcher2 m = mypattern.matcher(line);
+	public int matchingSize(CharSequence line, int position) {
+		final Matcher2 m = mypattern.matcher(line).region(position, line.length());
 		if (m.find() == false) {
 			return 0;
 		}
-		return m.group(1).length();
+		return m.end(1) - position;
 	}
 
 }
@@ -225,34 +225,33 @@ public class StripeSimple implements Stripe {
 	// ::done
 
 	private void modifyStripe(String line) {
-		final StringBuilder pending = new StringBuilder();
-
-		while (line.length() > 0) {
-			final Command cmd = searchCommand(line);
+		int pending = 0;
+		int i = 0;
+		while (i < line.length()) {
+			final Command cmd = searchCommand(line, i);
 			if (cmd == null) {
-				pending.append(line.charAt(0));
-				line = line.substring(1);
+				i++;
 			} else {
-				addPending(pending);
-				line = cmd.executeAndGetRemaining(line, this);
+				addPending(line, pending, i);
+				i = cmd.executeAndGetEnd(line, i, this);
+				pending = i;
 			}
 		}
-		addPending(pending);
+		addPending(line, pending, i);
 	}
 
-	private void addPending(StringBuilder pending) {
-		if (pending.length() == 0)
+	private void addPending(String line, int start, int end) {
+		if (start == end)
 			return;
 
-		atoms.add(AtomTextUtils.createLegacy(pending.toString(), fontConfiguration));
-		pending.setLength(0);
+		atoms.add(AtomTextUtils.createLegacy(line.substring(start, end), fontConfiguration));
 	}
 
-	private Command searchCommand(String line) {
-		final List<Command> localList = commands.get(line.charAt(0));
+	private Command searchCommand(String line, int position) {
+		final List<Command> localList = commands.get(line.charAt(position));
 		if (localList != null)
 			for (Command cmd : localList)
-				if (cmd.matchingSize(line) != 0)
+				if (cmd.matchingSize(line, position) != 0)
 					return cmd;
 
 		return null;
@@ -0,0 +1,206 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml.klimt.drawing;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import net.sourceforge.plantuml.klimt.UChange;
+import net.sourceforge.plantuml.klimt.UGroup;
+import net.sourceforge.plantuml.klimt.UShape;
+import net.sourceforge.plantuml.klimt.color.ColorMapper;
+import net.sourceforge.plantuml.klimt.color.HColor;
+import net.sourceforge.plantuml.klimt.font.StringBounder;
+import net.sourceforge.plantuml.url.Url;
+
+/**
+ * Records the primitive stream produced by a drawing so that it can be
+ * replayed several times (bounds computation, then the real backend) without
+ * traversing the drawing again.
+ * <p>
+ * Every {@link #apply(UChange)} creates a new state remembering its parent and
+ * the change. On replay, each state is mapped to the graphic obtained by
+ * applying the very same chain of changes on the target, so the target sees
+ * exactly the same calls as if it had been drawn directly.
+ */
+public class UGraphicRecorder extends AbstractCommonUGraphic {
+	// ::remove file when __HAXE__
+
+	private final List<Action> actions;
+	private final Collection<String> properties;
+	private UGraphicRecorder parent;
+	private UChange change;
+
+	private UGraphic replayRoot;
+	private UGraphic replayed;
+
+	public static UGraphicRecorder create(HColor defaultBackground, ColorMapper colorMapper,
+			StringBounder stringBounder, String... properties) {
+		final UGraphicRecorder result = new UGraphicRecorder(stringBounder, new ArrayList<Action>(),
+				Collections.unmodifiableList(Arrays.asList(properties)));
+		result.basicCopy(defaultBackground, colorMapper);
+		return result;
+	}
+
+	private UGraphicRecorder(StringBounder stringBounder, List<Action> actions, Collection<String> properties) {
+		super(stringBounder);
+		this.actions = actions;
+		this.properties = properties;
+	}
+
+	@Override
+	protected AbstractCommonUGraphic copyUGraphic() {
+		final UGraphicRecorder result = new UGraphicRecorder(getStringBounder(), actions, properties);
+		result.basicCopy(this);
+		return result;
+	}
+
+	@Override
+	public UGraphic apply(UChange change) {
+		final UGraphicRecorder result = (UGraphicRecorder) super.apply(change);
+		result.parent = this;
+		result.change = change;
+		return result;
+	}
+
+	@Override
+	public boolean matchesProperty(String propertyName) {
+		for (String property : properties)
+			if (property.equalsIgnoreCase(propertyName))
+				return true;
+
+		return false;
+	}
+
+	@Override
+	public void draw(UShape shape) {
+		actions.add(new Action(this, shape, null));
+	}
+
+	@Override
+	public void startUrl(Url url) {
+		actions.add(new Action(this, null, url));
+	}
+
+	@Override
+	public void closeUrl() {
+		actions.add(new Action(this, null, Action.CLOSE_URL));
+	}
+
+	@Override
+	public void startGroup(UGroup group) {
+		actions.add(new Action(this, null, group));
+	}
+
+	@Override
+	public void closeGroup() {
+		actions.add(new Action(this, null, Action.CLOSE_GROUP));
+	}
+
+	@Override
+	public void writeToStream(OutputStream os, String metadata, int dpi) throws IOException {
+		throw new UnsupportedOperationException();
+	}
+
+	public int size() {
+		return actions.size();
+	}
+
+	public void replay(UGraphic target) {
+		for (Action action : actions)
+			action.playOn(action.state.resolve(target));
+	}
+
+	private UGraphic resolve(UGraphic target) {
+		if (replayRoot == target)
+			return replayed;
+
+		// Iterative walk: apply chains can be very long (ug = ug.apply(...) in loops)
+		final List<UGraphicRecorder> pending = new ArrayList<>();
+		UGraphicRecorder current = this;
+		while (current.parent != null && current.replayRoot != target) {
+			pending.add(current);
+			current = current.parent;
+		}
+		if (current.replayRoot != target) {
+			current.replayRoot = target;
+			current.replayed = target;
+		}
+		UGraphic ug = current.replayed;
+		for (int i = pending.size() - 1; i >= 0; i--) {
+			final UGraphicRecorder state = pending.get(i);
+			ug = ug.apply(state.change);
+			state.replayRoot = target;
+			state.replayed = ug;
+		}
+		return ug;
+	}
+
+	static class Action {
+
+		static final Object CLOSE_URL = new Object();
+		static final Object CLOSE_GROUP = new Object();
+
+		private final UGraphicRecorder state;
+		private final UShape shape;
+		private final Object event;
+
+		Action(UGraphicRecorder state, UShape shape, Object event) {
+			this.state = state;
+			this.shape = shape;
+			this.event = event;
+		}
+
+		void playOn(UGraphic ug) {
+			if (shape != null)
+				ug.draw(shape);
+			else if (event instanceof Url)
+				ug.startUrl((Url) event);
+			else if (event instanceof UGroup)
+				ug.startGroup((UGroup) event);
+			else if (event == CLOSE_URL)
+				ug.closeUrl();
+			else if (event == CLOSE_GROUP)
+				ug.closeGroup();
+		}
+	}
+
+}
@@ -65,6 +65,7 @@ import org.w3c.dom.CDATASection;
 import org.w3c.dom.Comment;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
+import org.w3c.dom.Node;
 
 import net.sourceforge.plantuml.FileUtils;
 import net.sourceforge.plantuml.code.TranscoderUtil;
@@ -132,6 +133,10 @@ public class SvgGraphics {
 	private Element pendingBackground;
 	private boolean robotoAdded = false;
 
+	// When not null, finished elements are serialized as soon as they reach the
+	// root group instead of being kept in the document
+	private final SvgSerializer serializer;
+
 	final protected void ensureVisible(double x, double y) {
 		if (x > maxX)
 			maxX = (int) (x + 1);
@@ -146,6 +151,7 @@ public class SvgGraphics {
 			this.document = getDocument();
 
 			this.option = option;
+			this.serializer = option.isStreaming() ? new SvgSerializer(images) : null;
 			final XDimension2D minDim = option.getMinDim();
 			ensureVisible(minDim.getWidth(), minDim.getHeight());
 
@@ -346,7 +352,7 @@ public class SvgGraphics {
 			fillMe(elt);
 			styleMe(elt);
 			addFilterShadowId(elt, deltaShadow);
-			getG().appendChild(elt);
+			appendToG(elt);
 		}
 		ensureVisible(x + xRadius + deltaShadow * 2, y + yRadius + deltaShadow * 2);
 	}
@@ -359,7 +365,7 @@ public class SvgGraphics {
 			elt.setAttribute("d", path);
 			fillMe(elt);
 			styleMe(elt);
-			getG().appendChild(elt);
+			appendToG(elt);
 		}
 		ensureVisible(x1, y1);
 		ensureVisible(x2, y2);
@@ -452,6 +458,13 @@ public class SvgGraphics {
 		return pendingElements.get(0);
 	}
 
+	private void appendToG(Node node) {
+		if (serializer != null && pendingElements.size() == 0)
+			serializer.append(node);
+		else
+			getG().appendChild(node);
+	}
+
 	public void svgRectangle(double x, double y, double width, double height, double rx, double ry, double deltaShadow
 	/* , String id, String codeLine */) {
 		if (height <= 0 || width <= 0) {
@@ -473,7 +486,7 @@ public class SvgGraphics {
 //			if (codeLine != null)
 //				elt.setAttribute("codeLine", codeLine);
 
-			getG().appendChild(elt);
+			appendToG(elt);
 		}
 		ensureVisible(x + width + 2 * deltaShadow, y + height + 2 * deltaShadow);
 	}
@@ -499,7 +512,7 @@ public class SvgGraphics {
 			elt.setAttribute("y2", format(y2));
 			styleMe(elt);
 			addFilterShadowId(elt, deltaShadow);
-			getG().appendChild(elt);
+			appendToG(elt);
 		}
 		ensureVisible(x1 + 2 * deltaShadow, y1 + 2 * deltaShadow);
 		ensureVisible(x2 + 2 * deltaShadow, y2 + 2 * deltaShadow);
@@ -536,7 +549,7 @@ public class SvgGraphics {
 			fillMe(elt);
 			styleMe(elt);
 			addFilterShadowId(elt, deltaShadow);
-			getG().appendChild(elt);
+			appendToG(elt);
 		}
 
 		for (int i = 0; i < points.length; i += 2) {
@@ -601,7 +614,7 @@ public class SvgGraphics {
 
 			elt.setTextContent(text);
 			// elt.appendChild(document.createCDATASection(text));
-			getG().appendChild(elt);
+			appendToG(elt);
 
 			// http://forum.plantuml.net/9158/hyperlink-without-underline
 			// if (textDecoration != null && textDecoration.contains("underline")) {
@@ -664,6 +677,11 @@ public class SvgGraphics {
 	}
 
 	public void createXml(OutputStream os) throws TransformerException, IOException {
+		if (serializer != null) {
+			updateRootAttributes();
+			serializer.writeDocument(os, root, gRoot);
+			return;
+		}
 		final ByteArrayOutputStream baos = new ByteArrayOutputStream();
 		createXmlInternal(baos);
 		String s = new String(baos.toByteArray());
@@ -685,7 +703,16 @@ public class SvgGraphics {
 		// Get a DOMSource object that represents the
 		// Document object
 		final DOMSource source = new DOMSource(document);
+		updateRootAttributes();
 
+		// Get a StreamResult object that points to the
+		// screen. Then transform the DOM sending XML to
+		// the screen.
+		final StreamResult scrResult = new StreamResult(os);
+		getTransformer().transform(source, scrResult);
+	}
+
+	private void updateRootAttributes() {
 		final int maxXscaled = (int) (maxX * option.getScale());
 		final int maxYscaled = (int) (maxY * option.getScale());
 		String style = "width:" + maxXscaled + "px;height:" + maxYscaled + "px;";
@@ -708,12 +735,6 @@ public class SvgGraphics {
 			pendingBackground.setAttribute("width", format(maxX));
 			pendingBackground.setAttribute("height", format(maxY));
 		}
-
-		// Get a StreamResult object that points to the
-		// screen. Then transform the DOM sending XML to
-		// the screen.
-		final StreamResult scrResult = new StreamResult(os);
-		getTransformer().transform(source, scrResult);
 	}
 
 	public void svgPath(double x, double y, UPath path, double deltaShadow) {
@@ -767,7 +788,7 @@ public class SvgGraphics {
 				elt.setAttribute("codeLine", codeLine);
 
 			addFilterShadowId(elt, deltaShadow);
-			getG().appendChild(elt);
+			appendToG(elt);
 		}
 	}
 
@@ -854,7 +875,7 @@ public class SvgGraphics {
 			final Element elt = document.createElement("path");
 			elt.setAttribute("d", currentPath.toString());
 			fillMe(elt);
-			getG().appendChild(elt);
+			appendToG(elt);
 		}
 		currentPath = null;
 
@@ -895,7 +916,7 @@ public class SvgGraphics {
 			elt.setAttribute("y", format(y));
 			final String s = toBase64(image);
 			elt.setAttribute("xlink:href", "data:image/png;base64," + s);
-			getG().appendChild(elt);
+			appendToG(elt);
 		}
 		ensureVisible(x, y);
 		ensureVisible(x + image.getWidth(), y + image.getHeight());
@@ -910,7 +931,7 @@ public class SvgGraphics {
 			svg = pos + svg.substring(5);
 			final String key = "imagesvginlined" + image.getMD5Hex() + images.size();
 			final Element elt = document.createElement(key);
-			getG().appendChild(elt);
+			appendToG(elt);
 			images.put(key, svg);
 		}
 		ensureVisible(x, y);
@@ -947,7 +968,7 @@ public class SvgGraphics {
 			final String s = toBase64(svg);
 			elt.setAttribute("xlink:href", "data:image/svg+xml;base64," + s);
 
-			getG().appendChild(elt);
+			appendToG(elt);
 		}
 		ensureVisible(x, y);
 		ensureVisible(x + image.getData("width"), y + image.getData("height"));
@@ -1042,13 +1063,13 @@ public class SvgGraphics {
 		final String signature = getMetadataHex(metadata).replace("--", "- -");
 		final String comment = "SRC=[" + signature + "]";
 		final Comment commentElement = document.createComment(comment);
-		getG().appendChild(commentElement);
+		appendToG(commentElement);
 		// ::done
 	}
 
 	public void addComment(String comment) {
 		final Comment commentElement = document.createComment(comment);
-		getG().appendChild(commentElement);
+		appendToG(commentElement);
 	}
 
 	private static class LinkData {
@@ -1115,7 +1136,7 @@ public class SvgGraphics {
 		final Element element = pendingElements.get(0);
 		pendingElements.remove(0);
 		if (element.getFirstChild() != null)
-			getG().appendChild(element);
+			appendToG(element);
 	}
 
 	/**
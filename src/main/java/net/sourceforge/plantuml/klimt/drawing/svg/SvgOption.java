@@ -59,6 +59,7 @@ public class SvgOption {
 	private String font;
 	private String title;
 	private String interactiveBaseFilename;
+	private boolean streaming;
 	private final Map<String, String> rootAttributes = new LinkedHashMap<>();
 
 	public String getInteractiveBaseFilename() {
@@ -95,6 +96,11 @@ public class SvgOption {
 		return this;
 	}
 
+	public SvgOption withStreaming(boolean streaming) {
+		this.streaming = streaming;
+		return this;
+	}
+
 	public SvgOption withLengthAdjust(LengthAdjust lengthAdjust) {
 		this.lengthAdjust = lengthAdjust;
 		return this;
@@ -162,6 +168,10 @@ public class SvgOption {
 		return interactiveBaseFilename != null;
 	}
 
+	public boolean isStreaming() {
+		return streaming;
+	}
+
 	public LengthAdjust getLengthAdjust() {
 		return lengthAdjust;
 	}
@@ -0,0 +1,287 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml.klimt.drawing.svg;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Map;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+/**
+ * Writes DOM nodes as us-ascii XML, the same way the JAXP {@code Transformer}
+ * used by {@link SvgGraphics} does, but without keeping the whole document in
+ * memory.
+ * <p>
+ * Finished elements are serialized into a buffer as soon as they are added to
+ * the root group. The document itself (root attributes, {@code defs}) is only
+ * written at the end, when its final size is known.
+ */
+final class SvgSerializer {
+	// ::remove file when __HAXE__
+
+	private static final int CHUNK = 8192;
+
+	private final String lineSeparator = System.lineSeparator();
+	private final StringBuilder body = new StringBuilder();
+	private final Map<String, String> inlined;
+	private int bodyOffset;
+
+	SvgSerializer(Map<String, String> inlined) {
+		this.inlined = inlined;
+	}
+
+	public void append(Node node) {
+		writeNode(body, node, null);
+	}
+
+	public void writeDocument(OutputStream os, Element root, Element insertionPoint) throws IOException {
+		// The shell is small: serialize it, remembering where the body goes
+		final StringBuilder shell = new StringBuilder(4096);
+		bodyOffset = -1;
+		writeNode(shell, root, insertionPoint);
+		// Everything is us-ascii except inlined SVG images, which the DOM path
+		// writes with the default charset
+		final Writer writer = new OutputStreamWriter(os, Charset.defaultCharset());
+		final char[] buffer = new char[CHUNK];
+		if (bodyOffset == -1) {
+			write(writer, buffer, shell, 0, shell.length());
+		} else {
+			write(writer, buffer, shell, 0, bodyOffset);
+			write(writer, buffer, body, 0, body.length());
+			write(writer, buffer, shell, bodyOffset, shell.length());
+		}
+		writer.flush();
+	}
+
+	private static void write(Writer writer, char[] buffer, StringBuilder sb, int from, int to) throws IOException {
+		for (int start = from; start < to; start += CHUNK) {
+			final int end = Math.min(start + CHUNK, to);
+			sb.getChars(start, end, buffer, 0);
+			writer.write(buffer, 0, end - start);
+		}
+	}
+
+	private void writeNode(StringBuilder sb, Node node, Element insertionPoint) {
+		switch (node.getNodeType()) {
+		case Node.ELEMENT_NODE:
+			writeElement(sb, (Element) node, insertionPoint);
+			break;
+		case Node.TEXT_NODE:
+			writeText(sb, node.getNodeValue());
+			break;
+		case Node.CDATA_SECTION_NODE:
+			writeCData(sb, node.getNodeValue());
+			break;
+		case Node.COMMENT_NODE:
+			writeComment(sb, node.getNodeValue());
+			break;
+		default:
+			throw new UnsupportedOperationException(node.toString());
+		}
+	}
+
+	private void writeElement(StringBuilder sb, Element element, Element insertionPoint) {
+		final String name = element.getTagName();
+		final String image = inlined.get(name);
+		if (image != null && element.hasAttributes() == false && element.hasChildNodes() == false) {
+			sb.append(image);
+			return;
+		}
+		sb.append('<').append(name);
+		// Namespace declarations come first, as with the Transformer
+		final NamedNodeMap attributes = element.getAttributes();
+		for (int i = 0; i < attributes.getLength(); i++)
+			if (isNamespace((Attr) attributes.item(i)))
+				writeAttribute(sb, (Attr) attributes.item(i));
+		for (int i = 0; i < attributes.getLength(); i++)
+			if (isNamespace((Attr) attributes.item(i)) == false)
+				writeAttribute(sb, (Attr) attributes.item(i));
+
+		final boolean withBody = element == insertionPoint && body.length() > 0;
+		if (hasContent(element) == false && withBody == false) {
+			sb.append("/>");
+			return;
+		}
+		sb.append('>');
+		for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling())
+			writeNode(sb, child, insertionPoint);
+		if (withBody)
+			bodyOffset = sb.length();
+		sb.append("</").append(name).append('>');
+	}
+
+	// Empty text or CDATA nodes do not produce any output
+	private static boolean hasContent(Element element) {
+		for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+			final short type = child.getNodeType();
+			if (type != Node.TEXT_NODE && type != Node.CDATA_SECTION_NODE)
+				return true;
+			if (child.getNodeValue().length() > 0)
+				return true;
+		}
+		return false;
+	}
+
+	private static boolean isNamespace(Attr attr) {
+		final String name = attr.getName();
+		return name.equals("xmlns") || name.startsWith("xmlns:");
+	}
+
+	private void writeAttribute(StringBuilder sb, Attr attr) {
+		sb.append(' ').append(attr.getName()).append("=\"");
+		final String value = attr.getValue();
+		for (int i = 0; i < value.length(); i++) {
+			final char c = value.charAt(i);
+			if (c == '&')
+				sb.append("&amp;");
+			else if (c == '<')
+				sb.append("&lt;");
+			else if (c == '>')
+				sb.append("&gt;");
+			else if (c == '"')
+				sb.append("&quot;");
+			else if (c < 0x20 || c >= 0x80)
+				i = appendReference(sb, value, i);
+			else
+				sb.append(c);
+		}
+		sb.append('"');
+	}
+
+	private void writeText(StringBuilder sb, String value) {
+		for (int i = 0; i < value.length(); i++) {
+			final char c = value.charAt(i);
+			if (c == '&')
+				sb.append("&amp;");
+			else if (c == '<')
+				sb.append("&lt;");
+			else if (c == '>')
+				sb.append("&gt;");
+			else if (c == '\n')
+				sb.append(lineSeparator);
+			else if (c == '\t')
+				sb.append(c);
+			else if (c < 0x20 || c >= 0x7F)
+				i = appendReference(sb, value, i);
+			else
+				sb.append(c);
+		}
+	}
+
+	// Non us-ascii characters cannot be escaped in comments: they are replaced by
+	// '?'. Double dashes are split.
+	private void writeComment(StringBuilder sb, String value) {
+		sb.append("<!--");
+		boolean wasDash = false;
+		for (int i = 0; i < value.length(); i++) {
+			final char c = value.charAt(i);
+			if (wasDash && c == '-')
+				sb.append(" -");
+			else if (c < 0x80)
+				sb.append(c);
+			else {
+				sb.append('?');
+				if (isSurrogatePair(value, i))
+					i++;
+			}
+			wasDash = c == '-';
+		}
+		if (value.endsWith("-"))
+			sb.append(' ');
+		sb.append("-->");
+	}
+
+	// Mimics the Transformer: characters that cannot be encoded close the CDATA
+	// section and are written as character references.
+	private void writeCData(StringBuilder sb, String value) {
+		if (value.length() == 0)
+			return;
+		boolean open = false;
+		if (isCDataChar(value.charAt(0))) {
+			sb.append("<![CDATA[");
+			open = true;
+		}
+		for (int i = 0; i < value.length(); i++) {
+			final char c = value.charAt(i);
+			if (c == '\n') {
+				sb.append(lineSeparator);
+			} else if (isCDataChar(c) == false) {
+				if (open) {
+					sb.append("]]>");
+					open = false;
+				}
+				i = appendReference(sb, value, i);
+			} else if (c == ']' && i < value.length() - 2 && value.startsWith("]]>", i)) {
+				sb.append("]]]]><![CDATA[>");
+				i += 2;
+			} else {
+				if (open == false) {
+					sb.append("<![CDATA[");
+					open = true;
+				}
+				sb.append(c);
+			}
+		}
+		if (open)
+			sb.append("]]>");
+	}
+
+	private static boolean isCDataChar(char c) {
+		return c == '\t' || c == '\n' || c == '\r' || (c >= 0x20 && c < 0x80);
+	}
+
+	private static boolean isSurrogatePair(String value, int i) {
+		return Character.isHighSurrogate(value.charAt(i)) && i + 1 < value.length()
+				&& Character.isLowSurrogate(value.charAt(i + 1));
+	}
+
+	private static int appendReference(StringBuilder sb, String value, int i) {
+		if (isSurrogatePair(value, i)) {
+			sb.append("&#").append(Character.toCodePoint(value.charAt(i), value.charAt(i + 1))).append(';');
+			return i + 1;
+		}
+		sb.append("&#").append((int) value.charAt(i)).append(';');
+		return i;
+	}
+
+}
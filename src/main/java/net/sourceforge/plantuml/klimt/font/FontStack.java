@@ -45,7 +45,7 @@ import java.util.TreeSet;
 
 public class FontStack {
 
-	private final List<Font> fonts = new ArrayList<>();
+	private volatile List<Font> fonts;
 	private final String fullDefinition;
 
 //	private static final Set<String> availableFontFamilyNames = new TreeSet<>();
@@ -60,16 +60,21 @@ public class FontStack {
 	}
 	
 
+	// Text measurements run concurrently, so the list is built aside and then
+	// published at once
 	private List<Font> getFonts() {
-		if (fonts.size() == 0)
+		List<Font> result = fonts;
+		if (result == null) {
+			result = new ArrayList<>();
 			for (String name : fullDefinition.split(",")) {
 				name = trimWhitespaceOrDoubleQuote(name);
 				// final Font font = new Font(name, Font.PLAIN, 12);
 				final Font font = Font.decode(name);
-				fonts.add(font);
+				result.add(font);
 			}
-
-		return fonts;
+			fonts = result;
+		}
+		return result;
 	}
 
 	public int canDisplayUpTo(int index, String text) {
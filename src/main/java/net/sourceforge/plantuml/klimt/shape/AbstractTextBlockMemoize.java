@@ -0,0 +1,64 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml.klimt.shape;
+
+import net.sourceforge.plantuml.klimt.font.StringBounder;
+import net.sourceforge.plantuml.klimt.geom.XDimension2D;
+
+/**
+ * A TextBlock that remembers its dimension for the last StringBounder used.
+ * <p>
+ * Only immutable blocks whose children are immutable too should extend this
+ * class. A subclass that changes after construction must call
+ * {@link #clearCacheDimension()}.
+ */
+public abstract class AbstractTextBlockMemoize extends AbstractTextBlock {
+	// ::remove file when __HAXE__
+
+	private final DimensionMemo memo = new DimensionMemo(getClass());
+
+	@Override
+	public final XDimension2D calculateDimension(StringBounder stringBounder) {
+		return memo.get(stringBounder, this::calculateDimensionSlow);
+	}
+
+	protected final void clearCacheDimension() {
+		memo.clear();
+	}
+
+	abstract protected XDimension2D calculateDimensionSlow(StringBounder stringBounder);
+
+}
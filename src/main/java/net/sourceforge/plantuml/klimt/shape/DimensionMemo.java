@@ -0,0 +1,87 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml.klimt.shape;
+
+import java.util.function.Function;
+
+import net.sourceforge.plantuml.klimt.font.StringBounder;
+import net.sourceforge.plantuml.klimt.geom.XDimension2D;
+
+/**
+ * Remembers a dimension computed for the last StringBounder used.
+ * <p>
+ * The StringBounder is compared by identity: measuring the same object with
+ * another StringBounder (for example when exporting to another format) computes
+ * it again.
+ */
+public final class DimensionMemo {
+
+	private final Class<?> owner;
+	private Entry last;
+
+	private static final class Entry {
+		private final StringBounder stringBounder;
+		private final XDimension2D dimension;
+
+		private Entry(StringBounder stringBounder, XDimension2D dimension) {
+			this.stringBounder = stringBounder;
+			this.dimension = dimension;
+		}
+	}
+
+	public DimensionMemo(Class<?> owner) {
+		this.owner = owner;
+	}
+
+	public XDimension2D get(StringBounder stringBounder, Function<StringBounder, XDimension2D> slow) {
+		final Entry current = last;
+		final boolean computed = current == null || current.stringBounder != stringBounder;
+		if (DimensionStats.INSTRUMENT)
+			DimensionStats.count(owner, computed);
+
+		if (computed == false)
+			return current.dimension;
+
+		final XDimension2D result = slow.apply(stringBounder);
+		last = new Entry(stringBounder, result);
+		return result;
+	}
+
+	public void clear() {
+		last = null;
+	}
+
+}
@@ -0,0 +1,89 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml.klimt.shape;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import net.sourceforge.plantuml.utils.Log;
+
+/**
+ * Counts, per class, how many times a memoized dimension was asked for and how
+ * many times it really had to be computed.
+ * <p>
+ * Counting is off unless the <code>PLANTUML_DIMENSION_STATS</code> system
+ * property or environment variable is set to <code>true</code>. The figures are
+ * then logged (in verbose mode) after each diagram export.
+ */
+public final class DimensionStats {
+
+	public static final boolean INSTRUMENT = isTrue(System.getProperty("PLANTUML_DIMENSION_STATS"))
+			|| isTrue(System.getenv("PLANTUML_DIMENSION_STATS"));
+
+	private static final Map<Class<?>, LongAdder[]> counters = new ConcurrentHashMap<>();
+
+	private DimensionStats() {
+	}
+
+	private static boolean isTrue(String value) {
+		return "on".equalsIgnoreCase(value) || "true".equalsIgnoreCase(value);
+	}
+
+	public static void count(Class<?> type, boolean computed) {
+		final LongAdder[] counter = counters.computeIfAbsent(type,
+				key -> new LongAdder[] { new LongAdder(), new LongAdder() });
+		counter[0].increment();
+		if (computed)
+			counter[1].increment();
+	}
+
+	public static void log() {
+		if (INSTRUMENT == false)
+			return;
+
+		final List<Map.Entry<Class<?>, LongAdder[]>> all = new ArrayList<>(counters.entrySet());
+		all.sort((e1, e2) -> Long.compare(e2.getValue()[0].sum(), e1.getValue()[0].sum()));
+		for (Map.Entry<Class<?>, LongAdder[]> ent : all) {
+			final long calls = ent.getValue()[0].sum();
+			final long computed = ent.getValue()[1].sum();
+			Log.info(() -> "Dimension " + ent.getKey().getName() + " calls=" + calls + " computed=" + computed);
+		}
+	}
+
+}
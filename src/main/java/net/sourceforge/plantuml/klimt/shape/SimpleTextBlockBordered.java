@@ -41,7 +41,7 @@ import net.sourceforge.plantuml.klimt.drawing.UGraphic;
 import net.sourceforge.plantuml.klimt.font.StringBounder;
 import net.sourceforge.plantuml.klimt.geom.XDimension2D;
 
-class SimpleTextBlockBordered extends AbstractTextBlock implements TextBlock {
+class SimpleTextBlockBordered extends AbstractTextBlockMemoize implements TextBlock {
     // ::remove file when __HAXE__
 
 	private final TextBlock textBlock;
@@ -52,7 +52,8 @@ class SimpleTextBlockBordered extends AbstractTextBlock implements TextBlock {
 		this.color = color;
 	}
 
-	public XDimension2D calculateDimension(StringBounder stringBounder) {
+	@Override
+	protected XDimension2D calculateDimensionSlow(StringBounder stringBounder) {
 		final XDimension2D dim = textBlock.calculateDimension(stringBounder);
 		return dim.delta(1, 1);
 	}
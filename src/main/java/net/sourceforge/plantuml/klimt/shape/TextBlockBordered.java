@@ -46,7 +46,7 @@ import net.sourceforge.plantuml.klimt.font.StringBounder;
 import net.sourceforge.plantuml.klimt.geom.XDimension2D;
 import net.sourceforge.plantuml.style.ClockwiseTopRightBottomLeft;
 
-public class TextBlockBordered extends AbstractTextBlock implements TextBlock {
+public class TextBlockBordered extends AbstractTextBlockMemoize implements TextBlock {
     // ::remove file when __HAXE__
 
 	private final double cornersize;
@@ -90,7 +90,8 @@ public class TextBlockBordered extends AbstractTextBlock implements TextBlock {
 		return getPureTextWidth(stringBounder) + left + right;
 	}
 
-	public XDimension2D calculateDimension(StringBounder stringBounder) {
+	@Override
+	protected XDimension2D calculateDimensionSlow(StringBounder stringBounder) {
 		final double height = getTextHeight(stringBounder);
 		final double width = getTextWidth(stringBounder);
 		return new XDimension2D(width + 1, height + 1);
@@ -44,7 +44,7 @@ import net.sourceforge.plantuml.klimt.font.StringBounder;
 import net.sourceforge.plantuml.klimt.geom.VerticalAlignment;
 import net.sourceforge.plantuml.klimt.geom.XDimension2D;
 
-public class TextBlockHorizontal extends AbstractTextBlock implements TextBlock {
+public class TextBlockHorizontal extends AbstractTextBlockMemoize implements TextBlock {
     // ::remove file when __HAXE__
 
 	private final List<TextBlock> blocks = new ArrayList<>();
@@ -64,7 +64,8 @@ public class TextBlockHorizontal extends AbstractTextBlock implements TextBlock
 		this.alignment = alignment;
 	}
 
-	public XDimension2D calculateDimension(StringBounder stringBounder) {
+	@Override
+	protected XDimension2D calculateDimensionSlow(StringBounder stringBounder) {
 		XDimension2D dim = blocks.get(0).calculateDimension(stringBounder);
 		for (int i = 1; i < blocks.size(); i++) {
 			dim = dim.mergeLR(blocks.get(i).calculateDimension(stringBounder));
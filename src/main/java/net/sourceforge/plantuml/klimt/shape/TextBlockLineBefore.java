@@ -45,7 +45,7 @@ import net.sourceforge.plantuml.klimt.geom.XRectangle2D;
 import net.sourceforge.plantuml.svek.Ports;
 import net.sourceforge.plantuml.svek.WithPorts;
 
-public class TextBlockLineBefore extends AbstractTextBlock implements TextBlock, WithPorts {
+public class TextBlockLineBefore extends AbstractTextBlockMemoize implements TextBlock, WithPorts {
     // ::remove file when __HAXE__
 
 	private final TextBlock textBlock;
@@ -68,7 +68,8 @@ public class TextBlockLineBefore extends AbstractTextBlock implements TextBlock,
 		this(defaultThickness, textBlock, '\0');
 	}
 
-	public XDimension2D calculateDimension(StringBounder stringBounder) {
+	@Override
+	protected XDimension2D calculateDimensionSlow(StringBounder stringBounder) {
 		final XDimension2D dim = textBlock.calculateDimension(stringBounder);
 		if (title != null) {
 			final XDimension2D dimTitle = title.calculateDimension(stringBounder);
@@ -45,7 +45,7 @@ import net.sourceforge.plantuml.style.ClockwiseTopRightBottomLeft;
 import net.sourceforge.plantuml.svek.Ports;
 import net.sourceforge.plantuml.svek.WithPorts;
 
-class TextBlockMarged extends AbstractTextBlock implements TextBlock, WithPorts {
+class TextBlockMarged extends AbstractTextBlockMemoize implements TextBlock, WithPorts {
 	// ::remove file when __HAXE__
 
 	private final TextBlock textBlock;
@@ -70,7 +70,8 @@ class TextBlockMarged extends AbstractTextBlock implements TextBlock, WithPorts
 		this.left = margins.getLeft();
 	}
 
-	public XDimension2D calculateDimension(StringBounder stringBounder) {
+	@Override
+	protected XDimension2D calculateDimensionSlow(StringBounder stringBounder) {
 		final XDimension2D dim = textBlock.calculateDimension(stringBounder);
 		return dim.delta(left + right, top + bottom);
 	}
@@ -41,7 +41,7 @@ import net.sourceforge.plantuml.klimt.font.StringBounder;
 import net.sourceforge.plantuml.klimt.geom.HorizontalAlignment;
 import net.sourceforge.plantuml.klimt.geom.XDimension2D;
 
-class TextBlockMinWidth extends AbstractTextBlock implements TextBlock {
+class TextBlockMinWidth extends AbstractTextBlockMemoize implements TextBlock {
     // ::remove file when __HAXE__
 
 	private final TextBlock textBlock;
@@ -54,7 +54,8 @@ class TextBlockMinWidth extends AbstractTextBlock implements TextBlock {
 		this.horizontalAlignment = horizontalAlignment;
 	}
 
-	public XDimension2D calculateDimension(StringBounder stringBounder) {
+	@Override
+	protected XDimension2D calculateDimensionSlow(StringBounder stringBounder) {
 		final XDimension2D dim = textBlock.calculateDimension(stringBounder);
 		return dim.atLeast(minWidth, 0);
 	}
@@ -40,7 +40,7 @@ import net.sourceforge.plantuml.klimt.drawing.UGraphic;
 import net.sourceforge.plantuml.klimt.font.StringBounder;
 import net.sourceforge.plantuml.klimt.geom.XDimension2D;
 
-public class TextBlockSprited extends AbstractTextBlock {
+public class TextBlockSprited extends AbstractTextBlockMemoize {
     // ::remove file when __HAXE__
 
 	private final TextBlock parent;
@@ -51,7 +51,8 @@ public class TextBlockSprited extends AbstractTextBlock {
 		this.parent = parent;
 	}
 
-	public XDimension2D calculateDimension(StringBounder stringBounder) {
+	@Override
+	protected XDimension2D calculateDimensionSlow(StringBounder stringBounder) {
 		final double widthCircledCharacter = getCircledCharacterWithAndMargin(stringBounder);
 		final double heightCircledCharacter = sprite.calculateDimension(stringBounder).getHeight();
 
@@ -49,7 +49,7 @@ import net.sourceforge.plantuml.klimt.geom.XRectangle2D;
 import net.sourceforge.plantuml.svek.Ports;
 import net.sourceforge.plantuml.svek.WithPorts;
 
-public class TextBlockVertical2 extends AbstractTextBlock implements TextBlock, WithPorts {
+public class TextBlockVertical2 extends AbstractTextBlockMemoize implements TextBlock, WithPorts {
     // ::remove file when __HAXE__
 
 	private final List<TextBlock> blocks = new ArrayList<>();
@@ -86,7 +86,8 @@ public class TextBlockVertical2 extends AbstractTextBlock implements TextBlock,
 		this.horizontalAlignment = horizontalAlignment;
 	}
 
-	public XDimension2D calculateDimension(StringBounder stringBounder) {
+	@Override
+	protected XDimension2D calculateDimensionSlow(StringBounder stringBounder) {
 		XDimension2D dim = blocks.get(0).calculateDimension(stringBounder);
 		for (int i = 1; i < blocks.size(); i++)
 			dim = dim.mergeTB(blocks.get(i).calculateDimension(stringBounder));
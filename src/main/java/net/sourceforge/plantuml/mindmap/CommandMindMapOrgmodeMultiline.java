@@ -77,7 +77,7 @@ public class CommandMindMapOrgmodeMultiline extends CommandMultilines2<MindMapDi
 	@Override
 	protected CommandExecutionResult executeNow(MindMapDiagram diagram, BlocLines lines, ParserPass currentPass)
 			throws NoSuchColorException {
-		final RegexResult line0 = getStartingPattern().matcher(lines.getFirst().getTrimmed().getString());
+		final RegexResult line0 = getStartingResult(lines);
 
 		final List<String> lineLast = StringUtils.getSplit(getEndPattern(), lines.getLast().getString());
 		lines = lines.removeStartingAndEnding(line0.get("DATA", 0), 1);
@@ -92,7 +92,7 @@ public class CommandCreateEntityObjectMultilines extends CommandMultilines2<Abst
 	protected CommandExecutionResult executeNow(AbstractClassOrObjectDiagram diagram, BlocLines lines,
 			ParserPass currentPass) throws NoSuchColorException {
 		lines = lines.trim().removeEmptyLines();
-		final RegexResult line0 = getStartingPattern().matcher(lines.getFirst().getTrimmed().getString());
+		final RegexResult line0 = getStartingResult(lines);
 		final Entity entity = executeArg0(lines.getLocation(), diagram, line0);
 		if (entity == null)
 			return CommandExecutionResult.error("No such entity");
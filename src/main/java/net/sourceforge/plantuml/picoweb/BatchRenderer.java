@@ -0,0 +1,214 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml.picoweb;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import net.sourceforge.plantuml.BlockUml;
+import net.sourceforge.plantuml.FileFormatOption;
+import net.sourceforge.plantuml.Option;
+import net.sourceforge.plantuml.SourceStringReader;
+import net.sourceforge.plantuml.core.Diagram;
+import net.sourceforge.plantuml.core.ImageData;
+import net.sourceforge.plantuml.json.JsonArray;
+import net.sourceforge.plantuml.json.JsonObject;
+import net.sourceforge.plantuml.security.SFile;
+import net.sourceforge.plantuml.utils.Base64Coder;
+
+/**
+ * Renders the diagrams of a {@link RenderBatchRequest} in parallel and streams
+ * them back as <code>application/x-ndjson</code>: one json object per diagram,
+ * in the order of the request, the image being base64 encoded in
+ * <code>data</code>.
+ * <p>
+ * Rendering is done on a pool sized on the number of cores, shared by all
+ * connections, so that a single batch cannot starve the server. A batch holds
+ * at most {@link #MAX_BATCH_SIZE} diagrams, and only a few of them are
+ * submitted ahead of the one being written, so that pending results do not
+ * pile up in memory. When the client goes away, the remaining diagrams are
+ * cancelled.
+ */
+class BatchRenderer {
+	// ::remove folder when __CORE__
+
+	static final int MAX_BATCH_SIZE = 256;
+
+	private static ExecutorService executor;
+
+	private final Option option;
+	private final RenderBatchRequest request;
+	private final List<Callable<RenderedDiagram>> tasks;
+
+	/**
+	 * Reads the batch and splits it into diagrams. Errors are reported here,
+	 * before any part of the response has been sent.
+	 */
+	BatchRenderer(RenderBatchRequest request) throws InterruptedException, IOException {
+		this.request = request;
+		this.option = new Option(request.getOptions());
+		this.tasks = getTasks();
+		if (tasks.size() > MAX_BATCH_SIZE)
+			throw new BadRequest400(
+					"Too many diagrams in batch: " + tasks.size() + " (maximum is " + MAX_BATCH_SIZE + ")");
+	}
+
+	private static int getMaxInFlight() {
+		return 2 * Runtime.getRuntime().availableProcessors();
+	}
+
+	private static synchronized ExecutorService getExecutor() {
+		if (executor == null)
+			executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+					new WorkerPool.DaemonThreadFactory("picoweb-batch-"));
+		return executor;
+	}
+
+	private List<Callable<RenderedDiagram>> getTasks() {
+		final List<Callable<RenderedDiagram>> result = new ArrayList<>();
+		if (request.isMultiBlock()) {
+			final SourceStringReader ssr = newReader(request.getSources().get(0));
+			if (ssr.getBlocks().size() == 0)
+				result.add(renderTask(ssr, null));
+			for (BlockUml block : ssr.getBlocks())
+				result.add(renderTask(ssr, block));
+		} else {
+			for (final String source : request.getSources())
+				result.add(new Callable<RenderedDiagram>() {
+					public RenderedDiagram call() throws Exception {
+						final String full = source.startsWith("@start") ? source
+								: "@startuml\n" + source + "\n@enduml";
+						return PicoWebServer.renderFirstBlock(newReader(full), option.getFileFormatOption());
+					}
+				});
+		}
+		return result;
+	}
+
+	private Callable<RenderedDiagram> renderTask(final SourceStringReader ssr, final BlockUml block) {
+		return new Callable<RenderedDiagram>() {
+			public RenderedDiagram call() throws Exception {
+				if (block == null)
+					return PicoWebServer.renderFirstBlock(ssr, option.getFileFormatOption());
+				final FileFormatOption fileFormatOption = option.getFileFormatOption();
+				final Diagram system = block.getDiagram();
+				final ByteArrayOutputStream os = new ByteArrayOutputStream();
+				final ImageData imageData = system.exportDiagram(os, 0, fileFormatOption);
+				return new RenderedDiagram(system, "200", imageData, os.toByteArray());
+			}
+		};
+	}
+
+	private SourceStringReader newReader(String source) {
+		final SFile newCurrentDir = option.getFileDir() == null ? null : new SFile(option.getFileDir());
+		return new SourceStringReader(option.getDefaultDefines(), source, UTF_8, option.getConfig(), newCurrentDir);
+	}
+
+	/**
+	 * Writes the body of the response, using chunked transfer encoding so that
+	 * the first diagrams are sent while the next ones are still rendered.
+	 */
+	void writeBody(OutputStream out) throws IOException, InterruptedException {
+		final List<Future<RenderedDiagram>> futures = new ArrayList<>();
+		try {
+			final String mimeType = option.getFileFormatOption().getFileFormat().getMimeType();
+			for (int i = 0; i < tasks.size(); i++) {
+				while (futures.size() < tasks.size() && futures.size() < i + getMaxInFlight())
+					futures.add(getExecutor().submit(tasks.get(futures.size())));
+
+				JsonObject line;
+				try {
+					line = toJson(futures.get(i).get(), mimeType);
+				} catch (ExecutionException e) {
+					line = error(e.getCause());
+				} catch (RuntimeException e) {
+					line = error(e);
+				}
+				futures.set(i, null);
+				line = new JsonObject().add("index", i).merge(line);
+				writeChunk(out, (line.toString() + "\n").getBytes(UTF_8));
+			}
+			writeChunk(out, new byte[0]);
+			out.flush();
+		} finally {
+			// Only left when writing failed: nobody is reading any more
+			for (Future<RenderedDiagram> future : futures)
+				if (future != null)
+					future.cancel(true);
+		}
+	}
+
+	private static JsonObject error(Throwable e) {
+		return new JsonObject().add("status", "500 ERROR").add("error", String.valueOf(e));
+	}
+
+	private static JsonObject toJson(RenderedDiagram rendered, String mimeType) {
+		final JsonObject result = new JsonObject();
+		result.add("status", rendered.getReturnCode());
+		result.add("contentType", mimeType);
+		result.add("width", rendered.getWidth());
+		result.add("height", rendered.getHeight());
+		result.add("description", rendered.getDescription());
+		if (rendered.getTitle() != null)
+			result.add("title", rendered.getTitle());
+		if (rendered.getErrors().size() > 0) {
+			final JsonArray errors = new JsonArray();
+			for (int i = 0; i < rendered.getErrors().size(); i++)
+				errors.add(new JsonObject().add("error", rendered.getErrors().get(i)).add("line",
+						rendered.getErrorLines().get(i)));
+			result.add("errors", errors);
+		}
+		result.add("data", new String(Base64Coder.encode(rendered.getData())));
+		return result;
+	}
+
+	private static void writeChunk(OutputStream out, byte[] data) throws IOException {
+		out.write((Integer.toHexString(data.length) + "\r\n").getBytes(UTF_8));
+		out.write(data);
+		out.write("\r\n".getBytes(UTF_8));
+	}
+
+}
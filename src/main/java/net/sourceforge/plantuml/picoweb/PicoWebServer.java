@@ -49,6 +49,7 @@ import java.io.PrintWriter;
 import java.net.InetAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.net.SocketTimeoutException;
 import java.net.URLEncoder;
 import java.util.Collections;
 import java.util.Date;
@@ -77,13 +78,24 @@ import net.sourceforge.plantuml.security.SFile;
 import net.sourceforge.plantuml.syntax.LanguageDescriptor;
 import net.sourceforge.plantuml.text.StringLocated;
 import net.sourceforge.plantuml.utils.LineLocationImpl;
+import net.sourceforge.plantuml.utils.Log;
 import net.sourceforge.plantuml.version.Version;
 
 public class PicoWebServer implements Runnable {
 	// ::remove folder when __CORE__
 
+	private static final int DEFAULT_QUEUE_SIZE = 64;
+	private static final int KEEP_ALIVE_TIMEOUT_MS = 5000;
+	private static final int REQUEST_TIMEOUT_MS = 10000;
+	private static final int MAX_REQUESTS_PER_CONNECTION = 100;
+
+	private static final RequestMetrics metrics = new RequestMetrics();
+	private static final RenderedCache renderedCache = new RenderedCache();
+	private static WorkerPool pool;
+
 	private final Socket connect;
 	private static boolean enableStop;
+	private boolean keepAlive;
 
 	public PicoWebServer(Socket c) {
 		this.connect = c;
@@ -95,18 +107,47 @@ public class PicoWebServer implements Runnable {
 
 	public static void startServer(final int port, final String bindAddress, final boolean argEnableStop)
 			throws IOException {
+		startServer(port, bindAddress, argEnableStop, Option.defaultNbThreads(), DEFAULT_QUEUE_SIZE);
+	}
+
+	public static void startServer(final int port, final String bindAddress, final boolean argEnableStop,
+			int nbWorkers, int queueSize) throws IOException {
 		PicoWebServer.enableStop = argEnableStop;
 		final InetAddress bindAddress1 = bindAddress == null ? null : InetAddress.getByName(bindAddress);
 		final ServerSocket serverConnect = new ServerSocket(port, 50, bindAddress1);
 		System.err.println("webPort=" + serverConnect.getLocalPort());
-		serverLoop(serverConnect);
+		serverLoop(serverConnect, nbWorkers, queueSize);
 	}
 
 	public static void serverLoop(final ServerSocket serverConnect) throws IOException {
+		serverLoop(serverConnect, Option.defaultNbThreads(), DEFAULT_QUEUE_SIZE);
+	}
+
+	public static void serverLoop(final ServerSocket serverConnect, int nbWorkers, int queueSize)
+			throws IOException {
+		final WorkerPool workers = new WorkerPool(nbWorkers, queueSize);
+		pool = workers;
 		while (true) {
-			final PicoWebServer myServer = new PicoWebServer(serverConnect.accept());
-			final Thread thread = new Thread(myServer);
-			thread.start();
+			final Socket socket = serverConnect.accept();
+			metrics.connectionAccepted();
+			if (workers.submit(new PicoWebServer(socket)) == false) {
+				metrics.connectionRejected();
+				sendServiceUnavailable(socket);
+			}
+		}
+	}
+
+	private static void sendServiceUnavailable(Socket socket) {
+		try (Socket s = socket) {
+			final OutputStream out = s.getOutputStream();
+			write(out, "HTTP/1.1 503 Service Unavailable");
+			write(out, "Retry-After: 1");
+			write(out, "Content-length: 0");
+			write(out, "Connection: close");
+			write(out, "");
+			out.flush();
+		} catch (IOException e) {
+			Logme.error(e);
 		}
 	}
 
@@ -118,43 +159,24 @@ public class PicoWebServer implements Runnable {
 			in = new BufferedInputStream(connect.getInputStream());
 			out = new BufferedOutputStream(connect.getOutputStream());
 
-			final ReceivedHTTPRequest request = ReceivedHTTPRequest.fromStream(in);
-			if (request.getMethod().equals("GET")) {
-				if (request.getPath().startsWith("/png/") && handleGET(request, out, FileFormat.PNG))
-					return;
-				if (request.getPath().startsWith("/plantuml/png/") && handleGET(request, out, FileFormat.PNG))
-					return;
-				if (request.getPath().startsWith("/svg/") && handleGET(request, out, FileFormat.SVG))
-					return;
-				if (request.getPath().startsWith("/plantuml/svg/") && handleGET(request, out, FileFormat.SVG))
-					return;
-				if (request.getPath().startsWith("/txt/") && handleGET(request, out, FileFormat.ATXT))
-					return;
-				if (request.getPath().startsWith("/plantuml/txt/") && handleGET(request, out, FileFormat.ATXT))
-					return;
-				if (request.getPath().startsWith("/utxt/") && handleGET(request, out, FileFormat.UTXT))
-					return;
-				if (request.getPath().startsWith("/plantuml/utxt/") && handleGET(request, out, FileFormat.UTXT))
-					return;
-				if (request.getPath().startsWith("/serverinfo") && handleInfo(out))
-					return;
-				if (request.getPath().startsWith("/plantuml/serverinfo") && handleInfo(out))
-					return;
-				if (request.getPath().startsWith("/language") && handleLanguage(out))
-					return;
-				if (enableStop && (request.getPath().startsWith("/stopserver")
-						|| request.getPath().startsWith("/plantuml/stopserver")) && handleStop(out))
-					return;
-
-			} else if (request.getMethod().equals("POST") && request.getPath().equals("/render")) {
-				handleRenderRequest(request, out);
-				return;
+			for (int nb = 0; nb < MAX_REQUESTS_PER_CONNECTION; nb++) {
+				if (nb > 0 && waitNextRequest(in) == false)
+					break;
+
+				// a client that connects and never sends anything must not hold a worker
+				connect.setSoTimeout(REQUEST_TIMEOUT_MS);
+				final long start = System.nanoTime();
+				final ReceivedHTTPRequest request = ReceivedHTTPRequest.fromStream(in);
+				keepAlive = request.isKeepAlive() && nb + 1 < MAX_REQUESTS_PER_CONNECTION && pool != null
+						&& pool.hasWaitingTasks() == false;
+				handleRequest(request, out);
+				metrics.requestDone(System.nanoTime() - start);
+				if (keepAlive == false)
+					break;
 			}
-			write(out, "HTTP/1.1 302 Found");
-			write(out, "Location: /plantuml/png/oqbDJyrBuGh8ISmh2VNrKGZ8JCuFJqqAJYqgIotY0aefG5G00000");
-			write(out, "");
-			out.flush();
 
+		} catch (SocketTimeoutException e) {
+			// idle or too slow client: just close the connection
 		} catch (Throwable e) {
 			try {
 				sendError(e, out);
@@ -163,8 +185,10 @@ public class PicoWebServer implements Runnable {
 			}
 		} finally {
 			try {
-				in.close();
-				out.close();
+				if (in != null)
+					in.close();
+				if (out != null)
+					out.close();
 				connect.close();
 			} catch (Throwable e) {
 				Logme.error(e);
@@ -172,11 +196,74 @@ public class PicoWebServer implements Runnable {
 		}
 	}
 
+	private boolean waitNextRequest(BufferedInputStream in) throws IOException {
+		connect.setSoTimeout(KEEP_ALIVE_TIMEOUT_MS);
+		try {
+			in.mark(1);
+			if (in.read() == -1)
+				return false;
+
+			in.reset();
+			return true;
+		} catch (SocketTimeoutException e) {
+			return false;
+		}
+	}
+
+	private void handleRequest(ReceivedHTTPRequest request, BufferedOutputStream out) throws Exception {
+		if (request.getMethod().equals("GET")) {
+			if (request.getPath().startsWith("/png/") && handleGET(request, out, FileFormat.PNG))
+				return;
+			if (request.getPath().startsWith("/plantuml/png/") && handleGET(request, out, FileFormat.PNG))
+				return;
+			if (request.getPath().startsWith("/svg/") && handleGET(request, out, FileFormat.SVG))
+				return;
+			if (request.getPath().startsWith("/plantuml/svg/") && handleGET(request, out, FileFormat.SVG))
+				return;
+			if (request.getPath().startsWith("/txt/") && handleGET(request, out, FileFormat.ATXT))
+				return;
+			if (request.getPath().startsWith("/plantuml/txt/") && handleGET(request, out, FileFormat.ATXT))
+				return;
+			if (request.getPath().startsWith("/utxt/") && handleGET(request, out, FileFormat.UTXT))
+				return;
+			if (request.getPath().startsWith("/plantuml/utxt/") && handleGET(request, out, FileFormat.UTXT))
+				return;
+			if (request.getPath().startsWith("/serverinfo") && handleInfo(out))
+				return;
+			if (request.getPath().startsWith("/plantuml/serverinfo") && handleInfo(out))
+				return;
+			if (request.getPath().startsWith("/language") && handleLanguage(out))
+				return;
+			if (enableStop && (request.getPath().startsWith("/stopserver")
+					|| request.getPath().startsWith("/plantuml/stopserver")) && handleStop(out))
+				return;
+
+		} else if (request.getMethod().equals("POST") && request.getPath().equals("/render")) {
+			handleRenderRequest(request, out);
+			return;
+		} else if (request.getMethod().equals("POST") && request.getPath().equals("/render/batch")) {
+			handleRenderBatchRequest(request, out);
+			return;
+		}
+		write(out, "HTTP/1.1 302 Found");
+		write(out, "Location: /plantuml/png/oqbDJyrBuGh8ISmh2VNrKGZ8JCuFJqqAJYqgIotY0aefG5G00000");
+		write(out, "Content-length: 0");
+		writeConnection(out);
+		write(out, "");
+		out.flush();
+	}
+
+	private void writeConnection(OutputStream out) throws IOException {
+		write(out, "Connection: " + (keepAlive ? "keep-alive" : "close"));
+	}
+
 	private boolean handleStop(BufferedOutputStream out) throws IOException {
+		keepAlive = false;
 		write(out, "HTTP/1.1 " + "200");
 		write(out, "Cache-Control: no-cache");
 		write(out, "Server: PlantUML PicoWebServer " + Version.versionString());
 		write(out, "Date: " + new Date());
+		writeConnection(out);
 		write(out, "");
 
 		write(out, "<html>Stoping...</html>");
@@ -199,13 +286,6 @@ public class PicoWebServer implements Runnable {
 	}
 
 	private boolean handleInfo(BufferedOutputStream out) throws IOException {
-		write(out, "HTTP/1.1 " + "200");
-		write(out, "Cache-Control: no-cache");
-		write(out, "Server: PlantUML PicoWebServer " + Version.versionString());
-		write(out, "Date: " + new Date());
-		write(out, "Content-Type: application/json");
-		write(out, "");
-
 		final JsonArray formats = new JsonArray();
 		formats.add("png");
 		formats.add("svg");
@@ -213,8 +293,19 @@ public class PicoWebServer implements Runnable {
 		final JsonObject json = Json.object() //
 				.add("version", Version.versionString()) //
 				.add("PicoWebServer", true) //
-				.add("formats", formats); //
-		write(out, json.toString());
+				.add("formats", formats) //
+				.add("metrics", getMetrics()); //
+		final byte[] data = (json.toString() + "\r\n").getBytes(UTF_8);
+
+		write(out, "HTTP/1.1 " + "200");
+		write(out, "Cache-Control: no-cache");
+		write(out, "Server: PlantUML PicoWebServer " + Version.versionString());
+		write(out, "Date: " + new Date());
+		write(out, "Content-Type: application/json");
+		write(out, "Content-length: " + data.length);
+		writeConnection(out);
+		write(out, "");
+		out.write(data);
 
 		out.flush();
 
@@ -222,15 +313,20 @@ public class PicoWebServer implements Runnable {
 	}
 
 	private boolean handleLanguage(BufferedOutputStream out) throws IOException {
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		final PrintStream ps = new PrintStream(baos);
+		new LanguageDescriptor().print(ps);
+		ps.flush();
+
 		write(out, "HTTP/1.1 " + "200");
 		write(out, "Cache-Control: no-cache");
 		write(out, "Server: PlantUML PicoWebServer " + Version.versionString());
 		write(out, "Date: " + new Date());
 		write(out, "Content-Type: text/text");
+		write(out, "Content-length: " + baos.size());
+		writeConnection(out);
 		write(out, "");
-
-		final PrintStream ps = new PrintStream(out);
-		new LanguageDescriptor().print(ps);
+		baos.writeTo(out);
 
 		out.flush();
 
@@ -241,24 +337,55 @@ public class PicoWebServer implements Runnable {
 			throws IOException {
 		final int x = request.getPath().lastIndexOf('/');
 		final String compressed = request.getPath().substring(x + 1);
+		final FileFormatOption fileFormatOption = new FileFormatOption(format);
+
 		final Transcoder transcoder = TranscoderUtil.getDefaultTranscoderProtected();
 		final String source = transcoder.decode(compressed);
+
+		final String etag = RenderedCache.isCacheable(source) ? RenderedCache.getETag(format, compressed) : null;
+		if (etag != null) {
+			if (RenderedCache.matches(request.getHeader("If-None-Match"), etag)) {
+				renderedCache.notModified();
+				sendNotModified(out, etag);
+				return true;
+			}
+			final RenderedDiagram cached = renderedCache.get(etag);
+			if (cached != null) {
+				sendDiagram(out, fileFormatOption, cached, etag);
+				return true;
+			}
+		}
+
 		final SourceStringReader ssr = new SourceStringReader(source);
 
-		final FileFormatOption fileFormatOption = new FileFormatOption(format);
 		final List<BlockUml> blocks = ssr.getBlocks();
 		if (blocks.size() > 0) {
 			final Diagram system = blocks.get(0).getDiagram();
 			final ByteArrayOutputStream os = new ByteArrayOutputStream();
 			final ImageData imageData = system.exportDiagram(os, 0, fileFormatOption);
 			os.close();
-			sendDiagram(out, system, fileFormatOption, httpReturnCode(imageData.getStatus()), imageData,
-					os.toByteArray());
+			final RenderedDiagram rendered = new RenderedDiagram(system, httpReturnCode(imageData.getStatus()),
+					imageData, os.toByteArray());
+			if (etag != null)
+				renderedCache.put(etag, rendered);
+			sendDiagram(out, fileFormatOption, rendered, etag);
 			return true;
 		}
 		return false;
 	}
 
+	private void sendNotModified(BufferedOutputStream out, String etag) throws IOException {
+		write(out, "HTTP/1.1 304 Not Modified");
+		write(out, "Cache-Control: no-cache");
+		write(out, "ETag: " + etag);
+		write(out, "Server: PlantUML PicoWebServer " + Version.versionString());
+		write(out, "Date: " + new Date());
+		write(out, "Access-Control-Allow-Origin: *");
+		writeConnection(out);
+		write(out, "");
+		out.flush();
+	}
+
 	private void handleRenderRequest(ReceivedHTTPRequest request, BufferedOutputStream out) throws Exception {
 		if (request.getBody().length == 0) {
 			throw new BadRequest400("No request body");
@@ -284,6 +411,12 @@ public class PicoWebServer implements Runnable {
 		final SFile newCurrentDir = option.getFileDir() == null ? null : new SFile(option.getFileDir());
 		final SourceStringReader ssr = new SourceStringReader(option.getDefaultDefines(), source, UTF_8,
 				option.getConfig(), newCurrentDir);
+
+		sendDiagram(out, option.getFileFormatOption(), renderFirstBlock(ssr, option.getFileFormatOption()), null);
+	}
+
+	static RenderedDiagram renderFirstBlock(SourceStringReader ssr, FileFormatOption fileFormatOption)
+			throws IOException {
 		final ByteArrayOutputStream os = new ByteArrayOutputStream();
 		final Diagram system;
 		final ImageData imageData;
@@ -293,45 +426,74 @@ public class PicoWebServer implements Runnable {
 					new ErrorUml(SYNTAX_ERROR, "No valid @start/@end found, please check the version", 0,
 							new LineLocationImpl("", null), null),
 					null, Collections.<StringLocated>emptyList(), new PreprocessingArtifact());
-			imageData = ssr.noValidStartFound(os, option.getFileFormatOption());
+			imageData = ssr.noValidStartFound(os, fileFormatOption);
 		} else {
 			system = ssr.getBlocks().get(0).getDiagram();
-			imageData = system.exportDiagram(os, 0, option.getFileFormatOption());
+			imageData = system.exportDiagram(os, 0, fileFormatOption);
+		}
+
+		return new RenderedDiagram(system, "200", imageData, os.toByteArray());
+	}
+
+	private void handleRenderBatchRequest(ReceivedHTTPRequest request, BufferedOutputStream out) throws Exception {
+		if (request.getBody().length == 0) {
+			throw new BadRequest400("No request body");
+		}
+
+		final RenderBatchRequest batchRequest;
+		try {
+			batchRequest = RenderBatchRequest.fromJson(new String(request.getBody(), UTF_8));
+		} catch (Exception e) {
+			throw new BadRequest400("Error parsing request json: " + e.getMessage(), e);
 		}
+		final BatchRenderer renderer = new BatchRenderer(batchRequest);
 
-		sendDiagram(out, system, option.getFileFormatOption(), "200", imageData, os.toByteArray());
+		write(out, "HTTP/1.1 200 OK");
+		write(out, "Cache-Control: no-cache");
+		write(out, "Server: PlantUML PicoWebServer " + Version.versionString());
+		write(out, "Date: " + new Date());
+		write(out, "Access-Control-Allow-Origin: *");
+		write(out, "Content-type: application/x-ndjson");
+		write(out, "Transfer-Encoding: chunked");
+		writeConnection(out);
+		write(out, "");
+		try {
+			renderer.writeBody(out);
+		} catch (IOException e) {
+			// The headers are gone: an error page would end up inside the body
+			keepAlive = false;
+			Log.info(() -> "Batch interrupted: " + e);
+		}
 	}
 
-	private void sendDiagram(final BufferedOutputStream out, final Diagram system,
-			final FileFormatOption fileFormatOption, final String returnCode, final ImageData imageData,
-			final byte[] fileData) throws IOException {
+	private void sendDiagram(final BufferedOutputStream out, final FileFormatOption fileFormatOption,
+			final RenderedDiagram rendered, final String etag) throws IOException {
+		final byte[] fileData = rendered.getData();
 
-		write(out, "HTTP/1.1 " + returnCode);
+		write(out, "HTTP/1.1 " + rendered.getReturnCode());
 		write(out, "Cache-Control: no-cache");
+		if (etag != null)
+			write(out, "ETag: " + etag);
 		write(out, "Server: PlantUML PicoWebServer " + Version.versionString());
 		write(out, "Date: " + new Date());
 		write(out, "Access-Control-Allow-Origin: *");
 		write(out, "Content-type: " + fileFormatOption.getFileFormat().getMimeType());
 		write(out, "Content-length: " + fileData.length);
-		write(out, "X-PlantUML-Diagram-Width: " + imageData.getWidth());
-		write(out, "X-PlantUML-Diagram-Height: " + imageData.getHeight());
-		write(out, "X-PlantUML-Diagram-Description: " + system.getDescription().getDescription());
-		if (system instanceof PSystemError) {
-			final PSystemError error = (PSystemError) system;
-			for (ErrorUml err : error.getErrorsUml()) {
-				write(out, "X-PlantUML-Diagram-Error: " + err.getError());
-				write(out, "X-PlantUML-Diagram-Error-Line: " + (1 + err.getLineLocation().getPosition()));
-			}
-		}
-		if (system.getTitleDisplay() != null && system.getTitleDisplay().size() == 1) {
-			final String encode = URLEncoder.encode(system.getTitleDisplay().asList().get(0).toString(), "UTF-8");
-			if (encode.length() < 256)
-				write(out, "X-PlantUML-Diagram-Title: " + encode);
+		write(out, "X-PlantUML-Diagram-Width: " + rendered.getWidth());
+		write(out, "X-PlantUML-Diagram-Height: " + rendered.getHeight());
+		write(out, "X-PlantUML-Diagram-Description: " + rendered.getDescription());
+		for (int i = 0; i < rendered.getErrors().size(); i++) {
+			write(out, "X-PlantUML-Diagram-Error: " + rendered.getErrors().get(i));
+			write(out, "X-PlantUML-Diagram-Error-Line: " + rendered.getErrorLines().get(i));
 		}
+		final String title = rendered.getTitle();
+		if (title != null && title.length() < 256)
+			write(out, "X-PlantUML-Diagram-Title: " + title);
 
 		write(out, "X-Patreon: Support us on https://plantuml.com/patreon");
 		write(out, "X-Donate: https://plantuml.com/paypal");
 		write(out, "X-Quote: " + StringUtils.rot(QuoteUtils.getSomeQuote()));
+		writeConnection(out);
 		write(out, "");
 		out.flush();
 		out.write(fileData);
@@ -364,7 +526,20 @@ public class PicoWebServer implements Runnable {
 		return "" + status + " ERROR";
 	}
 
-	private void write(OutputStream os, String s) throws IOException {
+	private static JsonObject getMetrics() {
+		final JsonObject result = metrics.toJson();
+		final WorkerPool workers = pool;
+		if (workers != null)
+			result.add("activeConnections", workers.getActiveCount()) //
+					.add("waitingConnections", workers.getWaitingCount()) //
+					.add("virtualThreads", workers.isVirtualThreads());
+		result.add("cacheHits", renderedCache.getHits()) //
+				.add("cacheMisses", renderedCache.getMisses()) //
+				.add("notModified", renderedCache.getNotModified());
+		return result;
+	}
+
+	private static void write(OutputStream os, String s) throws IOException {
 		s = s + "\r\n";
 		os.write(s.getBytes(UTF_8));
 	}
@@ -1,12 +1,17 @@
 package net.sourceforge.plantuml.picoweb;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.StringTokenizer;
 
 public class ReceivedHTTPRequest {
 
-	private static final String CONTENT_LENGTH_HEADER = "content-length: ";
+	private static final String CONTENT_LENGTH_HEADER = "content-length";
+
+	private static final String TRANSFER_ENCODING_HEADER = "transfer-encoding";
 
 	private String method;
 
@@ -14,6 +19,10 @@ public class ReceivedHTTPRequest {
 
 	private byte[] body;
 
+	private String version;
+
+	private final Map<String, String> headers = new HashMap<>();
+
 	public String getMethod() {
 		return method;
 	}
@@ -26,6 +35,25 @@ public class ReceivedHTTPRequest {
 		return body;
 	}
 
+	/**
+	 * Returns the value of this header, or null. The name is case insensitive.
+	 */
+	public String getHeader(String name) {
+		return headers.get(name.toLowerCase());
+	}
+
+	public boolean isKeepAlive() {
+		// Be conservative with bodies that are not delimited by a Content-Length
+		if (getHeader(TRANSFER_ENCODING_HEADER) != null)
+			return false;
+
+		final String connection = getHeader("connection");
+		if ("HTTP/1.1".equals(version))
+			return connection == null || connection.equalsIgnoreCase("close") == false;
+
+		return connection != null && connection.equalsIgnoreCase("keep-alive");
+	}
+
 	public static ReceivedHTTPRequest fromStream(InputStream in) throws IOException {
 		final ReceivedHTTPRequest request = new ReceivedHTTPRequest();
 
@@ -38,28 +66,40 @@ public class ReceivedHTTPRequest {
 
 		request.method = tokenizer.nextToken().toUpperCase();
 		request.path = tokenizer.nextToken();
+		request.version = tokenizer.hasMoreTokens() ? tokenizer.nextToken().toUpperCase() : "HTTP/1.0";
 
 		// Headers
-		int contentLength = 0;
-
 		while (true) {
 			String line = readLine(in);
 			if (line.isEmpty()) {
 				break;
-			} else if (line.toLowerCase().startsWith(CONTENT_LENGTH_HEADER)) {
-				contentLength = parseContentLengthHeader(line);
+			} else {
+				final int x = line.indexOf(':');
+				if (x > 0)
+					request.headers.put(line.substring(0, x).trim().toLowerCase(), line.substring(x + 1).trim());
 			}
 		}
 
-		request.body = readBody(in, contentLength);
+		// Transfer-Encoding wins over Content-Length (RFC 7230 3.3.3)
+		final String transferEncoding = request.getHeader(TRANSFER_ENCODING_HEADER);
+		if (transferEncoding != null) {
+			if (transferEncoding.equalsIgnoreCase("chunked") == false)
+				throw new BadRequest400("Unsupported transfer encoding: " + transferEncoding);
+			request.body = readChunkedBody(in);
+		} else {
+			request.body = readBody(in, parseContentLength(request.getHeader(CONTENT_LENGTH_HEADER)));
+		}
 		return request;
 	}
 
-	private static int parseContentLengthHeader(String line) throws IOException {
+	private static int parseContentLength(String value) throws IOException {
+		if (value == null)
+			return 0;
+
 		int contentLength;
 
 		try {
-			contentLength = Integer.parseInt(line.substring(CONTENT_LENGTH_HEADER.length()).trim());
+			contentLength = Integer.parseInt(value);
 		} catch (NumberFormatException e) {
 			throw new BadRequest400("Invalid content length");
 		}
@@ -91,6 +131,39 @@ public class ReceivedHTTPRequest {
 		return body;
 	}
 
+	private static byte[] readChunkedBody(InputStream in) throws IOException {
+		final ByteArrayOutputStream result = new ByteArrayOutputStream();
+		while (true) {
+			String size = readLine(in);
+			final int x = size.indexOf(';');
+			if (x != -1)
+				size = size.substring(0, x);
+
+			final int length;
+			try {
+				length = Integer.parseInt(size.trim(), 16);
+			} catch (NumberFormatException e) {
+				throw new BadRequest400("Invalid chunk size");
+			}
+			if (length < 0)
+				throw new BadRequest400("Negative chunk size");
+
+			if (length == 0)
+				break;
+
+			result.write(readBody(in, length));
+			// CRLF after the chunk data
+			readLine(in);
+		}
+		// Trailers are ignored
+		String trailer;
+		do {
+			trailer = readLine(in);
+		} while (trailer.isEmpty() == false);
+
+		return result.toByteArray();
+	}
+
 	private static String readLine(InputStream in) throws IOException {
 		final StringBuilder builder = new StringBuilder();
 
@@ -0,0 +1,71 @@
+package net.sourceforge.plantuml.picoweb;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import net.sourceforge.plantuml.json.Json;
+import net.sourceforge.plantuml.json.JsonArray;
+import net.sourceforge.plantuml.json.JsonObject;
+import net.sourceforge.plantuml.json.JsonValue;
+
+/**
+ * POJO of the json sent to "POST /render/batch"
+ * <p>
+ * Either <code>sources</code> (an array, one diagram per entry) or
+ * <code>source</code> (a text holding several <code>@start/@end</code> blocks)
+ * must be given. <code>options</code> apply to every diagram.
+ */
+public class RenderBatchRequest {
+
+	private final String[] options;
+
+	private final List<String> sources;
+
+	private final boolean multiBlock;
+
+	public RenderBatchRequest(String[] options, List<String> sources, boolean multiBlock) {
+		this.options = options;
+		this.sources = Collections.unmodifiableList(sources);
+		this.multiBlock = multiBlock;
+	}
+
+	public String[] getOptions() {
+		return options;
+	}
+
+	public List<String> getSources() {
+		return sources;
+	}
+
+	/**
+	 * True when the request holds a single source whose blocks are all rendered.
+	 */
+	public boolean isMultiBlock() {
+		return multiBlock;
+	}
+
+	public static RenderBatchRequest fromJson(String json) {
+		final JsonObject parsed = Json.parse(json).asObject();
+		final String[] options;
+
+		if (parsed.contains("options")) {
+			final JsonArray jsonArray = parsed.get("options").asArray();
+			options = new String[jsonArray.size()];
+			for (int i = 0; i < jsonArray.size(); i++) {
+				options[i] = jsonArray.get(i).asString();
+			}
+		} else {
+			options = new String[0];
+		}
+
+		if (parsed.contains("sources")) {
+			final List<String> sources = new ArrayList<>();
+			for (JsonValue value : parsed.get("sources").asArray())
+				sources.add(value.asString());
+			return new RenderBatchRequest(options, sources, false);
+		}
+
+		return new RenderBatchRequest(options, Collections.singletonList(parsed.get("source").asString()), true);
+	}
+}
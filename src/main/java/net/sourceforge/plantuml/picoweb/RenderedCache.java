@@ -0,0 +1,142 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml.picoweb;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import net.sourceforge.plantuml.FileFormat;
+import net.sourceforge.plantuml.dot.GraphvizRuntimeEnvironment;
+import net.sourceforge.plantuml.utils.SignatureUtils;
+import net.sourceforge.plantuml.version.Version;
+
+/**
+ * Rendered outputs of the <code>GET</code> endpoints of {@link PicoWebServer}.
+ * <p>
+ * The encoded source in the URL is a deterministic content key: together with
+ * the format, the PlantUML version and the Graphviz version, it gives both the
+ * cache key and a strong <code>ETag</code>. The cache is an LRU bounded by the
+ * total size of the stored images.
+ * <p>
+ * This only holds when the source is self-contained: diagrams that include
+ * files or URLs, or that call builtins depending on the clock, the environment
+ * or the file system, are neither cached nor given an <code>ETag</code>.
+ */
+class RenderedCache {
+	// ::remove folder when __CORE__
+
+	private static final long MAX_BYTES = 64L * 1024 * 1024;
+
+	private static final Pattern NOT_CACHEABLE = Pattern.compile(
+			"(?i)(^\\s*!include\\w*\\s+(?!<)|^\\s*!import|^\\s*!theme\\s+.*\\s+from\\s|<img:https?:|%getenv|%date|%now|%load_json|%file_exists|%filedate|%random)",
+			Pattern.MULTILINE);
+
+	private final Map<String, RenderedDiagram> cache = new LinkedHashMap<>(16, 0.75f, true);
+	private long totalBytes;
+
+	private final AtomicLong nbHits = new AtomicLong();
+	private final AtomicLong nbMisses = new AtomicLong();
+	private final AtomicLong nbNotModified = new AtomicLong();
+
+	static boolean isCacheable(String source) {
+		return NOT_CACHEABLE.matcher(source).find() == false;
+	}
+
+	static String getETag(FileFormat format, String encoded) {
+		return "\"" + SignatureUtils.getMD5Hex(Version.versionString() + "\n"
+				+ GraphvizRuntimeEnvironment.getInstance().dotIdentity() + "\n" + format.name() + "\n" + encoded) + "\"";
+	}
+
+	static boolean matches(String ifNoneMatch, String etag) {
+		if (ifNoneMatch == null)
+			return false;
+
+		for (String candidate : ifNoneMatch.split(",")) {
+			candidate = candidate.trim();
+			if (candidate.equals("*") || candidate.equals(etag))
+				return true;
+		}
+		return false;
+	}
+
+	RenderedDiagram get(String etag) {
+		synchronized (cache) {
+			final RenderedDiagram result = cache.get(etag);
+			if (result == null)
+				nbMisses.incrementAndGet();
+			else
+				nbHits.incrementAndGet();
+			return result;
+		}
+	}
+
+	void put(String etag, RenderedDiagram rendered) {
+		final int size = rendered.getData().length;
+		if (size > MAX_BYTES / 4)
+			return;
+
+		synchronized (cache) {
+			final RenderedDiagram old = cache.put(etag, rendered);
+			if (old != null)
+				totalBytes -= old.getData().length;
+			totalBytes += size;
+			for (Iterator<RenderedDiagram> it = cache.values().iterator(); totalBytes > MAX_BYTES && it.hasNext();) {
+				totalBytes -= it.next().getData().length;
+				it.remove();
+			}
+		}
+	}
+
+	void notModified() {
+		nbNotModified.incrementAndGet();
+	}
+
+	long getHits() {
+		return nbHits.get();
+	}
+
+	long getMisses() {
+		return nbMisses.get();
+	}
+
+	long getNotModified() {
+		return nbNotModified.get();
+	}
+
+}
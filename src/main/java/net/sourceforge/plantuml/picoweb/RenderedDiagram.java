@@ -0,0 +1,122 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml.picoweb;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import net.sourceforge.plantuml.ErrorUml;
+import net.sourceforge.plantuml.core.Diagram;
+import net.sourceforge.plantuml.core.ImageData;
+import net.sourceforge.plantuml.error.PSystemError;
+
+/**
+ * The bytes of an exported diagram together with the information sent in the
+ * <code>X-PlantUML-*</code> headers, so that a response can be sent again
+ * without keeping the {@link Diagram} itself.
+ */
+class RenderedDiagram {
+	// ::remove folder when __CORE__
+
+	private final String returnCode;
+	private final byte[] data;
+	private final int width;
+	private final int height;
+	private final String description;
+	private final List<String> errors;
+	private final List<Integer> errorLines;
+	private final String title;
+
+	RenderedDiagram(Diagram system, String returnCode, ImageData imageData, byte[] data)
+			throws UnsupportedEncodingException {
+		this.returnCode = returnCode;
+		this.data = data;
+		this.width = imageData.getWidth();
+		this.height = imageData.getHeight();
+		this.description = system.getDescription().getDescription();
+		if (system instanceof PSystemError) {
+			this.errors = new ArrayList<>();
+			this.errorLines = new ArrayList<>();
+			for (ErrorUml err : ((PSystemError) system).getErrorsUml()) {
+				errors.add(err.getError());
+				errorLines.add(1 + err.getLineLocation().getPosition());
+			}
+		} else {
+			this.errors = Collections.emptyList();
+			this.errorLines = Collections.emptyList();
+		}
+		if (system.getTitleDisplay() != null && system.getTitleDisplay().size() == 1)
+			this.title = URLEncoder.encode(system.getTitleDisplay().asList().get(0).toString(), "UTF-8");
+		else
+			this.title = null;
+	}
+
+	String getReturnCode() {
+		return returnCode;
+	}
+
+	byte[] getData() {
+		return data;
+	}
+
+	int getWidth() {
+		return width;
+	}
+
+	int getHeight() {
+		return height;
+	}
+
+	String getDescription() {
+		return description;
+	}
+
+	List<String> getErrors() {
+		return errors;
+	}
+
+	List<Integer> getErrorLines() {
+		return errorLines;
+	}
+
+	String getTitle() {
+		return title;
+	}
+
+}
@@ -0,0 +1,113 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml.picoweb;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.sourceforge.plantuml.json.Json;
+import net.sourceforge.plantuml.json.JsonObject;
+
+/**
+ * Request counters and latencies of {@link PicoWebServer}, reported on
+ * <code>/serverinfo</code>.
+ * <p>
+ * Percentiles are computed over the last {@link #WINDOW} requests.
+ */
+public class RequestMetrics {
+	// ::remove folder when __CORE__
+
+	private static final int WINDOW = 1024;
+
+	private final AtomicLong nbRequests = new AtomicLong();
+	private final AtomicLong nbRejected = new AtomicLong();
+	private final AtomicLong nbConnections = new AtomicLong();
+	private final AtomicLong totalNanos = new AtomicLong();
+
+	private final long[] window = new long[WINDOW];
+	private int windowCount;
+	private int windowNext;
+
+	public void connectionAccepted() {
+		nbConnections.incrementAndGet();
+	}
+
+	public void connectionRejected() {
+		nbRejected.incrementAndGet();
+	}
+
+	public void requestDone(long nanos) {
+		nbRequests.incrementAndGet();
+		totalNanos.addAndGet(nanos);
+		synchronized (window) {
+			window[windowNext] = nanos;
+			windowNext = (windowNext + 1) % WINDOW;
+			if (windowCount < WINDOW)
+				windowCount++;
+		}
+	}
+
+	public JsonObject toJson() {
+		final long[] sorted;
+		synchronized (window) {
+			sorted = Arrays.copyOf(window, windowCount);
+		}
+		Arrays.sort(sorted);
+		final long requests = nbRequests.get();
+		return Json.object() //
+				.add("connections", nbConnections.get()) //
+				.add("rejected", nbRejected.get()) //
+				.add("requests", requests) //
+				.add("meanMs", requests == 0 ? 0 : toMs(totalNanos.get() / requests)) //
+				.add("p50Ms", toMs(percentile(sorted, 50))) //
+				.add("p95Ms", toMs(percentile(sorted, 95))) //
+				.add("p99Ms", toMs(percentile(sorted, 99))) //
+				.add("maxMs", toMs(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+	}
+
+	private static long percentile(long[] sorted, int percent) {
+		if (sorted.length == 0)
+			return 0;
+
+		final int index = (int) Math.ceil(percent / 100.0 * sorted.length) - 1;
+		return sorted[Math.max(0, index)];
+	}
+
+	private static double toMs(long nanos) {
+		return nanos / 1000000.0;
+	}
+
+}
@@ -0,0 +1,172 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml.picoweb;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.sourceforge.plantuml.log.Logme;
+
+/**
+ * Runs the connections of {@link PicoWebServer}.
+ * <p>
+ * At most <code>nbWorkers</code> connections are served at once and at most
+ * <code>queueSize</code> more wait for a worker: beyond that,
+ * {@link #submit(Runnable)} refuses the connection so that the server can
+ * answer 503 instead of piling up threads. When the JVM provides virtual
+ * threads (Java 21+), they are used instead of a fixed set of platform
+ * threads, the same limit still applying.
+ */
+public class WorkerPool {
+	// ::remove folder when __CORE__
+
+	private final ExecutorService executor;
+	private final Semaphore permits;
+	private final Semaphore running;
+	private final boolean virtualThreads;
+	private final AtomicInteger waiting = new AtomicInteger();
+	private final AtomicInteger active = new AtomicInteger();
+
+	public WorkerPool(int nbWorkers, int queueSize) {
+		if (nbWorkers <= 0)
+			throw new IllegalArgumentException();
+
+		this.permits = new Semaphore(nbWorkers + Math.max(0, queueSize));
+		final ExecutorService virtual = newVirtualThreadExecutor();
+		this.virtualThreads = virtual != null;
+		if (virtual != null) {
+			this.executor = virtual;
+			this.running = new Semaphore(nbWorkers);
+		} else {
+			this.executor = Executors.newFixedThreadPool(nbWorkers, new DaemonThreadFactory("picoweb-worker-"));
+			this.running = null;
+		}
+	}
+
+	private static ExecutorService newVirtualThreadExecutor() {
+		try {
+			final Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) method.invoke(null);
+		} catch (NoSuchMethodException e) {
+			return null;
+		} catch (Exception e) {
+			Logme.error(e);
+			return null;
+		}
+	}
+
+	static class DaemonThreadFactory implements ThreadFactory {
+
+		private final AtomicInteger counter = new AtomicInteger();
+		private final String prefix;
+
+		DaemonThreadFactory(String prefix) {
+			this.prefix = prefix;
+		}
+
+		public Thread newThread(Runnable runnable) {
+			final Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+
+	/**
+	 * Returns false when the server is saturated.
+	 */
+	public boolean submit(final Runnable task) {
+		if (permits.tryAcquire() == false)
+			return false;
+
+		waiting.incrementAndGet();
+		try {
+			executor.execute(new Runnable() {
+				public void run() {
+					try {
+						if (running != null)
+							running.acquireUninterruptibly();
+						waiting.decrementAndGet();
+						active.incrementAndGet();
+						try {
+							task.run();
+						} finally {
+							active.decrementAndGet();
+							if (running != null)
+								running.release();
+						}
+					} finally {
+						permits.release();
+					}
+				}
+			});
+			return true;
+		} catch (RejectedExecutionException e) {
+			waiting.decrementAndGet();
+			permits.release();
+			return false;
+		}
+	}
+
+	/**
+	 * Tells whether connections are waiting for a worker, in which case kept-alive
+	 * connections should rather be closed.
+	 */
+	public boolean hasWaitingTasks() {
+		return waiting.get() > 0;
+	}
+
+	public int getActiveCount() {
+		return active.get();
+	}
+
+	public int getWaitingCount() {
+		return waiting.get();
+	}
+
+	public boolean isVirtualThreads() {
+		return virtualThreads;
+	}
+
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+}
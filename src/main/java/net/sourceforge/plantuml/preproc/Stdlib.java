@@ -8,13 +8,15 @@ import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.PrintWriter;
-import java.lang.ref.SoftReference;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -26,6 +28,9 @@ import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
 import javax.imageio.ImageIO;
 
@@ -36,6 +41,7 @@ import net.sourceforge.plantuml.log.Logme;
 import net.sourceforge.plantuml.security.SFile;
 import net.sourceforge.plantuml.utils.Base64Coder;
 import net.sourceforge.plantuml.utils.Log;
+import net.sourceforge.plantuml.utils.SegmentedCache;
 // ::uncomment when __CORE__
 //import java.io.FileInputStream;
 //import java.io.FileNotFoundException;
@@ -66,10 +72,13 @@ public class Stdlib {
 	private static final String SEPARATOR = "\uF8FF";
 	private static final Pattern sizePattern = Pattern.compile("\\[(\\d+)x(\\d+)/16\\]");
 
-	private final Map<String, SoftReference<String>> cache = new ConcurrentHashMap<String, SoftReference<String>>();
+	// Decoded files, shared by all libraries and all diagrams
+	private static final SegmentedCache<String, String> cache = new SegmentedCache<>(256, 16);
 
 	private final String name;
 	private final Map<String, String> info = new HashMap<String, String>();
+	private volatile Map<String, byte[]> entries;
+	private volatile List<Integer> colors;
 
 	private Stdlib(String name, String info) throws IOException {
 		this.name = name;
@@ -147,87 +156,95 @@ public class Stdlib {
 	}
 
 	/* private */ public String loadResource(String file) throws IOException {
-		final SoftReference<String> cached = cache.get(file.toLowerCase());
-		if (cached != null) {
-			final String cachedResult = cached.get();
-			if (cachedResult != null) {
-				// Log.info("Using cache for " + file);
-				return cachedResult;
-			}
+		final String key = name + "/" + file.toLowerCase();
+		final String cached = cache.get(key);
+		if (cached != null)
+			return cached;
+
+		final byte[] entry = getEntries().get(file.toLowerCase());
+		if (entry == null) {
+			Log.info(() -> "Not found " + file);
+			return null;
 		}
-		Log.info(() -> "No cache for " + file);
+		final String result = decodeEntry(entry);
+		cache.put(key, result);
+		return result;
+	}
+
+	private Map<String, byte[]> getEntries() throws IOException {
+		Map<String, byte[]> result = entries;
+		if (result == null)
+			synchronized (this) {
+				result = entries;
+				if (result == null) {
+					final long start = System.currentTimeMillis();
+					result = buildEntries();
+					entries = result;
+					final int size = result.size();
+					Log.info(() -> "Indexed " + size + " files of " + name + " in "
+							+ (System.currentTimeMillis() - start) + " ms");
+				}
+			}
+		return result;
+	}
+
+	/**
+	 * Reads the three Brotli streams of the library once, and splits them into
+	 * independently deflated entries (lines, sprites and images of one file), so
+	 * that any file can be decoded later without decompressing the whole library
+	 * again.
+	 */
+	private Map<String, byte[]> buildEntries() throws IOException {
+		final Map<String, byte[]> result = new HashMap<>();
 		final DataInputStream dataStream = getDataStream();
 		if (dataStream == null)
-			return null;
+			return result;
 
 		dataStream.readUTF();
 		final InputStream spriteStream = getSpriteStream();
 		if (spriteStream == null) {
 			dataStream.close();
-			return null;
+			return result;
 		}
 		InputStream dataImagePngBase64Stream = null;
-		final List<Integer> colors = new ArrayList<>();
 		try {
-			StringBuilder found = null;
 			while (true) {
 				final String filename = dataStream.readUTF();
-				if (filename.equals(SEPARATOR)) {
-					Log.info(() -> "Not found " + filename);
-					return null;
-				}
-				if (filename.equalsIgnoreCase(file))
-					found = new StringBuilder();
+				if (filename.equals(SEPARATOR))
+					return result;
 
+				final ByteArrayOutputStream lines = new ByteArrayOutputStream();
+				final DataOutputStream linesOutput = new DataOutputStream(lines);
+				final ByteArrayOutputStream sprites = new ByteArrayOutputStream();
+				final ByteArrayOutputStream images = new ByteArrayOutputStream();
 				while (true) {
-					String s = dataStream.readUTF();
-					if (s.equals(SEPARATOR)) {
-						if (found != null) {
-							final String result = found.toString();
-							cache.put(file.toLowerCase(), new SoftReference<>(result));
-							return result;
-						}
+					final String s = dataStream.readUTF();
+					linesOutput.writeUTF(s);
+					if (s.equals(SEPARATOR))
 						break;
-					}
 
 					if (s.contains(AtomImg.DATA_IMAGE_PNG_BASE64)) {
 						if (dataImagePngBase64Stream == null) {
 							dataImagePngBase64Stream = getDataImagePngBase64();
-							final int size = read2bytes(dataImagePngBase64Stream);
-							for (int i = 0; i < size; i++) {
-								final int alpha = read1byte(dataImagePngBase64Stream);
-								final int red = read1byte(dataImagePngBase64Stream);
-								final int green = read1byte(dataImagePngBase64Stream);
-								final int blue = read1byte(dataImagePngBase64Stream);
-								final int rgb = (alpha << 24) + (red << 16) + (green << 8) + blue;
-								colors.add(rgb);
-							}
+							colors = readColors(dataImagePngBase64Stream);
 						}
-						final String base64 = readOneImage(dataImagePngBase64Stream, colors);
-						s = s.replaceFirst(AtomImg.DATA_IMAGE_PNG_BASE64, AtomImg.DATA_IMAGE_PNG_BASE64 + base64);
-					}
-
-					if (found != null) {
-						found.append(s);
-						found.append("\n");
+						final int width = dataImagePngBase64Stream.read();
+						final int height = dataImagePngBase64Stream.read();
+						images.write(width);
+						images.write(height);
+						copy(dataImagePngBase64Stream, images, width * height * 2);
 					}
 					if (isSpriteLine(s)) {
 						final Matcher m = sizePattern.matcher(s);
-						final boolean ok = m.find();
-						if (ok == false)
+						if (m.find() == false)
 							throw new IOException(s);
 
 						final int width = Integer.parseInt(m.group(1));
 						final int height = Integer.parseInt(m.group(2));
-						if (found == null) {
-							skipSprite(width, height, spriteStream);
-						} else {
-							final String sprite = readSprite(width, height, spriteStream);
-							found.append(sprite);
-							found.append("}\n");
-						}
+						copy(spriteStream, sprites, (height + 1) / 2 * width);
 					}
 				}
+				result.put(filename.toLowerCase(), compress(lines, sprites, images));
 			}
 		} finally {
 			dataStream.close();
@@ -235,7 +252,82 @@ public class Stdlib {
 			if (dataImagePngBase64Stream != null)
 				dataImagePngBase64Stream.close();
 		}
+	}
+
+	private String decodeEntry(byte[] entry) throws IOException {
+		try (DataInputStream is = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(entry)))) {
+			final DataInputStream lines = new DataInputStream(new ByteArrayInputStream(readBlock(is)));
+			final InputStream sprites = new ByteArrayInputStream(readBlock(is));
+			final InputStream images = new ByteArrayInputStream(readBlock(is));
+			final StringBuilder result = new StringBuilder();
+			while (true) {
+				String s = lines.readUTF();
+				if (s.equals(SEPARATOR))
+					return result.toString();
+
+				if (s.contains(AtomImg.DATA_IMAGE_PNG_BASE64)) {
+					final String base64 = readOneImage(images, colors);
+					s = s.replaceFirst(AtomImg.DATA_IMAGE_PNG_BASE64, AtomImg.DATA_IMAGE_PNG_BASE64 + base64);
+				}
+				result.append(s);
+				result.append("\n");
+				if (isSpriteLine(s)) {
+					final Matcher m = sizePattern.matcher(s);
+					if (m.find() == false)
+						throw new IOException(s);
+
+					final int width = Integer.parseInt(m.group(1));
+					final int height = Integer.parseInt(m.group(2));
+					result.append(readSprite(width, height, sprites));
+					result.append("}\n");
+				}
+			}
+		}
+	}
+
+	private static List<Integer> readColors(InputStream is) throws IOException {
+		final List<Integer> result = new ArrayList<>();
+		final int size = read2bytes(is);
+		for (int i = 0; i < size; i++) {
+			final int alpha = read1byte(is);
+			final int red = read1byte(is);
+			final int green = read1byte(is);
+			final int blue = read1byte(is);
+			final int rgb = (alpha << 24) + (red << 16) + (green << 8) + blue;
+			result.add(rgb);
+		}
+		return Collections.unmodifiableList(result);
+	}
 
+	private static byte[] compress(ByteArrayOutputStream... blocks) throws IOException {
+		final ByteArrayOutputStream result = new ByteArrayOutputStream();
+		final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		try (DataOutputStream os = new DataOutputStream(new DeflaterOutputStream(result, deflater))) {
+			for (ByteArrayOutputStream block : blocks) {
+				os.writeInt(block.size());
+				block.writeTo(os);
+			}
+		} finally {
+			deflater.end();
+		}
+		return result.toByteArray();
+	}
+
+	private static byte[] readBlock(DataInputStream is) throws IOException {
+		final byte[] result = new byte[is.readInt()];
+		is.readFully(result);
+		return result;
+	}
+
+	private static void copy(InputStream is, OutputStream os, int length) throws IOException {
+		final byte[] buffer = new byte[Math.min(length, 8192)];
+		while (length > 0) {
+			final int read = is.read(buffer, 0, Math.min(length, buffer.length));
+			if (read == -1)
+				throw new EOFException();
+			os.write(buffer, 0, read);
+			length -= read;
+		}
 	}
 
 	private String readOneImage(InputStream is, List<Integer> colors) throws IOException {
@@ -257,11 +349,6 @@ public class Stdlib {
 
 	}
 
-	private void skipSprite(int width, int height, InputStream inputStream) throws IOException {
-		final int nbLines = (height + 1) / 2;
-		inputStream.skip(nbLines * width);
-	}
-
 	private static final char[] HEX = "0123456789ABCDEF".toCharArray();
 
 	private String readSprite(int width, int height, InputStream inputStream) throws IOException {
@@ -63,4 +63,9 @@ public class ConstantPlan implements LoadPlanable {
 	public Day getLastDayIfAny() {
 		return null;
 	}
+
+	@Override
+	public int getVersion() {
+		return 0;
+	}
 }
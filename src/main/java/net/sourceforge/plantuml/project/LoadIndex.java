@@ -0,0 +1,191 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml.project;
+
+import net.sourceforge.plantuml.project.time.Day;
+
+/**
+ * Index of the load of a {@link LoadPlanable} over a range of days.
+ * <p>
+ * Loads are stored day by day together with their prefix sums, so that the
+ * number of days needed to consume some load is found by binary search instead
+ * of calling {@link LoadPlanable#getLoadAt(Day)} one day at a time. The range
+ * grows on demand in both directions, and the index is cleared as soon as the
+ * version of the plan changes.
+ */
+public final class LoadIndex {
+
+	private static final int MIN_GROWTH = 64;
+
+	private final LoadPlanable plan;
+	private int version;
+
+	// loads[i] is the load of the day first + i
+	private int first;
+	private int size;
+	private int[] loads = new int[0];
+	// cumulated[i] is the sum of loads[0] to loads[i - 1]
+	private long[] cumulated = new long[1];
+
+	public LoadIndex(LoadPlanable plan) {
+		this.plan = plan;
+		this.version = plan.getVersion();
+	}
+
+	public int getLoadAt(Day day) {
+		checkVersion();
+		final int num = day.getAbsoluteDayNum();
+		ensure(num, num);
+		return loads[num - first];
+	}
+
+	/**
+	 * Returns the first day, from the given one, with some load, or null if there
+	 * is none within <code>maxDays</code>. The day itself is returned if it is not
+	 * closed.
+	 */
+	public Day nextDayWithLoad(Day day, int maxDays) {
+		if (getLoadAt(day) > 0)
+			return day;
+
+		final int num = day.getAbsoluteDayNum();
+		for (int i = 1; i < maxDays; i++) {
+			ensure(num, num + i);
+			if (loads[num + i - first] > 0)
+				return day.addDays(i);
+		}
+		return null;
+	}
+
+	/**
+	 * Returns how many days, starting at <code>firstDay</code> and going forward,
+	 * are needed to reach <code>fullLoad</code>, or -1 if <code>maxDays</code> are
+	 * not enough.
+	 */
+	public int countDaysForward(int firstDay, long fullLoad, int maxDays) {
+		checkVersion();
+		int window = Math.min(MIN_GROWTH, maxDays);
+		while (true) {
+			ensure(firstDay, firstDay + window - 1);
+			final long base = cumulated[firstDay - first];
+			if (cumulated[firstDay + window - first] - base >= fullLoad) {
+				int low = 1;
+				int high = window;
+				while (low < high) {
+					final int mid = (low + high) >>> 1;
+					if (cumulated[firstDay + mid - first] - base >= fullLoad)
+						high = mid;
+					else
+						low = mid + 1;
+				}
+				return low;
+			}
+			if (window == maxDays)
+				return -1;
+			window = Math.min(2 * window, maxDays);
+		}
+	}
+
+	/**
+	 * Returns how many days, ending at <code>lastDay</code> and going backward, are
+	 * needed to reach <code>fullLoad</code>, or -1 if <code>maxDays</code> are not
+	 * enough.
+	 */
+	public int countDaysBackward(int lastDay, long fullLoad, int maxDays) {
+		checkVersion();
+		int window = Math.min(MIN_GROWTH, maxDays);
+		while (true) {
+			ensure(lastDay - window + 1, lastDay);
+			final long top = cumulated[lastDay + 1 - first];
+			if (top - cumulated[lastDay - window + 1 - first] >= fullLoad) {
+				int low = 1;
+				int high = window;
+				while (low < high) {
+					final int mid = (low + high) >>> 1;
+					if (top - cumulated[lastDay - mid + 1 - first] >= fullLoad)
+						high = mid;
+					else
+						low = mid + 1;
+				}
+				return low;
+			}
+			if (window == maxDays)
+				return -1;
+			window = Math.min(2 * window, maxDays);
+		}
+	}
+
+	private void checkVersion() {
+		final int current = plan.getVersion();
+		if (current != version) {
+			version = current;
+			size = 0;
+		}
+	}
+
+	private void ensure(int from, int to) {
+		final int last = first + size - 1;
+		if (size > 0 && from >= first && to <= last)
+			return;
+
+		int newFirst = from;
+		int newLast = to;
+		if (size > 0) {
+			// Grows geometrically, so that extending the range day after day stays cheap
+			final int growth = Math.max(MIN_GROWTH, size);
+			newFirst = from < first ? Math.min(from, first - growth) : first;
+			newLast = to > last ? Math.max(to, last + growth) : last;
+		}
+		final int newSize = newLast - newFirst + 1;
+		final int[] newLoads = new int[newSize];
+		for (int i = 0; i < newSize; i++) {
+			final int num = newFirst + i;
+			if (size > 0 && num >= first && num <= last)
+				newLoads[i] = loads[num - first];
+			else
+				newLoads[i] = plan.getLoadAt(Day.create(num * Day.MILLISECONDS_PER_DAY));
+		}
+		final long[] newCumulated = new long[newSize + 1];
+		for (int i = 0; i < newSize; i++)
+			newCumulated[i + 1] = newCumulated[i] + newLoads[i];
+
+		this.first = newFirst;
+		this.size = newSize;
+		this.loads = newLoads;
+		this.cumulated = newCumulated;
+	}
+
+}
@@ -42,4 +42,9 @@ public interface LoadPlanable {
 	public int getLoadAt(Day instant);
 
 	public Day getLastDayIfAny();
+
+	/**
+	 * Changes each time the loads returned by this plan may change.
+	 */
+	public int getVersion();
 }
@@ -51,6 +51,7 @@ public class OpenClose implements Histogram, LoadPlanable {
 	private Day startingDay;
 	private Day offBefore;
 	private Day offAfter;
+	private int version;
 
 	public int daysInWeek() {
 		int result = 7;
@@ -109,18 +110,22 @@ public class OpenClose implements Histogram, LoadPlanable {
 	}
 
 	public void close(DayOfWeek day) {
+		version++;
 		weekdayStatus.put(day, DayStatus.CLOSE);
 	}
 
 	public void open(DayOfWeek day) {
+		version++;
 		weekdayStatus.put(day, DayStatus.OPEN);
 	}
 
 	public void close(Day day) {
+		version++;
 		dayStatus.put(day, DayStatus.CLOSE);
 	}
 
 	public void open(Day day) {
+		version++;
 		dayStatus.put(day, DayStatus.OPEN);
 	}
 
@@ -129,6 +134,7 @@ public class OpenClose implements Histogram, LoadPlanable {
 	}
 
 	public final void setStartingDay(Day startingDay) {
+		version++;
 		this.startingDay = startingDay;
 	}
 
@@ -182,10 +188,12 @@ public class OpenClose implements Histogram, LoadPlanable {
 	}
 
 	public void setOffBeforeDate(Day day) {
+		version++;
 		this.offBefore = day;
 	}
 
 	public void setOffAfterDate(Day day) {
+		version++;
 		this.offAfter = day;
 	}
 
@@ -213,6 +221,11 @@ public class OpenClose implements Histogram, LoadPlanable {
 				public Day getLastDayIfAny() {
 					return offAfter;
 				}
+
+				@Override
+				public int getVersion() {
+					return version + except.version;
+				}
 			};
 		return this;
 	}
@@ -222,4 +235,9 @@ public class OpenClose implements Histogram, LoadPlanable {
 		return offAfter;
 	}
 
+	@Override
+	public int getVersion() {
+		return version;
+	}
+
 }
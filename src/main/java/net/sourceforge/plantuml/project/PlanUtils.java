@@ -52,6 +52,10 @@ public class PlanUtils {
 			public Day getLastDayIfAny() {
 				return lastOf(p1.getLastDayIfAny(), p2.getLastDayIfAny());
 			}
+
+			public int getVersion() {
+				return p1.getVersion() + p2.getVersion();
+			}
 		};
 	}
 
@@ -64,6 +68,10 @@ public class PlanUtils {
 			public Day getLastDayIfAny() {
 				return lastOf(p1.getLastDayIfAny(), p2.getLastDayIfAny());
 			}
+
+			public int getVersion() {
+				return p1.getVersion() + p2.getVersion();
+			}
 		};
 	}
 
@@ -107,4 +107,8 @@ public class Resource {
 		return openClose.getLastDayIfAny();
 	}
 
+	public int getVersion() {
+		return openClose.getVersion();
+	}
+
 }
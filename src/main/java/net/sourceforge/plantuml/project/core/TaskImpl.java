@@ -47,9 +47,11 @@ import java.util.TreeSet;
 
 import net.sourceforge.plantuml.klimt.creole.Display;
 import net.sourceforge.plantuml.project.Load;
+import net.sourceforge.plantuml.project.LoadIndex;
 import net.sourceforge.plantuml.project.LoadPlanable;
 import net.sourceforge.plantuml.project.PlanUtils;
 import net.sourceforge.plantuml.project.lang.CenterBorderColor;
+import net.sourceforge.plantuml.project.solver.ImpossibleSolvingException;
 import net.sourceforge.plantuml.project.solver.Solver;
 import net.sourceforge.plantuml.project.solver.SolverImpl;
 import net.sourceforge.plantuml.project.time.Day;
@@ -63,6 +65,8 @@ public class TaskImpl extends AbstractTask implements Task, LoadPlanable {
 	private final SortedSet<Day> pausedDay = new TreeSet<>();
 	private final Set<DayOfWeek> pausedDayOfWeek = new HashSet<>();
 	private final Solver solver;
+	private final LoadIndex loadIndex;
+	private int version;
 	private final Map<Resource, Integer> resources = new LinkedHashMap<Resource, Integer>();
 	private final LoadPlanable defaultPlan;
 	private boolean diamond;
@@ -82,7 +86,8 @@ public class TaskImpl extends AbstractTask implements Task, LoadPlanable {
 		super(styleBuilder, code);
 		this.completion = completion;
 		this.defaultPlan = plan;
-		this.solver = new SolverImpl(this);
+		this.loadIndex = new LoadIndex(this);
+		this.solver = new SolverImpl(this, loadIndex);
 		if (startingDay == null)
 			setStart(Day.create(0));
 		else
@@ -137,11 +142,13 @@ public class TaskImpl extends AbstractTask implements Task, LoadPlanable {
 
 	@Override
 	public void addPause(Day pause) {
+		this.version++;
 		this.pausedDay.add(pause);
 	}
 
 	@Override
 	public void addPause(DayOfWeek pause) {
+		this.version++;
 		this.pausedDayOfWeek.add(pause);
 	}
 
@@ -167,6 +174,11 @@ public class TaskImpl extends AbstractTask implements Task, LoadPlanable {
 			public Day getLastDayIfAny() {
 				return TaskImpl.this.getLastDayIfAny();
 			}
+
+			@Override
+			public int getVersion() {
+				return TaskImpl.this.getVersion();
+			}
 		};
 	}
 
@@ -185,6 +197,15 @@ public class TaskImpl extends AbstractTask implements Task, LoadPlanable {
 		return result;
 	}
 
+	@Override
+	public int getVersion() {
+		int result = version + defaultPlan.getVersion();
+		for (Resource res : resources.keySet())
+			result += res.getVersion();
+
+		return result;
+	}
+
 	public String getPrettyDisplay() {
 		if (resources.size() > 0) {
 			final StringBuilder result = new StringBuilder(getCode().getDisplay());
@@ -218,11 +239,13 @@ public class TaskImpl extends AbstractTask implements Task, LoadPlanable {
 
 	@Override
 	public Day getStart() {
-		Day result = (Day) solver.getData(TaskAttribute.START);
-		if (diamond == false)
-			while (getLoadAt(result) == 0)
-				result = result.increment();
-
+		final Day result = (Day) solver.getData(TaskAttribute.START);
+		if (diamond == false) {
+			final Day open = loadIndex.nextDayWithLoad(result, 100000);
+			if (open == null)
+				throw new ImpossibleSolvingException("There is an issue in planning your tasks!");
+			return open;
+		}
 		return result;
 	}
 
@@ -258,6 +281,7 @@ public class TaskImpl extends AbstractTask implements Task, LoadPlanable {
 
 	@Override
 	public void addResource(Resource resource, int percentage) {
+		this.version++;
 		this.resources.put(resource, percentage);
 	}
 
@@ -36,6 +36,7 @@
 package net.sourceforge.plantuml.project.solver;
 
 import net.sourceforge.plantuml.project.Load;
+import net.sourceforge.plantuml.project.LoadIndex;
 import net.sourceforge.plantuml.project.LoadPlanable;
 import net.sourceforge.plantuml.project.core.TaskAttribute;
 import net.sourceforge.plantuml.project.time.Day;
@@ -43,50 +44,83 @@ import net.sourceforge.plantuml.project.time.Day;
 public class SolverImpl extends AbstractSolver implements Solver {
 	// ::remove folder when __HAXE__
 
+	private static final int MAX_DAYS = 100000;
+
 	private final LoadPlanable loadPlanable;
+	private final LoadIndex loadIndex;
+
+	// The last end computed, as long as start, load and plan do not change
+	private Day lastStart;
+	private Load lastLoad;
+	private int lastVersion;
+	private Day lastEnd;
 
 	public SolverImpl(LoadPlanable loadPlanable) {
+		this(loadPlanable, new LoadIndex(loadPlanable));
+	}
+
+	public SolverImpl(LoadPlanable loadPlanable, LoadIndex loadIndex) {
 		this.loadPlanable = loadPlanable;
+		this.loadIndex = loadIndex;
 	}
 
 	@Override
 	protected Day computeEnd() {
-		Day current = (Day) values.get(TaskAttribute.START);
-		int fullLoad = ((Load) values.get(TaskAttribute.LOAD)).getFullLoad();
-		int cpt = 0;
+		final Day start = (Day) values.get(TaskAttribute.START);
+		final Load load = (Load) values.get(TaskAttribute.LOAD);
+		final int version = loadPlanable.getVersion();
+		if (start == lastStart && load == lastLoad && version == lastVersion)
+			return lastEnd;
+
+		final Day result = computeEnd(start, load.getFullLoad());
+		lastStart = start;
+		lastLoad = load;
+		lastVersion = version;
+		lastEnd = result;
+		return result;
+	}
+
+	private Day computeEnd(Day start, int fullLoad) {
+		if (fullLoad <= 0)
+			return start.decrement();
+
+		final int first = start.getAbsoluteDayNum();
 		final Day lastDayIfAny = loadPlanable.getLastDayIfAny();
-		while (fullLoad > 0) {
-			fullLoad -= loadPlanable.getLoadAt(current);
-			current = current.increment();
-			if (lastDayIfAny != null && current.compareTo(lastDayIfAny) > 0)
-				throw new ImpossibleSolvingException(
-						"Because all resources will be off at some point, we cannot compute any end date for "
-								+ loadPlanable);
-			cpt++;
-			if (cpt > 100000)
-				throw new ImpossibleSolvingException("There is an issue in planning your tasks!");
-
-		}
-		return current.decrement();
+		// The days after lastDayIfAny are never looked at
+		int maxDays = MAX_DAYS + 1;
+		if (lastDayIfAny != null)
+			maxDays = Math.max(1, Math.min(maxDays, lastDayIfAny.getAbsoluteDayNum() - first + 1));
+
+		final int days = loadIndex.countDaysForward(first, fullLoad, maxDays);
+		if (lastDayIfAny != null && first + (days == -1 ? maxDays : days) > lastDayIfAny.getAbsoluteDayNum())
+			throw new ImpossibleSolvingException(
+					"Because all resources will be off at some point, we cannot compute any end date for "
+							+ loadPlanable);
+
+		if (days == -1 || days > MAX_DAYS)
+			throw new ImpossibleSolvingException("There is an issue in planning your tasks!");
+
+		return start.addDays(days - 1);
 	}
 
 	@Override
 	protected Day computeStart() {
-		Day current = (Day) values.get(TaskAttribute.END);
-		int fullLoad = ((Load) values.get(TaskAttribute.LOAD)).getFullLoad();
-		int cpt = 0;
-		while (fullLoad > 0) {
-			fullLoad -= loadPlanable.getLoadAt(current);
-			current = current.decrement();
-			if (current.getMillis() <= 0)
-				return current;
-
-			cpt++;
-			if (cpt > 100000)
-				throw new ImpossibleSolvingException("There is an issue in planning your tasks!");
-
-		}
-		return current.increment();
+		final Day end = (Day) values.get(TaskAttribute.END);
+		final int fullLoad = ((Load) values.get(TaskAttribute.LOAD)).getFullLoad();
+		if (fullLoad <= 0)
+			return end.increment();
+
+		final int last = end.getAbsoluteDayNum();
+		// We never go before the first day of 1970
+		final int daysToZero = Math.max(1, last);
+		final int days = loadIndex.countDaysBackward(last, fullLoad, Math.min(MAX_DAYS + 1, daysToZero));
+		if (days != -1 && days < daysToZero && days <= MAX_DAYS)
+			return end.addDays(1 - days);
+
+		if (daysToZero <= MAX_DAYS + 1)
+			return end.addDays(-daysToZero);
+
+		throw new ImpossibleSolvingException("There is an issue in planning your tasks!");
 	}
 
 }
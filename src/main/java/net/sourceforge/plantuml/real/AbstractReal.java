@@ -35,6 +35,8 @@
  */
 package net.sourceforge.plantuml.real;
 
+import java.util.Collection;
+
 abstract class AbstractReal implements Real {
 
 	private final RealLine line;
@@ -50,6 +52,11 @@ abstract class AbstractReal implements Real {
 
 	abstract double getCurrentValueInternal();
 
+	/**
+	 * Adds the values directly read to compute this one.
+	 */
+	abstract void addOperands(Collection<Real> result);
+
 	final public double getCurrentValue() {
 		final double result = getCurrentValueInternal();
 		line.register(result);
@@ -35,17 +35,37 @@
  */
 package net.sourceforge.plantuml.real;
 
+import java.util.Collection;
+
 class RealDelta extends RealMoveable {
 
 	private final Real delegated;
 	private final double diff;
 
 	RealDelta(Real delegated, double diff) {
+		this(base(delegated), offset(delegated) + diff, true);
+	}
+
+	// A delta of a delta is flattened, so that long chains of addFixed() do not
+	// lead to deep recursions when computing values
+	private RealDelta(Real delegated, double diff, boolean flattened) {
 		super(((AbstractReal) delegated).getLine(), "[Delegated {" + delegated.getName() + "} d=" + diff + "]");
 		this.delegated = delegated;
 		this.diff = diff;
 	}
 
+	private static Real base(Real real) {
+		if (real instanceof RealDelta)
+			return ((RealDelta) real).delegated;
+		return real;
+	}
+
+	private static double offset(Real real) {
+		if (real instanceof RealDelta)
+			return ((RealDelta) real).diff;
+		return 0;
+	}
+
 	@Override
 	double getCurrentValueInternal() {
 		return delegated.getCurrentValue() + diff;
@@ -63,4 +83,15 @@ class RealDelta extends RealMoveable {
 		((RealMoveable) delegated).move(delta);
 	}
 
+	@Override
+	void addOperands(Collection<Real> result) {
+		result.add(delegated);
+	}
+
+	@Override
+	void addMovedPoints(Collection<RealImpl> result) {
+		if (delegated instanceof RealMoveable)
+			((RealMoveable) delegated).addMovedPoints(result);
+	}
+
 }
@@ -35,6 +35,8 @@
  */
 package net.sourceforge.plantuml.real;
 
+import java.util.Collection;
+
 class RealImpl extends RealMoveable implements RealOrigin {
 
 	private double currentValue;
@@ -53,6 +55,15 @@ class RealImpl extends RealMoveable implements RealOrigin {
 		return currentValue;
 	}
 
+	@Override
+	void addOperands(Collection<Real> result) {
+	}
+
+	@Override
+	void addMovedPoints(Collection<RealImpl> result) {
+		result.add(this);
+	}
+
 	public Real addAtLeast(double delta) {
 		final RealImpl result = new RealImpl(getName() + ".addAtLeast" + delta, getLine(), this.currentValue + delta);
 		getLine().addForce(new PositiveForce(this, result, delta));
@@ -35,9 +35,14 @@
  */
 package net.sourceforge.plantuml.real;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -49,6 +54,7 @@ class RealLine {
 	private double min;
 	private double max;
 	private Set<AbstractReal> all = new HashSet<>();
+	private boolean sorted = true;
 
 	void register(double v) {
 		// System.err.println("RealLine::register " + v);
@@ -70,11 +76,16 @@ class RealLine {
 
 	public void addForce(PositiveForce force) {
 		this.forces.add(force);
+		this.sorted = false;
 	}
 
 	static private int CPT;
 
 	public void compile() {
+		if (sorted == false) {
+			sortForces();
+			sorted = true;
+		}
 		int cpt = 0;
 		final Map<PositiveForce, Integer> counter = new HashMap<PositiveForce, Integer>();
 		do {
@@ -116,6 +127,87 @@ class RealLine {
 
 	}
 
+	// Forces are ordered so that a point is pushed only once all the values it
+	// depends on have their final position. For an acyclic set of constraints,
+	// the first pass of compile() then computes the longest paths, and the second
+	// one only checks that nothing moves anymore. Points involved in a cycle are
+	// pushed last and are solved by the usual relaxation.
+	private void sortForces() {
+		final Map<Real, List<Real>> successors = new LinkedHashMap<>();
+		final Map<Real, Integer> inDegree = new HashMap<>();
+		final Map<PositiveForce, List<RealImpl>> movedPoints = new HashMap<>();
+		final Deque<Real> toVisit = new ArrayDeque<>();
+		for (PositiveForce f : forces) {
+			final List<RealImpl> moved = new ArrayList<>();
+			f.getMovingPoint().addMovedPoints(moved);
+			movedPoints.put(f, moved);
+			for (RealImpl point : moved)
+				addEdge(successors, inDegree, f.getFixedPoint(), point);
+			toVisit.add(f.getFixedPoint());
+		}
+
+		// Only the values read by the forces matter
+		final Set<Real> visited = new HashSet<>();
+		final List<Real> operands = new ArrayList<>();
+		while (toVisit.size() > 0) {
+			final Real real = toVisit.poll();
+			if (visited.add(real) == false || real instanceof AbstractReal == false)
+				continue;
+			operands.clear();
+			((AbstractReal) real).addOperands(operands);
+			for (Real operand : operands) {
+				addEdge(successors, inDegree, operand, real);
+				toVisit.add(operand);
+			}
+		}
+
+		// Kahn's algorithm
+		final Map<Real, Integer> rank = new HashMap<>();
+		final Deque<Real> ready = new ArrayDeque<>();
+		for (Real real : successors.keySet())
+			if (inDegree.containsKey(real) == false)
+				ready.add(real);
+
+		while (ready.size() > 0) {
+			final Real current = ready.poll();
+			rank.put(current, rank.size());
+			final List<Real> next = successors.get(current);
+			if (next != null)
+				for (Real real : next) {
+					final int degree = inDegree.get(real) - 1;
+					inDegree.put(real, degree);
+					if (degree == 0)
+						ready.add(real);
+				}
+		}
+
+		final Map<PositiveForce, Integer> order = new HashMap<>();
+		for (PositiveForce f : forces) {
+			int max = -1;
+			for (RealImpl point : movedPoints.get(f)) {
+				final Integer r = rank.get(point);
+				max = Math.max(max, r == null ? Integer.MAX_VALUE : r);
+			}
+			order.put(f, max);
+		}
+		Collections.sort(forces, new Comparator<PositiveForce>() {
+			public int compare(PositiveForce f1, PositiveForce f2) {
+				return Integer.compare(order.get(f1), order.get(f2));
+			}
+		});
+	}
+
+	private static void addEdge(Map<Real, List<Real>> successors, Map<Real, Integer> inDegree, Real from, Real to) {
+		List<Real> list = successors.get(from);
+		if (list == null) {
+			list = new ArrayList<>();
+			successors.put(from, list);
+		}
+		list.add(to);
+		final Integer degree = inDegree.get(to);
+		inDegree.put(to, degree == null ? 1 : degree + 1);
+	}
+
 	private void printCounter(Map<PositiveForce, Integer> counter) {
 		for (PositiveForce f : forces)
 			System.err.println("force=" + f);
@@ -35,6 +35,8 @@
  */
 package net.sourceforge.plantuml.real;
 
+import java.util.Collection;
+
 class RealMiddle2 extends RealMoveable {
 
 	private final RealMoveable p1;
@@ -70,4 +72,16 @@ class RealMiddle2 extends RealMoveable {
 		p2.move(delta / 2);
 	}
 
+	@Override
+	void addOperands(Collection<Real> result) {
+		result.add(p1);
+		result.add(p2);
+	}
+
+	@Override
+	void addMovedPoints(Collection<RealImpl> result) {
+		p1.addMovedPoints(result);
+		p2.addMovedPoints(result);
+	}
+
 }
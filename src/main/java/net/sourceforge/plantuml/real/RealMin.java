@@ -70,6 +70,11 @@ class RealMin extends AbstractReal implements Real {
 		return result;
 	}
 
+	@Override
+	void addOperands(Collection<Real> result) {
+		result.addAll(all);
+	}
+
 	public Real addFixed(double delta) {
 		return new RealDelta(this, delta);
 	}
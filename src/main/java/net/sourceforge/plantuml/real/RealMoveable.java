@@ -35,6 +35,7 @@
  */
 package net.sourceforge.plantuml.real;
 
+import java.util.Collection;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import net.sourceforge.plantuml.log.Logme;
@@ -55,6 +56,11 @@ abstract class RealMoveable extends AbstractReal implements Real {
 
 	abstract void move(double delta);
 
+	/**
+	 * Adds the points actually changed by {@link #move(double)}.
+	 */
+	abstract void addMovedPoints(Collection<RealImpl> result);
+
 	final public void printCreationStackTrace() {
 		Logme.error(creationPoint);
 	}
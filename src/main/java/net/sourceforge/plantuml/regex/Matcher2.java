@@ -152,6 +152,25 @@ public class Matcher2 {
 		}
 	}
 
+	/**
+	 * Limits the matching to the characters from <code>start</code> to
+	 * <code>end</code>, so that <code>^</code> and <code>$</code> match at these
+	 * bounds.
+	 */
+	public Matcher2 region(int start, int end) {
+		matcher.region(start, end);
+		return this;
+	}
+
+	public int end(int group) {
+		final long now = System.currentTimeMillis();
+		try {
+			return matcher.end(group);
+		} finally {
+			addTime(System.currentTimeMillis() - now);
+		}
+	}
+
 	public int end() {
 		final long now = System.currentTimeMillis();
 		try {
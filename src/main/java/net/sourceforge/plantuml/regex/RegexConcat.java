@@ -90,6 +90,10 @@ public final class RegexConcat extends RegexComposed implements IRegex {
 		return result;
 	}
 
+	public long getFoxSignature() {
+		return foxRegex();
+	}
+
 	public static RegexConcat build(String key, IRegex... partials) {
 		return buildInternal(partials);
 //		RegexConcat result = cache.get(key);
@@ -124,9 +128,27 @@ public final class RegexConcat extends RegexComposed implements IRegex {
 
 	@Override
 	public boolean match(StringLocated s) {
-		if (limitSize != 0 && s.getString().length() > limitSize)
+		if (quickReject(s))
 			return false;
 
+		return super.match(s);
+	}
+
+	/**
+	 * Same as {@link #match(StringLocated)}, but returns the captured groups, so
+	 * that the line does not have to be matched a second time.
+	 */
+	public RegexResult matcher(StringLocated s) {
+		if (quickReject(s))
+			return null;
+
+		return matcher(s.getString());
+	}
+
+	private boolean quickReject(StringLocated s) {
+		if (limitSize != 0 && s.getString().length() > limitSize)
+			return true;
+
 		// vtot.incrementAndGet();
 		final long foxRegex = foxRegex();
 //		synchronized (PRINTED) {
@@ -146,11 +168,11 @@ public final class RegexConcat extends RegexComposed implements IRegex {
 			// + check + " <" + FoxSignature.backToString(check) + ">");
 			if (check != foxRegex) {
 				// vescaped.incrementAndGet();
-				return false;
+				return true;
 			}
 
 		}
-		return super.match(s);
+		return false;
 	}
 
 	@Override
@@ -35,6 +35,7 @@
  */
 package net.sourceforge.plantuml.salt;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -147,10 +148,18 @@ public class SaltDictionary implements SpriteContainer, ISkinSimple {
 		throw new UnsupportedOperationException();
 	}
 
+	private final Map<Object, CreoleParser> cache = new HashMap<>();
+
 	@Override
 	public SheetBuilder sheet(FontConfiguration fontConfiguration, HorizontalAlignment horizontalAlignment,
 			CreoleMode creoleMode, FontConfiguration stereo) {
-		return new CreoleParser(fontConfiguration, horizontalAlignment, this, creoleMode, stereo);
+		final Object key = Arrays.asList(horizontalAlignment, creoleMode, fontConfiguration, stereo);
+		CreoleParser result = cache.get(key);
+		if (result == null) {
+			result = new CreoleParser(fontConfiguration, horizontalAlignment, this, creoleMode, stereo);
+			cache.put(key, result);
+		}
+		return result;
 	}
 
 	@Override
@@ -52,6 +52,7 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -199,6 +200,9 @@ public class SURL {
 //			System.err.println("SURL::getBytes " + e);
 //		}
 //	return null;
+//}
+//public byte[] getCachedBytes() {
+//	return getBytes();
 //}
 	// ::done
 
@@ -343,6 +347,92 @@ public class SURL {
 	 * @return data loaded data from endpoint
 	 */
 	public byte[] getBytes() {
+		return request(new RequestFactory<byte[]>() {
+			public Callable<byte[]> create(Proxy proxy, SecurityAuthentication authentication) {
+				return requestWithGetAndResponse(internal, proxy, authentication, null);
+			}
+		});
+	}
+
+	/**
+	 * Reads from an endpoint like {@link #getBytes()}, going through the shared
+	 * {@link SURLCache}.
+	 *
+	 * @return data loaded from the cache or from the endpoint
+	 */
+	public byte[] getCachedBytes() {
+		return SURLCache.getInstance().getBytes(this);
+	}
+
+	/**
+	 * Reads from an endpoint like {@link #getBytes()}, sending the given
+	 * validators so that the server can answer <code>304 Not Modified</code>.
+	 *
+	 * @param etag         ETag of the cached copy, or null
+	 * @param lastModified Last-Modified date of the cached copy, or null
+	 * @return the response, or null if the endpoint cannot be read
+	 */
+	Response getConditionally(String etag, String lastModified) {
+		final Map<String, Object> headers = new HashMap<String, Object>();
+		if (etag != null)
+			headers.put("If-None-Match", etag);
+		if (lastModified != null)
+			headers.put("If-Modified-Since", lastModified);
+
+		return request(new RequestFactory<Response>() {
+			public Callable<Response> create(Proxy proxy, SecurityAuthentication authentication) {
+				return requestWithConditionalGet(internal, proxy, authentication, headers);
+			}
+		});
+	}
+
+	/**
+	 * Key identifying this URL with its credentials, used by {@link SURLCache}.
+	 */
+	String getCacheKey() {
+		return securityIdentifier + "\n" + internal.toString();
+	}
+
+	interface RequestFactory<T> {
+		Callable<T> create(Proxy proxy, SecurityAuthentication authentication);
+	}
+
+	/**
+	 * Response of a conditional GET.
+	 */
+	static final class Response {
+
+		private final byte[] data;
+		private final String etag;
+		private final String lastModified;
+
+		Response(byte[] data, String etag, String lastModified) {
+			this.data = data;
+			this.etag = etag;
+			this.lastModified = lastModified;
+		}
+
+		/**
+		 * @return true if the server answered 304, so the cached copy is still valid
+		 */
+		boolean isNotModified() {
+			return data == null;
+		}
+
+		byte[] getData() {
+			return data;
+		}
+
+		String getEtag() {
+			return etag;
+		}
+
+		String getLastModified() {
+			return lastModified;
+		}
+	}
+
+	private <T> T request(RequestFactory<T> factory) {
 		if (isUrlOk() == false)
 			return null;
 
@@ -359,9 +449,8 @@ public class SURL {
 			}
 
 			try {
-				final Future<byte[]> result = EXE
-						.submit(requestWithGetAndResponse(internal, credentials.getProxy(), authentication, null));
-				final byte[] data = result.get(SecurityUtils.getSecurityProfile().getTimeout(), TimeUnit.MILLISECONDS);
+				final Future<T> result = EXE.submit(factory.create(credentials.getProxy(), authentication));
+				final T data = result.get(SecurityUtils.getSecurityProfile().getTimeout(), TimeUnit.MILLISECONDS);
 				if (data != null)
 					return data;
 
@@ -512,6 +601,36 @@ public class SURL {
 		};
 	}
 
+	/**
+	 * Creates a conditional GET request and response handler
+	 *
+	 * @param url            URL to request
+	 * @param proxy          proxy to apply
+	 * @param authentication the authentication to use
+	 * @param headers        validators and additional headers
+	 * @return the callable handler.
+	 */
+	private static Callable<Response> requestWithConditionalGet(final URL url, final Proxy proxy,
+			final SecurityAuthentication authentication, final Map<String, Object> headers) {
+		return new Callable<Response>() {
+			public Response call() throws IOException {
+				final URLConnection connection = proxy == null ? url.openConnection() : url.openConnection(proxy);
+				if (connection == null)
+					return null;
+				configure(connection);
+
+				final HttpURLConnection http = (HttpURLConnection) connection;
+				http.setUseCaches(false);
+				applyEndpointAccessAuthentication(http, authentication);
+				applyAdditionalHeaders(http, headers);
+
+				final byte[] data = http.getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED ? null
+						: retrieveResponseAsBytes(http);
+				return new Response(data, http.getHeaderField("ETag"), http.getHeaderField("Last-Modified"));
+			}
+		};
+	}
+
 	/**
 	 * Creates a POST request and response handler with a simple String content. The
 	 * content will be identified as form or JSON data. The charset encoding can be
@@ -628,7 +747,7 @@ public class SURL {
 
 	public InputStream openStream() {
 		if (isUrlOk()) {
-			final byte[] data = getBytes();
+			final byte[] data = getCachedBytes();
 			if (data != null)
 				return new ByteArrayInputStream(data);
 
@@ -0,0 +1,301 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml.security;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.sourceforge.plantuml.StringUtils;
+import net.sourceforge.plantuml.utils.Log;
+import net.sourceforge.plantuml.utils.SignatureUtils;
+
+/**
+ * Shared cache of the URLs read by <code>!include</code>, <code>!theme</code>
+ * or <code>%load_json</code>.
+ * <p>
+ * An entry younger than {@link SecurityUtils#INCLUDE_CACHE_TTL} seconds is
+ * returned as it is. Older entries are revalidated with a conditional GET
+ * (<code>If-None-Match</code> / <code>If-Modified-Since</code>), and are still
+ * served if the server cannot be reached. Public URLs are also stored in the
+ * folder given by {@link SecurityUtils#INCLUDE_CACHE_PATH}, so that they
+ * survive between runs. That folder is accessed as an {@link SFile}, and is
+ * therefore subject to the security profile. With {@link SecurityUtils#INCLUDE_OFFLINE}, the network
+ * is never used.
+ */
+public class SURLCache {
+	// ::remove file when __CORE__
+
+	private static final long DEFAULT_TTL_SECONDS = 60;
+	private static final long MAX_MEMORY_BYTES = 16L * 1024 * 1024;
+
+	private final static SURLCache singleton = new SURLCache();
+
+	private final Map<String, Entry> memory = new LinkedHashMap<>(16, 0.75f, true);
+	private long memoryBytes;
+
+	private final AtomicLong nbHits = new AtomicLong();
+	private final AtomicLong nbRevalidated = new AtomicLong();
+	private final AtomicLong nbDownloads = new AtomicLong();
+	private final AtomicLong nbStale = new AtomicLong();
+
+	private static final class Entry {
+
+		private final byte[] data;
+		private final String etag;
+		private final String lastModified;
+		private final long fetched;
+
+		Entry(byte[] data, String etag, String lastModified, long fetched) {
+			this.data = data;
+			this.etag = etag;
+			this.lastModified = lastModified;
+			this.fetched = fetched;
+		}
+
+		boolean isFresh(long now, long ttl) {
+			return now - fetched < ttl && now >= fetched;
+		}
+
+		Entry touch(long now) {
+			return new Entry(data, etag, lastModified, now);
+		}
+	}
+
+	private SURLCache() {
+	}
+
+	public static SURLCache getInstance() {
+		return singleton;
+	}
+
+	public byte[] getBytes(SURL url) {
+		if (url.isUrlOk() == false)
+			return null;
+
+		final String key = url.getCacheKey();
+		final boolean onDisk = url.isAuthorizationConfigured() == false;
+		Entry entry = getFromMemory(key);
+		if (entry == null && onDisk) {
+			entry = readFromDisk(key);
+			if (entry != null)
+				putInMemory(key, entry);
+		}
+
+		final long now = System.currentTimeMillis();
+		if (entry != null && (isOffline() || entry.isFresh(now, getTtl()))) {
+			nbHits.incrementAndGet();
+			return entry.data;
+		}
+		if (isOffline())
+			return null;
+
+		final SURL.Response response = entry == null ? url.getConditionally(null, null)
+				: url.getConditionally(entry.etag, entry.lastModified);
+		if (response == null) {
+			if (entry == null)
+				return null;
+			nbStale.incrementAndGet();
+			Log.info(() -> "Using stale copy of " + url);
+			return entry.data;
+		}
+
+		final Entry result;
+		if (response.isNotModified() && entry != null) {
+			nbRevalidated.incrementAndGet();
+			result = entry.touch(now);
+		} else if (response.isNotModified()) {
+			return null;
+		} else {
+			nbDownloads.incrementAndGet();
+			result = new Entry(response.getData(), response.getEtag(), response.getLastModified(), now);
+		}
+		putInMemory(key, result);
+		if (onDisk)
+			writeToDisk(key, result);
+
+		return result.data;
+	}
+
+	private long getTtl() {
+		final String value = SecurityUtils.getenv(SecurityUtils.INCLUDE_CACHE_TTL);
+		if (value != null)
+			try {
+				return Long.parseLong(value.trim()) * 1000L;
+			} catch (NumberFormatException e) {
+				Log.error("Bad value for " + SecurityUtils.INCLUDE_CACHE_TTL + ": " + value);
+			}
+		return DEFAULT_TTL_SECONDS * 1000L;
+	}
+
+	private boolean isOffline() {
+		return Boolean.parseBoolean(SecurityUtils.getenv(SecurityUtils.INCLUDE_OFFLINE));
+	}
+
+	private Entry getFromMemory(String key) {
+		synchronized (memory) {
+			return memory.get(key);
+		}
+	}
+
+	private void putInMemory(String key, Entry entry) {
+		if (entry.data.length > MAX_MEMORY_BYTES)
+			return;
+
+		synchronized (memory) {
+			final Entry old = memory.put(key, entry);
+			if (old != null)
+				memoryBytes -= old.data.length;
+			memoryBytes += entry.data.length;
+			for (Iterator<Entry> it = memory.values().iterator(); memoryBytes > MAX_MEMORY_BYTES && it.hasNext();) {
+				memoryBytes -= it.next().data.length;
+				it.remove();
+			}
+		}
+	}
+
+	void clearMemory() {
+		synchronized (memory) {
+			memory.clear();
+			memoryBytes = 0;
+		}
+	}
+
+	private SFile getDiskFile(String key) {
+		final String dir = SecurityUtils.getenv(SecurityUtils.INCLUDE_CACHE_PATH);
+		if (dir == null)
+			return null;
+
+		final SFile result = new SFile(StringUtils.eventuallyRemoveStartingAndEndingDoubleQuote(dir))
+				.file(SignatureUtils.getSHA512Hex(key) + ".url");
+		if (result.isFileOk() == false)
+			return null;
+
+		return result;
+	}
+
+	private Entry readFromDisk(String key) {
+		final SFile file = getDiskFile(key);
+		if (file == null || file.isFile() == false)
+			return null;
+
+		try (InputStream is = file.openFile()) {
+			if (is == null)
+				return null;
+			final DataInputStream dis = new DataInputStream(is);
+			if (dis.readUTF().equals(key) == false)
+				return null;
+			final String etag = emptyToNull(dis.readUTF());
+			final String lastModified = emptyToNull(dis.readUTF());
+			final long fetched = dis.readLong();
+			final byte[] data = new byte[dis.readInt()];
+			dis.readFully(data);
+			return new Entry(data, etag, lastModified, fetched);
+		} catch (IOException e) {
+			Log.error("Cannot read include cache " + file + " " + e);
+			return null;
+		}
+	}
+
+	private void writeToDisk(String key, Entry entry) {
+		final SFile file = getDiskFile(key);
+		if (file == null)
+			return;
+
+		file.getParentFile().mkdirs();
+		// Written aside then renamed, so that a concurrent reader never sees a
+		// partial entry
+		final SFile tmp = file.getParentFile()
+				.file("include" + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+		try (DataOutputStream dos = new DataOutputStream(tmp.createBufferedOutputStream())) {
+			dos.writeUTF(key);
+			dos.writeUTF(entry.etag == null ? "" : entry.etag);
+			dos.writeUTF(entry.lastModified == null ? "" : entry.lastModified);
+			dos.writeLong(entry.fetched);
+			dos.writeInt(entry.data.length);
+			dos.write(entry.data);
+		} catch (IOException e) {
+			Log.error("Cannot write include cache " + file + " " + e);
+			tmp.delete();
+			return;
+		}
+		if (tmp.renameTo(file))
+			return;
+		// Some platforms do not rename over an existing file
+		file.delete();
+		if (tmp.renameTo(file) == false) {
+			Log.error("Cannot write include cache " + file);
+			tmp.delete();
+		}
+	}
+
+	private static String emptyToNull(String s) {
+		return s.length() == 0 ? null : s;
+	}
+
+	public long getHits() {
+		return nbHits.get();
+	}
+
+	public long getRevalidated() {
+		return nbRevalidated.get();
+	}
+
+	public long getDownloads() {
+		return nbDownloads.get();
+	}
+
+	public long getStale() {
+		return nbStale.get();
+	}
+
+	public String getStatistics() {
+		return "Include cache: " + getHits() + " hits, " + getRevalidated() + " revalidated, " + getDownloads()
+				+ " downloads, " + getStale() + " stale";
+	}
+
+	public void printStatistics() {
+		if (getHits() + getRevalidated() + getDownloads() + getStale() > 0)
+			Log.info(() -> getStatistics());
+	}
+
+}
@@ -138,6 +138,22 @@ public class SecurityUtils {
 
 	public static final String SECURITY_ALLOW_NONSSL_AUTH = "plantuml.security.allowNonSSLAuth";
 
+	/**
+	 * Number of seconds during which an included URL is reused without asking the
+	 * server again.
+	 */
+	public static final String INCLUDE_CACHE_TTL = "plantuml.include.cache.ttl";
+
+	/**
+	 * Folder where included URLs are kept between runs.
+	 */
+	public static final String INCLUDE_CACHE_PATH = "plantuml.include.cache.path";
+
+	/**
+	 * If true, included URLs are only read from the cache, even if stale.
+	 */
+	public static final String INCLUDE_OFFLINE = "plantuml.include.offline";
+
 	/**
 	 * Standard BasicAuth authentication interceptor, to generate a
 	 * SecurityAuthentication from credentials.
@@ -91,7 +91,7 @@ public class CommandParticipantMultilines extends CommandMultilines2<SequenceDia
 	protected CommandExecutionResult executeNow(SequenceDiagram diagram, BlocLines lines, ParserPass currentPass)
 			throws NoSuchColorException {
 
-		final RegexResult arg = getStartingPattern().matcher(lines.getFirst().getTrimmed().getString());
+		final RegexResult arg = getStartingResult(lines);
 
 		final String code = arg.get("CODE", 0);
 		if (diagram.participantsContainsKey(code)) {
@@ -39,6 +39,7 @@ import net.sourceforge.plantuml.klimt.UTranslate;
 import net.sourceforge.plantuml.klimt.drawing.UGraphic;
 import net.sourceforge.plantuml.klimt.font.StringBounder;
 import net.sourceforge.plantuml.klimt.geom.XDimension2D;
+import net.sourceforge.plantuml.klimt.shape.DimensionMemo;
 import net.sourceforge.plantuml.real.Real;
 import net.sourceforge.plantuml.real.RealUtils;
 import net.sourceforge.plantuml.sequencediagram.Delay;
@@ -84,6 +85,12 @@ public class DelayTile extends AbstractTile implements Tile {
 
 	}
 
+	private final DimensionMemo preferredDimension = new DimensionMemo(DelayTile.class);
+
+	private XDimension2D getPreferredDimension(StringBounder stringBounder) {
+		return preferredDimension.get(stringBounder, sb -> getComponent(sb).getPreferredDimension(sb));
+	}
+
 	private Component getComponent(StringBounder stringBounder) {
 		final Component comp = tileArguments.getSkin().createComponent(delay.getUsedStyles(), ComponentType.DELAY_TEXT,
 				null, tileArguments.getSkinParam(), delay.getText());
@@ -91,8 +98,7 @@ public class DelayTile extends AbstractTile implements Tile {
 	}
 
 	private double getPreferredWidth(StringBounder stringBounder) {
-		final Component comp = getComponent(stringBounder);
-		final XDimension2D dim = comp.getPreferredDimension(stringBounder);
+		final XDimension2D dim = getPreferredDimension(stringBounder);
 		return dim.getWidth();
 	}
 
@@ -100,7 +106,7 @@ public class DelayTile extends AbstractTile implements Tile {
 		final StringBounder stringBounder = ug.getStringBounder();
 		init(stringBounder);
 		final Component comp = getComponent(stringBounder);
-		final XDimension2D dim = comp.getPreferredDimension(stringBounder);
+		final XDimension2D dim = getPreferredDimension(stringBounder);
 		final Area area = Area.create(getPreferredWidth(stringBounder), dim.getHeight());
 		final double ypos;
 		if (YGauge.USE_ME)
@@ -114,8 +120,7 @@ public class DelayTile extends AbstractTile implements Tile {
 	}
 
 	public double getPreferredHeight() {
-		final Component comp = getComponent(getStringBounder());
-		final XDimension2D dim = comp.getPreferredDimension(getStringBounder());
+		final XDimension2D dim = getPreferredDimension(getStringBounder());
 		return dim.getHeight();
 	}
 
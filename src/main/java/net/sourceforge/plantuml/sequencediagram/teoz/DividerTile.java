@@ -39,6 +39,7 @@ import net.sourceforge.plantuml.klimt.UTranslate;
 import net.sourceforge.plantuml.klimt.drawing.UGraphic;
 import net.sourceforge.plantuml.klimt.font.StringBounder;
 import net.sourceforge.plantuml.klimt.geom.XDimension2D;
+import net.sourceforge.plantuml.klimt.shape.DimensionMemo;
 import net.sourceforge.plantuml.real.Real;
 import net.sourceforge.plantuml.sequencediagram.Divider;
 import net.sourceforge.plantuml.sequencediagram.Event;
@@ -77,6 +78,12 @@ public class DividerTile extends AbstractTile implements Tile {
 		return yGauge;
 	}
 
+	private final DimensionMemo preferredDimension = new DimensionMemo(DividerTile.class);
+
+	private XDimension2D getPreferredDimension(StringBounder stringBounder) {
+		return preferredDimension.get(stringBounder, sb -> getComponent(sb).getPreferredDimension(sb));
+	}
+
 	private Component getComponent(StringBounder stringBounder) {
 		final Component comp = skin.createComponent(divider.getUsedStyles(), ComponentType.DIVIDER, null, skinParam,
 				divider.getText());
@@ -86,7 +93,7 @@ public class DividerTile extends AbstractTile implements Tile {
 	public void drawU(UGraphic ug) {
 		final StringBounder stringBounder = ug.getStringBounder();
 		final Component comp = getComponent(stringBounder);
-		final XDimension2D dim = comp.getPreferredDimension(stringBounder);
+		final XDimension2D dim = getPreferredDimension(stringBounder);
 		final Area area = Area.create(
 				tileArguments.getBorder2() - tileArguments.getBorder1() - xorigin.getCurrentValue(), dim.getHeight());
 
@@ -95,8 +102,7 @@ public class DividerTile extends AbstractTile implements Tile {
 	}
 
 	public double getPreferredHeight() {
-		final Component comp = getComponent(getStringBounder());
-		final XDimension2D dim = comp.getPreferredDimension(getStringBounder());
+		final XDimension2D dim = getPreferredDimension(getStringBounder());
 		return dim.getHeight();
 	}
 
@@ -111,8 +117,7 @@ public class DividerTile extends AbstractTile implements Tile {
 	}
 
 	public Real getMaxX() {
-		final Component comp = getComponent(getStringBounder());
-		final XDimension2D dim = comp.getPreferredDimension(getStringBounder());
+		final XDimension2D dim = getPreferredDimension(getStringBounder());
 		return xorigin.addFixed(dim.getWidth());
 	}
 
@@ -41,6 +41,7 @@ import net.sourceforge.plantuml.klimt.creole.Display;
 import net.sourceforge.plantuml.klimt.drawing.UGraphic;
 import net.sourceforge.plantuml.klimt.font.StringBounder;
 import net.sourceforge.plantuml.klimt.geom.XDimension2D;
+import net.sourceforge.plantuml.klimt.shape.DimensionMemo;
 import net.sourceforge.plantuml.real.Real;
 import net.sourceforge.plantuml.sequencediagram.Event;
 import net.sourceforge.plantuml.sequencediagram.GroupingLeaf;
@@ -87,6 +88,12 @@ public class ElseTile extends AbstractTile {
 		return anElse.getBackColorGeneral();
 	}
 
+	private final DimensionMemo preferredDimension = new DimensionMemo(ElseTile.class);
+
+	private XDimension2D getPreferredDimension(StringBounder stringBounder) {
+		return preferredDimension.get(stringBounder, sb -> getComponent(sb).getPreferredDimension(sb));
+	}
+
 	public Component getComponent(StringBounder stringBounder) {
 		// final Display display = Display.create(anElse.getTitle());
 		final ISkinParam tmp = new SkinParamBackcolored(skinParam, anElse.getBackColorElement(),
@@ -104,7 +111,7 @@ public class ElseTile extends AbstractTile {
 
 		final StringBounder stringBounder = ug.getStringBounder();
 		final Component comp = getComponent(stringBounder);
-		final XDimension2D dim = comp.getPreferredDimension(stringBounder);
+		final XDimension2D dim = getPreferredDimension(stringBounder);
 		final Real min = parent.getMinX().addFixed(GroupingTile.EXTERNAL_MARGINX1);
 		final Real max = parent.getMaxX().addFixed(-GroupingTile.EXTERNAL_MARGINX2);
 		final Context2D context = (Context2D) ug;
@@ -120,8 +127,7 @@ public class ElseTile extends AbstractTile {
 	}
 
 	public double getPreferredHeight() {
-		final Component comp = getComponent(getStringBounder());
-		final XDimension2D dim = comp.getPreferredDimension(getStringBounder());
+		final XDimension2D dim = getPreferredDimension(getStringBounder());
 
 		double height = dim.getHeight();
 //		if (anElse.getComment() != null)
@@ -142,8 +148,7 @@ public class ElseTile extends AbstractTile {
 	}
 
 	public Real getMaxX() {
-		final Component comp = getComponent(getStringBounder());
-		final XDimension2D dim = comp.getPreferredDimension(getStringBounder());
+		final XDimension2D dim = getPreferredDimension(getStringBounder());
 		return getMinX().addFixed(dim.getWidth());
 	}
 
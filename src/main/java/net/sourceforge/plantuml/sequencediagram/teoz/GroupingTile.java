@@ -46,6 +46,7 @@ import net.sourceforge.plantuml.klimt.creole.Display;
 import net.sourceforge.plantuml.klimt.drawing.UGraphic;
 import net.sourceforge.plantuml.klimt.font.StringBounder;
 import net.sourceforge.plantuml.klimt.geom.XDimension2D;
+import net.sourceforge.plantuml.klimt.shape.DimensionMemo;
 import net.sourceforge.plantuml.klimt.shape.UDrawable;
 import net.sourceforge.plantuml.real.Real;
 import net.sourceforge.plantuml.real.RealUtils;
@@ -164,8 +165,10 @@ public class GroupingTile extends AbstractTile {
 		return comp;
 	}
 
+	private final DimensionMemo dimensionIfEmpty = new DimensionMemo(GroupingTile.class);
+
 	private XDimension2D getPreferredDimensionIfEmpty(StringBounder stringBounder) {
-		return getComponent(stringBounder).getPreferredDimension(stringBounder);
+		return dimensionIfEmpty.get(stringBounder, sb -> getComponent(sb).getPreferredDimension(sb));
 	}
 
 	public void drawU(UGraphic ug) {
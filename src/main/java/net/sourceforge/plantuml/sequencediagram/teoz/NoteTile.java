@@ -39,6 +39,7 @@ import net.sourceforge.plantuml.klimt.UTranslate;
 import net.sourceforge.plantuml.klimt.drawing.UGraphic;
 import net.sourceforge.plantuml.klimt.font.StringBounder;
 import net.sourceforge.plantuml.klimt.geom.XDimension2D;
+import net.sourceforge.plantuml.klimt.shape.DimensionMemo;
 import net.sourceforge.plantuml.real.Real;
 import net.sourceforge.plantuml.real.RealUtils;
 import net.sourceforge.plantuml.sequencediagram.Event;
@@ -86,6 +87,12 @@ public class NoteTile extends AbstractTile implements Tile {
 		return yGauge;
 	}
 
+	private final DimensionMemo preferredDimension = new DimensionMemo(NoteTile.class);
+
+	private XDimension2D getPreferredDimension(StringBounder stringBounder) {
+		return preferredDimension.get(stringBounder, sb -> getComponent(sb).getPreferredDimension(sb));
+	}
+
 	private Component getComponent(StringBounder stringBounder) {
 		final Component comp = skin.createComponentNote(note.getUsedStyles(), getNoteComponentType(note.getNoteStyle()),
 				note.getSkinParamBackcolored(skinParam), note.getDisplay(), note.getColors(), note.getPosition());
@@ -107,7 +114,7 @@ public class NoteTile extends AbstractTile implements Tile {
 			ug = ug.apply(UTranslate.dy(getYGauge().getMin().getCurrentValue()));
 		final StringBounder stringBounder = ug.getStringBounder();
 		final Component comp = getComponent(stringBounder);
-		final XDimension2D dim = comp.getPreferredDimension(stringBounder);
+		final XDimension2D dim = getPreferredDimension(stringBounder);
 		final double x = getX(stringBounder).getCurrentValue();
 		final Area area = Area.create(getUsedWidth(stringBounder), dim.getHeight());
 
@@ -116,8 +123,7 @@ public class NoteTile extends AbstractTile implements Tile {
 	}
 
 	private double getUsedWidth(StringBounder stringBounder) {
-		final Component comp = getComponent(stringBounder);
-		final XDimension2D dim = comp.getPreferredDimension(stringBounder);
+		final XDimension2D dim = getPreferredDimension(stringBounder);
 		final double width = dim.getWidth();
 		if (note.getPosition() == NotePosition.OVER_SEVERAL) {
 			final double x1 = livingSpace1.getPosB(stringBounder).getCurrentValue();
@@ -152,8 +158,7 @@ public class NoteTile extends AbstractTile implements Tile {
 
 	@Override
 	public double getPreferredHeight() {
-		final Component comp = getComponent(getStringBounder());
-		final XDimension2D dim = comp.getPreferredDimension(getStringBounder());
+		final XDimension2D dim = getPreferredDimension(getStringBounder());
 		return dim.getHeight();
 	}
 
@@ -40,6 +40,7 @@ import net.sourceforge.plantuml.klimt.creole.Display;
 import net.sourceforge.plantuml.klimt.drawing.UGraphic;
 import net.sourceforge.plantuml.klimt.font.StringBounder;
 import net.sourceforge.plantuml.klimt.geom.XDimension2D;
+import net.sourceforge.plantuml.klimt.shape.DimensionMemo;
 import net.sourceforge.plantuml.real.Real;
 import net.sourceforge.plantuml.sequencediagram.Event;
 import net.sourceforge.plantuml.sequencediagram.Note;
@@ -105,8 +106,7 @@ public class ReferenceTile extends AbstractTile implements Tile {
 				this.last = livingSpace.getPosD(stringBounder);
 
 		}
-		final Component comp = getComponent(stringBounder);
-		final XDimension2D dim = comp.getPreferredDimension(stringBounder);
+		final XDimension2D dim = getPreferredDimension(stringBounder);
 		if (reference.getParticipant().size() == 1)
 			this.last = this.last.addAtLeast(0);
 
@@ -114,6 +114,12 @@ public class ReferenceTile extends AbstractTile implements Tile {
 
 	}
 
+	private final DimensionMemo preferredDimension = new DimensionMemo(ReferenceTile.class);
+
+	private XDimension2D getPreferredDimension(StringBounder stringBounder) {
+		return preferredDimension.get(stringBounder, sb -> getComponent(sb).getPreferredDimension(sb));
+	}
+
 	private Component getComponent(StringBounder stringBounder) {
 		Display strings = Display.empty();
 		strings = strings.add("ref");
@@ -128,7 +134,7 @@ public class ReferenceTile extends AbstractTile implements Tile {
 		final StringBounder stringBounder = ug.getStringBounder();
 		init(stringBounder);
 		final Component comp = getComponent(stringBounder);
-		final XDimension2D dim = comp.getPreferredDimension(stringBounder);
+		final XDimension2D dim = getPreferredDimension(stringBounder);
 		final Area area = Area.create(last.getCurrentValue() - first.getCurrentValue(), dim.getHeight());
 
 		comp.drawU(ug.apply(UTranslate.dx(first.getCurrentValue())), area, (Context2D) ug);
@@ -150,8 +156,7 @@ public class ReferenceTile extends AbstractTile implements Tile {
 	}
 
 	public double getPreferredHeight() {
-		final Component comp = getComponent(getStringBounder());
-		final XDimension2D dim = comp.getPreferredDimension(getStringBounder());
+		final XDimension2D dim = getPreferredDimension(getStringBounder());
 		return dim.getHeight();
 	}
 
@@ -58,6 +58,7 @@ public enum PragmaKey {
 	SHOW_DEPRECATION, //
 	SVG_FONT, //
 	SVG_INTERACTIVE, //
+	SVG_STREAMING, //
 	SVEK_TRACE, //
 	TEOZ, //
 	TEX_SYSTEM, //
@@ -52,6 +52,7 @@ import javax.xml.transform.stream.StreamResult;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
+import net.sourceforge.plantuml.dot.GraphvizLayoutCache;
 import net.sourceforge.plantuml.stats.api.Stats;
 import net.sourceforge.plantuml.stats.api.StatsColumn;
 import net.sourceforge.plantuml.stats.api.StatsLine;
@@ -87,10 +88,26 @@ public class XmlConverter {
 		addNode(root, document, stats.getCurrentSessionByFormat());
 		addNode(root, document, stats.getAllByDiagramType());
 		addNode(root, document, stats.getAllByFormat());
+		addLayoutCacheNode(root, document);
 
 		return document;
 	}
 
+	private void addLayoutCacheNode(Element root, Document document) {
+		final GraphvizLayoutCache cache = GraphvizLayoutCache.getInstance();
+		final Element elt = document.createElement("layout_cache".toUpperCase());
+		addValue(elt, document, "memory_hits", cache.getMemoryHits());
+		addValue(elt, document, "disk_hits", cache.getDiskHits());
+		addValue(elt, document, "misses", cache.getMisses());
+		root.appendChild(elt);
+	}
+
+	private void addValue(Element elt, Document document, String name, long value) {
+		final Element child = document.createElement(name.toUpperCase());
+		child.setTextContent("" + value);
+		elt.appendChild(child);
+	}
+
 	private void addNode(Element root, Document document, StatsTable table) {
 		final Element elt = (Element) document.createElement(toXmlName(table.getName()).toUpperCase());
 
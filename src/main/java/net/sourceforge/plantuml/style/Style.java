@@ -98,6 +98,13 @@ public class Style {
 		return signature + " " + map;
 	}
 
+	void appendFingerprint(StringBuilder sb) {
+		sb.append(signature);
+		for (Entry<PName, Value> ent : map.entrySet())
+			sb.append(' ').append(ent.getKey()).append('=').append(ent.getValue()).append('#')
+					.append(ent.getValue().getPriority());
+	}
+
 	public Value value(PName name) {
 		final Value result = map.get(name);
 		if (result == null)
@@ -35,41 +35,73 @@
  */
 package net.sourceforge.plantuml.style;
 
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.EnumMap;
 import java.util.LinkedHashSet;
-import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 import net.sourceforge.plantuml.utils.Log;
-
+import net.sourceforge.plantuml.utils.SegmentedCache;
+import net.sourceforge.plantuml.utils.SignatureUtils;
+
+/**
+ * Gives access to the styles of a diagram.
+ * <p>
+ * The styles themselves live in a {@link StyleStorage} which is never modified
+ * once it is shared. {@link #muteStyle(Collection)} only records the modified
+ * styles in a new builder: the storage holding them is built when it is first
+ * needed, and is identified by a fingerprint of the skin it comes from and of
+ * every modification applied since. Diagrams with the same skin, theme,
+ * skinparams and <code>&lt;style&gt;</code> blocks therefore share the same
+ * storage, together with the styles already merged from it.
+ * <p>
+ * Only the counter used to prioritize newly parsed values is specific to each
+ * builder.
+ */
 public class StyleBuilder implements AutomaticCounter {
 	// ::remove file when __HAXE__
 
-	private final StyleStorage storage = new StyleStorage();
-	private final Set<StyleSignatureBasic> printedForLog;
+	// Storages already built, by fingerprint, shared by all diagrams
+	private static final SegmentedCache<String, StyleStorage> shared = new SegmentedCache<>(256, 16);
+
+	// Either storage and fingerprint are known, or parent and modifiedStyles are
+	private StyleStorage storage;
+	private String fingerprint;
+	private StyleBuilder parent;
+	private Collection<Style> modifiedStyles;
+
+	private final Set<StyleSignatureBasic> printedForLog = new LinkedHashSet<>();
 	private int counter;
 
 	public void printMe() {
-		storage.printMe();
+		getStorage().printMe();
 	}
 
-	private StyleBuilder(Set<StyleSignatureBasic> printedForLog) {
-		this.printedForLog = new LinkedHashSet<>();
+	private StyleBuilder(StyleStorage storage, String fingerprint, int counter) {
+		this.storage = storage;
+		this.fingerprint = fingerprint;
+		this.counter = counter;
+	}
+
+	private StyleBuilder(StyleBuilder parent, Collection<Style> modifiedStyles, int counter) {
+		this.parent = parent;
+		this.modifiedStyles = modifiedStyles;
+		this.counter = counter;
 	}
 
 	public StyleBuilder() {
-		this(new LinkedHashSet<StyleSignatureBasic>());
+		this(new StyleStorage(), null, 0);
 	}
 
-	public StyleBuilder cloneMe() {
-		final StyleBuilder result = new StyleBuilder();
-		result.storage.putAll(storage);
-		result.counter = this.counter;
-		return result;
+	StyleBuilder(String fingerprint) {
+		this(new StyleStorage(), fingerprint, 0);
+	}
 
+	public StyleBuilder cloneMe() {
+		final StyleStorage current = getStorage();
+		return new StyleBuilder(current, fingerprint, counter);
 	}
 
 	public Style createStyleStereotype(String name) {
@@ -78,7 +110,7 @@ public class StyleBuilder implements AutomaticCounter {
 
 		name = name.toLowerCase();
 		final StyleSignatureBasic signature = StyleSignatureBasic.createStereotype(name);
-		final Style result = storage.get(signature);
+		final Style result = getStorage().get(signature);
 		if (result == null)
 			return new Style(signature, new EnumMap<PName, Value>(PName.class));
 
@@ -86,35 +118,72 @@ public class StyleBuilder implements AutomaticCounter {
 	}
 
 	public StyleBuilder muteStyle(Collection<Style> modifiedStyles) {
-		final StyleBuilder result = new StyleBuilder(this.printedForLog);
-		result.counter = this.counter;
-		result.storage.putAll(storage);
-
-		for (Style modifiedStyle : modifiedStyles) {
-			final StyleSignatureBasic signature = modifiedStyle.getSignature();
-
-			final Style orig = result.storage.get(signature);
-			if (orig == null) {
-				result.storage.put(modifiedStyle);
-			} else {
-				final Style tmp = orig.mergeWith(modifiedStyle, MergeStrategy.OVERWRITE_EXISTING_VALUE);
-				result.storage.put(tmp);
-			}
+		return new StyleBuilder(this, modifiedStyles, this.counter);
+	}
 
+	private StyleStorage getStorage() {
+		if (storage != null)
+			return storage;
+
+		final Deque<Collection<Style>> modifications = new ArrayDeque<>();
+		StyleBuilder ancestor = this;
+		while (ancestor.storage == null) {
+			modifications.addFirst(ancestor.modifiedStyles);
+			ancestor = ancestor.parent;
+		}
+
+		final String newFingerprint = getFingerprint(ancestor.fingerprint, modifications);
+		StyleStorage result = newFingerprint == null ? null : shared.get(newFingerprint);
+		if (result == null) {
+			result = new StyleStorage();
+			result.putAll(ancestor.storage);
+			for (Collection<Style> styles : modifications)
+				for (Style modifiedStyle : styles) {
+					final Style orig = result.get(modifiedStyle.getSignature());
+					if (orig == null)
+						result.put(modifiedStyle);
+					else
+						result.put(orig.mergeWith(modifiedStyle, MergeStrategy.OVERWRITE_EXISTING_VALUE));
+				}
+
+			if (newFingerprint != null)
+				shared.put(newFingerprint, result);
 		}
+		this.storage = result;
+		this.fingerprint = newFingerprint;
+		this.parent = null;
+		this.modifiedStyles = null;
 		return result;
 	}
 
+	private static String getFingerprint(String ancestorFingerprint, Collection<Collection<Style>> modifications) {
+		if (ancestorFingerprint == null)
+			return null;
+
+		final StringBuilder sb = new StringBuilder(ancestorFingerprint);
+		for (Collection<Style> styles : modifications)
+			for (Style style : styles) {
+				sb.append('\n');
+				style.appendFingerprint(sb);
+			}
+
+		return SignatureUtils.getSHA512Hex(sb.toString());
+	}
+
+	/**
+	 * Only used while loading a skin, before this builder is shared.
+	 */
 	public void loadInternal(StyleSignatureBasic signature, Style newStyle) {
 		if (signature.isStarred())
 			throw new IllegalArgumentException();
 
-		final Style orig = this.storage.get(signature);
+		final StyleStorage current = getStorage();
+		final Style orig = current.get(signature);
 		if (orig == null) {
-			this.storage.put(newStyle);
+			current.put(newStyle);
 		} else {
 			final Style tmp = orig.mergeWith(newStyle, MergeStrategy.OVERWRITE_EXISTING_VALUE);
-			this.storage.put(tmp);
+			current.put(tmp);
 		}
 	}
 
@@ -122,43 +191,20 @@ public class StyleBuilder implements AutomaticCounter {
 		return ++counter;
 	}
 
-	private final Map<StyleSignatureBasic, Style> mergedStyleCache = new ConcurrentHashMap<>();
-
 	public Style getMergedStyle(StyleSignatureBasic signature) {
-		// return computeMergedStyle(signature);
-		return mergedStyleCache.computeIfAbsent(signature, sig -> computeMergedStyle(sig));
+		logUsage(signature);
+		return getStorage().getMergedStyle(signature);
 	}
 
-	private Style computeMergedStyle(StyleSignatureBasic signature) {
-		boolean added = this.printedForLog.add(signature);
-		if (added)
-			Log.info(() -> "Using style " + signature);
-
-		return storage.computeMergedStyle(signature);
+	public Style getMergedStyleSpecial(StyleSignatureBasic signature, int deltaPriority) {
+		logUsage(signature);
+		return getStorage().getMergedStyleSpecial(signature, deltaPriority);
 	}
 
-	public Style getMergedStyleSpecial(StyleSignatureBasic signature, int deltaPriority) {
+	private void logUsage(StyleSignatureBasic signature) {
 		boolean added = this.printedForLog.add(signature);
 		if (added)
 			Log.info(() -> "Using style " + signature);
-
-		Style mergedStyle = null;
-		for (Style style : storage.getStyles()) {
-			final StyleSignatureBasic key = style.getSignature();
-			if (key.matchAll(signature) == false)
-				continue;
-
-			Style tmp = style;
-			if (key.isStarred())
-				tmp = tmp.deltaPriority(deltaPriority);
-
-			if (mergedStyle == null)
-				mergedStyle = tmp;
-			else
-				mergedStyle = mergedStyle.mergeWith(tmp, MergeStrategy.OVERWRITE_EXISTING_VALUE);
-
-		}
-		return mergedStyle;
 	}
 
 }
@@ -42,6 +42,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import net.sourceforge.plantuml.FileSystem;
 import net.sourceforge.plantuml.security.SFile;
@@ -55,6 +56,7 @@ public final class StyleLoader {
 	// ::remove file when __HAXE__
 
 	private static final ConcurrentMap<String, StyleBuilder> cache = new ConcurrentHashMap<>();
+	private static final AtomicInteger loadCount = new AtomicInteger();
 
 	private StyleLoader() {
 	}
@@ -83,7 +85,8 @@ public final class StyleLoader {
 	}
 
 	private static StyleBuilder loadSkinSlow(String filename) throws IOException, StyleParsingException {
-		final StyleBuilder styleBuilder = new StyleBuilder();
+		// Each load gets its own fingerprint, the file may have changed since the last one
+		final StyleBuilder styleBuilder = new StyleBuilder("skin:" + filename + ":" + loadCount.incrementAndGet());
 
 		final InputStream internalIs = getInputStreamForStyle(filename);
 		if (internalIs == null) {
@@ -36,12 +36,19 @@
 package net.sourceforge.plantuml.style;
 
 import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class StyleStorage {
 	// ::remove file when __HAXE__
@@ -50,6 +57,11 @@ public class StyleStorage {
 
 	private final Map<StyleKey, Style> plain = new LinkedHashMap<StyleKey, Style>();
 
+	private volatile SelectorIndex index;
+
+	private final Map<StyleSignatureBasic, Style> mergedStyleCache = new ConcurrentHashMap<>();
+	private final Map<Integer, Map<StyleSignatureBasic, Style>> mergedStyleSpecialCache = new ConcurrentHashMap<>();
+
 	public void printMe() {
 		for (Entry<StyleSignatureBasic, Style> ent : legacy.entrySet())
 			ent.getValue().printMe();
@@ -59,7 +71,7 @@ public class StyleStorage {
 	public void putAll(StyleStorage other) {
 		legacy.putAll(other.legacy);
 		plain.putAll(other.plain);
-
+		changed();
 	}
 
 	public Style get(StyleSignatureBasic signature) {
@@ -83,6 +95,13 @@ public class StyleStorage {
 		else
 			legacy.put(signature, modifiedStyle);
 
+		changed();
+	}
+
+	private void changed() {
+		index = null;
+		mergedStyleCache.clear();
+		mergedStyleSpecialCache.clear();
 	}
 
 	public Collection<Style> getStyles() {
@@ -99,13 +118,36 @@ public class StyleStorage {
 		};
 	}
 	
-	public Style computeMergedStyle(StyleSignatureBasic signature) {
+	public Style getMergedStyle(StyleSignatureBasic signature) {
+		return mergedStyleCache.computeIfAbsent(signature, this::computeMergedStyle);
+	}
+
+	public Style getMergedStyleSpecial(StyleSignatureBasic signature, int deltaPriority) {
+		final Map<StyleSignatureBasic, Style> cache = mergedStyleSpecialCache.computeIfAbsent(deltaPriority,
+				k -> new ConcurrentHashMap<>());
+		return cache.computeIfAbsent(signature, sig -> computeMergedStyleSpecial(sig, deltaPriority));
+	}
+
+	private Style computeMergedStyleSpecial(StyleSignatureBasic signature, int deltaPriority) {
 		Style mergedStyle = null;
-		for (Style style : getStyles()) {
+		for (Style style : getMatchingStyles(signature)) {
 			final StyleSignatureBasic key = style.getSignature();
-			if (key.matchAll(signature) == false)
-				continue;
+			Style tmp = style;
+			if (key.isStarred())
+				tmp = tmp.deltaPriority(deltaPriority);
 
+			if (mergedStyle == null)
+				mergedStyle = tmp;
+			else
+				mergedStyle = mergedStyle.mergeWith(tmp, MergeStrategy.OVERWRITE_EXISTING_VALUE);
+
+		}
+		return mergedStyle;
+	}
+
+	public Style computeMergedStyle(StyleSignatureBasic signature) {
+		Style mergedStyle = null;
+		for (Style style : getMatchingStyles(signature)) {
 			if (mergedStyle == null)
 				mergedStyle = style;
 			else
@@ -115,7 +157,81 @@ public class StyleStorage {
 		return mergedStyle;
 	}
 
+	/**
+	 * Styles whose signature matches <code>signature</code>, in the same order as
+	 * {@link #getStyles()}.
+	 */
+	public List<Style> getMatchingStyles(StyleSignatureBasic signature) {
+		SelectorIndex result = index;
+		if (result == null) {
+			result = new SelectorIndex(getStyles());
+			index = result;
+		}
+		return result.getMatchingStyles(signature);
+	}
+
+	/**
+	 * Buckets the styles like CSS engines bucket rules: every style is stored under
+	 * one of its stereotypes or, failing that, under its least common SName. As a
+	 * style only matches signatures containing all its SNames and stereotypes, only
+	 * the buckets of the signature's own SNames and stereotypes (plus styles
+	 * without any) have to be tested.
+	 */
+	static class SelectorIndex {
+
+		private final Style[] styles;
+		private final List<Integer> universal = new ArrayList<>();
+		private final Map<SName, List<Integer>> bySName = new EnumMap<>(SName.class);
+		private final Map<String, List<Integer>> byStereotype = new HashMap<>();
 
+		SelectorIndex(Collection<Style> all) {
+			this.styles = all.toArray(new Style[0]);
+
+			final Map<SName, Integer> frequencies = new EnumMap<>(SName.class);
+			for (Style style : styles)
+				for (SName sname : style.getSignature().getKey().snames)
+					frequencies.merge(sname, 1, Integer::sum);
+
+			for (int i = 0; i < styles.length; i++) {
+				final StyleSignatureBasic signature = styles[i].getSignature();
+				if (signature.getStereotypes().size() > 0) {
+					final String first = signature.getStereotypes().iterator().next();
+					byStereotype.computeIfAbsent(first, k -> new ArrayList<>()).add(i);
+					continue;
+				}
+				SName rarest = null;
+				for (SName sname : signature.getKey().snames)
+					if (rarest == null || frequencies.get(sname) < frequencies.get(rarest))
+						rarest = sname;
+
+				if (rarest == null)
+					universal.add(i);
+				else
+					bySName.computeIfAbsent(rarest, k -> new ArrayList<>()).add(i);
+			}
+		}
+
+		List<Style> getMatchingStyles(StyleSignatureBasic signature) {
+			final BitSet candidates = new BitSet(styles.length);
+			for (int i : universal)
+				candidates.set(i);
+
+			for (SName sname : signature.getKey().snames)
+				for (int i : bySName.getOrDefault(sname, Collections.emptyList()))
+					candidates.set(i);
+
+			for (String stereotype : signature.getStereotypes())
+				for (int i : byStereotype.getOrDefault(stereotype, Collections.emptyList()))
+					candidates.set(i);
+
+			final List<Style> result = new ArrayList<>();
+			for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1))
+				if (styles[i].getSignature().matchAll(signature))
+					result.add(styles[i]);
+
+			return result;
+		}
+	}
 
 }
 
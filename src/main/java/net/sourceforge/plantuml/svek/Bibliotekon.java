@@ -57,6 +57,13 @@ public class Bibliotekon {
 	private final List<SvekEdge> lines1 = new ArrayList<>();
 	private final List<SvekEdge> allLines = new ArrayList<>();
 
+	// Indexes kept in sync with the collections above, so that lookups are not
+	// linear in the size of the diagram
+	private final Map<SvekNode, Entity> leafMap = new HashMap<>();
+	private final Map<Entity, Cluster> clusterMap = new HashMap<>();
+	private final Map<Link, SvekEdge> lineMap = new HashMap<>();
+	private final Map<Entity, List<SvekEdge>> linesByEntity = new HashMap<>();
+
 	private final Collection<Link> links;
 	private final ColorSequence colorSequence;
 
@@ -71,21 +78,24 @@ public class Bibliotekon {
 
 	public SvekNode createNode(Entity ent, IEntityImage image, StringBounder stringBounder) {
 		final SvekNode node = new SvekNode(ent, image, colorSequence, stringBounder);
-		nodeMap.put(ent, node);
+		final SvekNode previous = nodeMap.put(ent, node);
+		if (previous != null)
+			leafMap.remove(previous);
+		leafMap.put(node, ent);
 		// System.err.println("createNode " + ent + " " + nodeMap.size());
 		return node;
 	}
 
 	public Cluster getCluster(Entity ent) {
-		for (Cluster cl : allCluster)
-			if (cl.getGroups().contains(ent))
-				return cl;
-
-		return null;
+		return clusterMap.get(ent);
 	}
 
 	public void addLine(SvekEdge line) {
 		allLines.add(line);
+		lineMap.putIfAbsent(line.getLink(), line);
+		linesByEntity.computeIfAbsent(line.getLink().getEntity1(), k -> new ArrayList<>()).add(line);
+		if (line.getLink().getEntity2() != line.getLink().getEntity1())
+			linesByEntity.computeIfAbsent(line.getLink().getEntity2(), k -> new ArrayList<>()).add(line);
 		if (first(line)) {
 			if (line.hasNoteLabelText()) {
 				// lines0.add(0, line);
@@ -115,6 +125,8 @@ public class Bibliotekon {
 
 	public void addCluster(Cluster current) {
 		allCluster.add(current);
+		for (Entity group : current.getGroups())
+			clusterMap.putIfAbsent(group, current);
 	}
 
 	public SvekNode getNode(Entity ent) {
@@ -184,20 +196,19 @@ public class Bibliotekon {
 	}
 
 	public List<SvekEdge> getAllLineConnectedTo(Entity leaf) {
-		final List<SvekEdge> result = new ArrayList<>();
-		for (SvekEdge line : allLines)
-			if (line.isLinkFromOrTo(leaf))
-				result.add(line);
+		final List<SvekEdge> result = linesByEntity.get(leaf);
+		if (result == null)
+			return Collections.emptyList();
 
 		return Collections.unmodifiableList(result);
 	}
 
 	public SvekEdge getLine(Link link) {
-		for (SvekEdge line : allLines)
-			if (line.isLink(link))
-				return line;
+		final SvekEdge result = lineMap.get(link);
+		if (result == null)
+			throw new IllegalArgumentException();
 
-		throw new IllegalArgumentException();
+		return result;
 	}
 
 	public Entity getOnlyOther(Entity entity) {
@@ -212,10 +223,10 @@ public class Bibliotekon {
 	}
 
 	public Entity getLeaf(SvekNode node) {
-		for (Map.Entry<Entity, SvekNode> ent : nodeMap.entrySet())
-			if (ent.getValue() == node)
-				return ent.getKey();
+		final Entity result = leafMap.get(node);
+		if (result == null)
+			throw new IllegalArgumentException();
 
-		throw new IllegalArgumentException();
+		return result;
 	}
 }
@@ -48,6 +48,7 @@ import java.util.regex.Pattern;
 import net.sourceforge.plantuml.StringUtils;
 import net.sourceforge.plantuml.dot.DotSplines;
 import net.sourceforge.plantuml.dot.Graphviz;
+import net.sourceforge.plantuml.dot.GraphvizLayoutCache;
 import net.sourceforge.plantuml.dot.GraphvizRuntimeEnvironment;
 import net.sourceforge.plantuml.dot.GraphvizVersion;
 import net.sourceforge.plantuml.dot.ProcessState;
@@ -286,6 +287,15 @@ public final class DotStringFactory implements Moveable {
 		}
 
 		Graphviz graphviz = GraphvizRuntimeEnvironment.getInstance().create(skinParam, dotString, "svg");
+		final GraphvizLayoutCache cache = GraphvizLayoutCache.getInstance();
+		final String cacheKey = cache.getKey(graphviz, dotString, "svg");
+		if (cacheKey != null) {
+			final String cached = cache.get(cacheKey);
+			if (cached != null) {
+				traceSvg(basefile, cached);
+				return cached;
+			}
+		}
 		ByteArrayOutputStream baos = new ByteArrayOutputStream();
 		try {
 			final ProcessState state = graphviz.createFile3(baos);
@@ -307,13 +317,18 @@ public final class DotStringFactory implements Moveable {
 		}
 		final byte[] result = baos.toByteArray();
 		final String s = new String(result, UTF_8);
+		if (cacheKey != null && s.length() > 0)
+			cache.put(cacheKey, s);
 
+		traceSvg(basefile, s);
+		return s;
+	}
+
+	private void traceSvg(BaseFile basefile, String s) throws IOException {
 		if (basefile != null) {
 			final SFile f = basefile.getTraceFile("svek.svg");
 			SvekUtils.traceString(f, s);
 		}
-
-		return s;
 	}
 
 	public boolean illegalDotExe() {
@@ -345,7 +360,7 @@ public final class DotStringFactory implements Moveable {
 		final Point2DFunction move = new YDelta(fullHeight);
 		final SvgResult svgResult = new SvgResult(svg, move);
 		for (SvekNode node : getBibliotekon().allNodes()) {
-			int idx = svg.indexOf("<title>" + node.getUid() + "</title>");
+			int idx = svgResult.indexOfTitle(node.getUid());
 			if (node.getType() == ShapeType.RECTANGLE || node.getType() == ShapeType.RECTANGLE_HTML_FOR_PORTS
 					|| node.getType() == ShapeType.RECTANGLE_WITH_CIRCLE_INSIDE || node.getType() == ShapeType.FOLDER
 					|| node.getType() == ShapeType.DIAMOND || node.getType() == ShapeType.RECTANGLE_PORT) {
@@ -391,7 +406,7 @@ public final class DotStringFactory implements Moveable {
 			if (cluster.getGroup().isPacked())
 				continue;
 
-			int idx = getClusterIndex(svg, cluster.getColor());
+			int idx = getClusterIndex(svgResult, cluster.getColor());
 			final int starting = idx;
 			final List<XPoint2D> points = svgResult.substring(starting).extractList(SvgResult.POINTS_EQUALS);
 			final XPoint2D min = SvekUtils.getMinXY(points);
@@ -401,19 +416,19 @@ public final class DotStringFactory implements Moveable {
 			if (cluster.getTitleAndAttributeWidth() == 0 || cluster.getTitleAndAttributeHeight() == 0)
 				continue;
 
-			idx = getClusterIndex(svg, cluster.getTitleColor());
+			idx = getClusterIndex(svgResult, cluster.getTitleColor());
 			final List<XPoint2D> pointsTitle = svgResult.substring(idx).extractList(SvgResult.POINTS_EQUALS);
 			cluster.setTitlePosition(SvekUtils.getMinXY(pointsTitle));
 
 			if (root.diagram.getPragma().isTrue(PragmaKey.KERMOR)) {
 				if (cluster.getGroup().getNotes(Position.TOP).size() > 0) {
-					final List<XPoint2D> noteUp = svgResult.substring(getClusterIndex(svg, cluster.getColorNoteTop()))
+					final List<XPoint2D> noteUp = svgResult.substring(getClusterIndex(svgResult, cluster.getColorNoteTop()))
 							.extractList(SvgResult.POINTS_EQUALS);
 					cluster.setNoteTopPosition(SvekUtils.getMinXY(noteUp));
 				}
 				if (cluster.getGroup().getNotes(Position.BOTTOM).size() > 0) {
 					final List<XPoint2D> noteBottom = svgResult
-							.substring(getClusterIndex(svg, cluster.getColorNoteBottom()))
+							.substring(getClusterIndex(svgResult, cluster.getColorNoteBottom()))
 							.extractList(SvgResult.POINTS_EQUALS);
 					cluster.setNoteBottomPosition(SvekUtils.getMinXY(noteBottom));
 				}
@@ -428,13 +443,13 @@ public final class DotStringFactory implements Moveable {
 
 	}
 
-	private int getClusterIndex(final String svg, int colorInt) {
+	private int getClusterIndex(final SvgResult svgResult, int colorInt) {
 		final String colorString = StringUtils.goLowerCase(StringUtils.sharp000000(colorInt));
 		final String keyTitle1 = "=\"" + colorString + "\"";
-		int idx = svg.indexOf(keyTitle1);
+		int idx = svgResult.indexOfColor(keyTitle1);
 		if (idx == -1) {
 			final String keyTitle2 = "stroke:" + colorString + ";";
-			idx = svg.indexOf(keyTitle2);
+			idx = svgResult.indexOfColor(keyTitle2);
 		}
 		if (idx == -1)
 			throw new IllegalStateException("Cannot find color " + colorString);
@@ -0,0 +1,151 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml.svek;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Positions of the titles and of the colors found in the SVG produced by
+ * GraphViz, collected in a single pass.
+ * <p>
+ * This replaces repeated <code>indexOf</code> on the whole SVG, which was
+ * quadratic for diagrams with many nodes and edges.
+ */
+class SvgIndex {
+
+	private static final int[] NONE = new int[0];
+
+	private final String svg;
+	private Map<String, Integer> titles;
+	private Map<String, int[]> colors;
+
+	SvgIndex(String svg) {
+		this.svg = svg;
+	}
+
+	/**
+	 * Position of the first <code>&lt;title&gt;</code> element holding exactly
+	 * <code>title</code>, or -1.
+	 */
+	int getTitlePosition(String title) {
+		build();
+		final Integer result = titles.get(title);
+		return result == null ? -1 : result;
+	}
+
+	/**
+	 * Position of the first occurrence of <code>key</code> starting at
+	 * <code>from</code> or after, or -1. <code>key</code> must be one of the color
+	 * attributes recorded by {@link #build()}, such as
+	 * <code>stroke="#ff0000"</code> or <code>;stroke:#ff0000;</code>.
+	 */
+	int getColorPosition(String key, int from) {
+		build();
+		final int[] positions = colors.getOrDefault(key, NONE);
+		int idx = Arrays.binarySearch(positions, from);
+		if (idx < 0)
+			idx = -idx - 1;
+		return idx < positions.length ? positions[idx] : -1;
+	}
+
+	private void build() {
+		if (titles != null)
+			return;
+
+		titles = new HashMap<>();
+		final Map<String, IntList> tmp = new HashMap<>();
+		final int length = svg.length();
+		for (int i = 0; i < length; i++) {
+			final char c = svg.charAt(i);
+			if (c == '<' && svg.startsWith("<title>", i)) {
+				final int end = svg.indexOf("</title>", i);
+				if (end == -1)
+					break;
+				titles.putIfAbsent(svg.substring(i + 7, end), i);
+				i = end;
+			} else if (c == '#' && i + 7 <= length && isHexColor(i + 1)) {
+				final String color = svg.substring(i, i + 7);
+				final char after = i + 7 < length ? svg.charAt(i + 7) : 0;
+				if (after == '"' && svg.startsWith("=\"", i - 2)) {
+					add(tmp, "=\"" + color + "\"", i - 2);
+					if (svg.startsWith("stroke", i - 8))
+						add(tmp, "stroke=\"" + color + "\"", i - 8);
+					else if (svg.startsWith("fill", i - 6))
+						add(tmp, "fill=\"" + color + "\"", i - 6);
+				} else if (after == ';' && svg.startsWith("stroke:", i - 7)) {
+					add(tmp, "stroke:" + color + ";", i - 7);
+					if (i >= 8 && svg.charAt(i - 8) == ';')
+						add(tmp, ";stroke:" + color + ";", i - 8);
+				}
+			}
+		}
+		colors = new HashMap<>();
+		for (Map.Entry<String, IntList> ent : tmp.entrySet())
+			colors.put(ent.getKey(), ent.getValue().toArray());
+	}
+
+	private boolean isHexColor(int pos) {
+		for (int i = pos; i < pos + 6; i++) {
+			final char c = svg.charAt(i);
+			if ((c < '0' || c > '9') && (c < 'a' || c > 'f'))
+				return false;
+		}
+		return true;
+	}
+
+	private static void add(Map<String, IntList> map, String key, int position) {
+		if (position >= 0)
+			map.computeIfAbsent(key, k -> new IntList()).add(position);
+	}
+
+	static class IntList {
+		private int[] data = new int[2];
+		private int size;
+
+		void add(int value) {
+			if (size == data.length)
+				data = Arrays.copyOf(data, size * 2);
+			data[size++] = value;
+		}
+
+		int[] toArray() {
+			return Arrays.copyOf(data, size);
+		}
+	}
+
+}
@@ -52,11 +52,22 @@ public class SvgResult {
 	public static final String POINTS_EQUALS = "points=\"";
 
 	private final String svg;
+	private final int start;
+	private final int end;
 	private final Point2DFunction function;
+	private final SvgIndex index;
 
 	public SvgResult(String svg, Point2DFunction function) {
+		this(svg, 0, svg.length(), function, new SvgIndex(svg));
+	}
+
+	// Views share the full svg string and its index, substring() does not copy
+	private SvgResult(String svg, int start, int end, Point2DFunction function, SvgIndex index) {
 		this.svg = svg;
+		this.start = start;
+		this.end = end;
 		this.function = function;
+		this.index = index;
 	}
 
 	public PointListIterator getPointsWithThisColor(int lineColor) {
@@ -76,18 +87,16 @@ public class SvgResult {
 	}
 
 	public int getIndexFromColor(int color) {
-		String s = "stroke=\"" + StringUtils.goLowerCase(StringUtils.sharp000000(color)) + "\"";
-		int idx = svg.indexOf(s);
+		final String colorString = StringUtils.goLowerCase(StringUtils.sharp000000(color));
+		int idx = indexOfColor("stroke=\"" + colorString + "\"");
 		if (idx != -1)
 			return idx;
 
-		s = ";stroke:" + StringUtils.goLowerCase(StringUtils.sharp000000(color)) + ";";
-		idx = svg.indexOf(s);
+		idx = indexOfColor(";stroke:" + colorString + ";");
 		if (idx != -1)
 			return idx;
 
-		s = "fill=\"" + StringUtils.goLowerCase(StringUtils.sharp000000(color)) + "\"";
-		idx = svg.indexOf(s);
+		idx = indexOfColor("fill=\"" + colorString + "\"");
 		if (idx != -1)
 			return idx;
 
@@ -97,9 +106,29 @@ public class SvgResult {
 
 	}
 
+	/**
+	 * Same as <code>indexOf(key, 0)</code> for the color attributes known by
+	 * {@link SvgIndex}, without scanning the svg.
+	 */
+	int indexOfColor(String key) {
+		final int idx = index.getColorPosition(key, start);
+		if (idx == -1 || idx + key.length() > end)
+			return -1;
+
+		return idx - start;
+	}
+
+	/**
+	 * Same as <code>indexOf("&lt;title&gt;" + title + "&lt;/title&gt;", 0)</code>
+	 * on the full svg, without scanning it.
+	 */
+	int indexOfTitle(String title) {
+		return index.getTitlePosition(title);
+	}
+
 	public List<XPoint2D> getPoints(String separator) {
 		try {
-			final StringTokenizer st = new StringTokenizer(svg, separator);
+			final StringTokenizer st = new StringTokenizer(getSvg(), separator);
 			final List<XPoint2D> result = new ArrayList<XPoint2D>();
 			while (st.hasMoreTokens())
 				result.add(getFirstPoint(st.nextToken()));
@@ -111,7 +140,7 @@ public class SvgResult {
 	}
 
 	public XPoint2D getNextPoint() {
-		return getFirstPoint(svg);
+		return getFirstPoint(getSvg());
 	}
 
 	private XPoint2D getFirstPoint(final String tmp) {
@@ -122,19 +151,26 @@ public class SvgResult {
 	}
 
 	public int indexOf(String s, int pos) {
-		return svg.indexOf(s, pos);
+		final int idx = svg.indexOf(s, start + Math.max(pos, 0));
+		if (idx == -1 || idx + s.length() > end)
+			return -1;
+
+		return idx - start;
 	}
 
 	public SvgResult substring(int pos) {
-		return new SvgResult(svg.substring(pos), function);
+		return substring(pos, end - start);
 	}
 
 	public SvgResult substring(int start, int end) {
-		return new SvgResult(svg.substring(start, end), function);
+		if (start < 0 || end > this.end - this.start || start > end)
+			throw new StringIndexOutOfBoundsException("begin " + start + ", end " + end);
+
+		return new SvgResult(svg, this.start + start, this.start + end, function, index);
 	}
 
 	public final String getSvg() {
-		return svg;
+		return svg.substring(start, end);
 	}
 
 	public DotPath toDotPath() {
@@ -169,7 +205,7 @@ public class SvgResult {
 	}
 
 	public boolean isPathConsistent() {
-		if (this.getSvg().startsWith("M") == false)
+		if (start == end || svg.charAt(start) != 'M')
 			return false;
 
 		return true;
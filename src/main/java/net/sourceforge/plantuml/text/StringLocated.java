@@ -46,6 +46,7 @@ import net.sourceforge.plantuml.StringUtils;
 import net.sourceforge.plantuml.jaws.Jaws;
 import net.sourceforge.plantuml.jaws.JawsFlags;
 import net.sourceforge.plantuml.jaws.JawsStrange;
+import net.sourceforge.plantuml.regex.RegexResult;
 import net.sourceforge.plantuml.utils.LineLocation;
 
 final public class StringLocated {
@@ -58,6 +59,8 @@ final public class StringLocated {
 	private StringLocated trimmed;
 	private long fox = -1;
 	private TLineType type;
+	private Object pattern;
+	private RegexResult regexResult;
 
 //	public StringLocated jawsPatchNewlines() {
 //	return new StringLocated(s.replace("\\n", "%n()"), location, preprocessorError);
@@ -243,6 +246,10 @@ final public class StringLocated {
 	@JawsStrange
 	public StringLocated removeInnerComment() {
 		final String string = s.toString();
+		// Every kind of inner comment ends with '/
+		if (string.indexOf("'/") == -1)
+			return this;
+
 		final String trim = string.replace('\t', ' ').trim();
 		if (trim.startsWith("/'")) {
 			final int idx = string.indexOf("'/");
@@ -289,6 +296,22 @@ final public class StringLocated {
 		return fox;
 	}
 
+	/**
+	 * Returns the result of the last successful match of this line, if it was done
+	 * with this pattern.
+	 */
+	public RegexResult getRegexResult(Object pattern) {
+		if (this.pattern == pattern)
+			return regexResult;
+
+		return null;
+	}
+
+	public void setRegexResult(Object pattern, RegexResult regexResult) {
+		this.pattern = pattern;
+		this.regexResult = regexResult;
+	}
+
 	public TLineType getType() {
 		if (type == null)
 			type = TLineType.getFromLineInternal(this);
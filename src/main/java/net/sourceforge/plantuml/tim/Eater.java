@@ -46,9 +46,54 @@ import net.sourceforge.plantuml.tim.expression.Token;
 import net.sourceforge.plantuml.tim.expression.TokenStack;
 import net.sourceforge.plantuml.tim.expression.TokenType;
 import net.sourceforge.plantuml.utils.LineLocation;
+import net.sourceforge.plantuml.utils.SegmentedCache;
 
 public abstract class Eater {
 
+	// Tokens read from a given position of a given line. Lines of loops, functions
+	// and procedures are read again each time they are executed: they get back the
+	// same TokenStack, which also keeps its compiled form.
+	private static final SegmentedCache<LexKey, Lexed> lexCache = new SegmentedCache<>(20_000, 16);
+
+	private static final int TO_END = 0;
+	private static final int STOP_AT_COLON = 1;
+	private static final int UNTIL_CLOSE_PARENTHESIS_OR_COMMA = 2;
+
+	static final class LexKey {
+		private final String line;
+		private final int start;
+		private final int mode;
+		private final int hash;
+
+		LexKey(String line, int start, int mode) {
+			this.line = line;
+			this.start = start;
+			this.mode = mode;
+			this.hash = line.hashCode() * 31 + start * 3 + mode;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			final LexKey other = (LexKey) obj;
+			return start == other.start && mode == other.mode && line.equals(other.line);
+		}
+	}
+
+	static final class Lexed {
+		private final TokenStack tokenStack;
+		private final int end;
+
+		Lexed(TokenStack tokenStack, int end) {
+			this.tokenStack = tokenStack;
+			this.end = end;
+		}
+	}
+
 	private int i = 0;
 	private final StringLocated stringLocated;
 
@@ -90,8 +135,7 @@ public abstract class Eater {
 	}
 
 	final protected TokenStack eatTokenStack() throws EaterException {
-		final TokenStack tokenStack = new TokenStack();
-		addIntoTokenStack(tokenStack, false);
+		final TokenStack tokenStack = eatTokenStackCached(TO_END);
 		if (tokenStack.size() == 0)
 			throw new EaterException("Missing expression", stringLocated);
 
@@ -99,11 +143,36 @@ public abstract class Eater {
 	}
 
 	final protected TValue eatExpressionStopAtColon(TContext context, TMemory memory) throws EaterException {
-		final TokenStack tokenStack = new TokenStack();
-		addIntoTokenStack(tokenStack, true);
+		final TokenStack tokenStack = eatTokenStackCached(STOP_AT_COLON);
 		return tokenStack.getResult(getStringLocated(), context, memory);
 	}
 
+	/**
+	 * Reads an expression up to the next comma or closing parenthesis at the same
+	 * level. The returned TokenStack may be shared and must not be modified.
+	 */
+	final public TokenStack eatUntilCloseParenthesisOrComma() throws EaterException {
+		return eatTokenStackCached(UNTIL_CLOSE_PARENTHESIS_OR_COMMA);
+	}
+
+	private TokenStack eatTokenStackCached(int mode) throws EaterException {
+		final LexKey key = new LexKey(stringLocated.getString(), i, mode);
+		final Lexed cached = lexCache.get(key);
+		if (cached != null) {
+			i = cached.end;
+			return cached.tokenStack;
+		}
+		final TokenStack tokenStack;
+		if (mode == UNTIL_CLOSE_PARENTHESIS_OR_COMMA) {
+			tokenStack = TokenStack.eatUntilCloseParenthesisOrComma(this);
+		} else {
+			tokenStack = new TokenStack();
+			addIntoTokenStack(tokenStack, mode == STOP_AT_COLON);
+		}
+		lexCache.put(key, new Lexed(tokenStack, i));
+		return tokenStack;
+	}
+
 	final protected void addIntoTokenStack(TokenStack tokenStack, boolean stopAtColon) throws EaterException {
 		Token lastToken = null;
 		while (true) {
@@ -317,8 +386,7 @@ public abstract class Eater {
 				final TValue defValue;
 				if (peekChar() == '=') {
 					eatOneChar();
-					final TokenStack def = TokenStack.eatUntilCloseParenthesisOrComma(this);
-					def.guessFunctions(location);
+					final TokenStack def = eatUntilCloseParenthesisOrComma();
 					defValue = def.getResult(getStringLocated(), context, memory);
 					// System.err.println("result=" + defValue);
 				} else {
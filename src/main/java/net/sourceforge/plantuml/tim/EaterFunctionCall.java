@@ -99,13 +99,11 @@ public class EaterFunctionCall extends Eater {
 					skipSpaces();
 					checkAndEatChar('=');
 					skipSpaces();
-					final TokenStack tokens = TokenStack.eatUntilCloseParenthesisOrComma(this).withoutSpace();
-					tokens.guessFunctions(getStringLocated());
+					final TokenStack tokens = eatUntilCloseParenthesisOrComma();
 					final TValue result = tokens.getResult(getStringLocated(), context, memory);
 					namedArguments.put(varname, result);
 				} else {
-					final TokenStack tokens = TokenStack.eatUntilCloseParenthesisOrComma(this).withoutSpace();
-					tokens.guessFunctions(getStringLocated());
+					final TokenStack tokens = eatUntilCloseParenthesisOrComma();
 					final TValue result = tokens.getResult(getStringLocated(), context, memory);
 					values.add(result);
 				}
@@ -34,9 +34,11 @@
  */
 package net.sourceforge.plantuml.tim;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -45,6 +47,7 @@ import net.sourceforge.plantuml.text.StringLocated;
 public class FunctionsSet {
 
 	private final Map<TFunctionSignature, TFunction> functions = new HashMap<TFunctionSignature, TFunction>();
+	private final Map<String, List<TFunction>> functionsByName = new HashMap<>();
 	private final Set<TFunctionSignature> functionsFinal = new HashSet<>();
 	private final Trie functions3 = new TrieImpl();
 	private TFunctionImpl pendingFunction;
@@ -54,6 +57,15 @@ public class FunctionsSet {
 		if (func != null)
 			return func;
 
+		final List<TFunction> sameName = this.functionsByName.get(searched.getFunctionName());
+		if (sameName == null)
+			return null;
+
+		if (sameName.size() == 1) {
+			final TFunction candidate = sameName.get(0);
+			return candidate.canCover(searched.getNbArg(), searched.getNamedArguments()) ? candidate : null;
+		}
+
 		for (TFunction candidate : this.functions.values()) {
 			if (candidate.getSignature().sameFunctionNameAs(searched) == false)
 				continue;
@@ -73,6 +85,40 @@ public class FunctionsSet {
 		return Collections.unmodifiableMap(functions);
 	}
 
+	public boolean isLegacyDefine(String functionName) {
+		final List<TFunction> sameName = this.functionsByName.get(functionName);
+		if (sameName != null)
+			for (TFunction func : sameName)
+				if (func.getFunctionType().isLegacy())
+					return true;
+
+		return false;
+	}
+
+	public boolean isUnquoted(String functionName) {
+		final List<TFunction> sameName = this.functionsByName.get(functionName);
+		if (sameName != null)
+			for (TFunction func : sameName)
+				if (func.isUnquoted())
+					return true;
+
+		return false;
+	}
+
+	public boolean doesFunctionExist(String functionName) {
+		return this.functionsByName.containsKey(functionName);
+	}
+
+	private void putFunction(TFunction func) {
+		final TFunction previous = this.functions.put(func.getSignature(), func);
+		final List<TFunction> sameName = this.functionsByName.computeIfAbsent(func.getSignature().getFunctionName(),
+				name -> new ArrayList<>());
+		if (previous != null)
+			sameName.remove(previous);
+		sameName.add(func);
+		this.functions3.add(func.getSignature().getFunctionName() + "(");
+	}
+
 	public String getLonguestMatchStartingIn(String s, int pos) {
 		return functions3.getLonguestMatchStartingIn(s, pos);
 	}
@@ -85,8 +131,7 @@ public class FunctionsSet {
 		if (func.getFunctionType() == TFunctionType.LEGACY_DEFINELONG)
 			((TFunctionImpl) func).finalizeEnddefinelong();
 
-		this.functions.put(func.getSignature(), func);
-		this.functions3.add(func.getSignature().getFunctionName() + "(");
+		this.putFunction(func);
 	}
 
 	public void executeEndfunction() {
@@ -102,8 +147,7 @@ public class FunctionsSet {
 		final EaterLegacyDefine legacyDefine = new EaterLegacyDefine(s);
 		legacyDefine.analyze(context, memory);
 		final TFunction function = legacyDefine.getFunction();
-		this.functions.put(function.getSignature(), function);
-		this.functions3.add(function.getSignature().getFunctionName() + "(");
+		this.putFunction(function);
 	}
 
 	public void executeLegacyDefineLong(TContext context, TMemory memory, StringLocated s)
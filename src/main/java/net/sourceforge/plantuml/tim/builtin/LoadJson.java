@@ -170,7 +170,7 @@ public class LoadJson extends SimpleReturnFunction {
 		if (path.startsWith("http://") || path.startsWith("https://")) {
 			final SURL url = SURL.create(path);
 			if (url != null)
-				byteData = url.getBytes();
+				byteData = url.getCachedBytes();
 			// ::comment when __CORE__
 		} else {
 			try {
@@ -70,16 +70,10 @@ public class ShuntingYard {
 			} else if (token.getTokenType() == TokenType.FUNCTION_NAME) {
 				operatorStack.addFirst(token);
 			} else if (token.getTokenType() == TokenType.PLAIN_TEXT) {
-				final String name = token.getSurface();
-				final TValue variable = knowledge.getVariable(name);
-				if (variable == null) {
-					if (isVariableName(name) == false)
-						throw new EaterException("Parsing syntax error about " + name, location);
-
-					ouputQueue.add(new Token(name, TokenType.QUOTED_STRING, null));
-				} else {
-					ouputQueue.add(variable.toToken());
-				}
+				if (knowledge == null)
+					ouputQueue.add(token);
+				else
+					ouputQueue.add(resolve(token, knowledge, location));
 			} else if (isOperatorOrAffectation(token)) {
 				while ((thereIsAFunctionAtTheTopOfTheOperatorStack() //
 						|| thereIsAnOperatorAtTheTopOfTheOperatorStackWithGreaterPrecedence(token) //
@@ -124,7 +118,24 @@ public class ShuntingYard {
 		// System.err.println("ouputQueue=" + ouputQueue);
 	}
 
-	private boolean isVariableName(String name) {
+	/**
+	 * Replaces a variable name by its current value. When the queue is built
+	 * without {@link Knowledge}, variable names are kept in the queue so that it
+	 * can be reused, and must be resolved with this method before evaluation.
+	 */
+	static Token resolve(Token token, Knowledge knowledge, StringLocated location) throws EaterException {
+		final String name = token.getSurface();
+		final TValue variable = knowledge.getVariable(name);
+		if (variable == null) {
+			if (isVariableName(name) == false)
+				throw new EaterException("Parsing syntax error about " + name, location);
+
+			return new Token(name, TokenType.QUOTED_STRING, null);
+		}
+		return variable.toToken();
+	}
+
+	private static boolean isVariableName(String name) {
 		return name.matches("[a-zA-Z0-9.$_]+");
 	}
 
@@ -51,6 +51,7 @@ import net.sourceforge.plantuml.tim.TMemory;
 public class TokenStack {
 
 	final private List<Token> tokens;
+	private volatile List<Token> compiled;
 
 	public TokenStack() {
 		this(new ArrayList<Token>());
@@ -75,6 +76,7 @@ public class TokenStack {
 
 	public void add(Token token) {
 		this.tokens.add(token);
+		this.compiled = null;
 	}
 
 	public TokenStack withoutSpace() {
@@ -210,14 +212,33 @@ public class TokenStack {
 		return new InternalIterator();
 	}
 
+	// The reverse polish form only depends on the tokens: it is computed once,
+	// with variable names left in place, and reused each time the expression is
+	// evaluated (loop conditions, bodies of functions and procedures...)
+	private List<Token> getCompiled(StringLocated location) throws EaterException {
+		List<Token> result = compiled;
+		if (result == null) {
+			final TokenStack tmp = withoutSpace();
+			tmp.guessFunctions(location);
+			final ShuntingYard shuntingYard = new ShuntingYard(tmp.tokenIterator(), null, location);
+			result = Collections.unmodifiableList(shuntingYard.getQueue().tokens);
+			compiled = result;
+		}
+		return result;
+	}
+
 	public TValue getResult(StringLocated location, TContext context, TMemory memory) throws EaterException {
 		final Knowledge knowledge = context.asKnowledge(memory, location.getLocation());
-		final TokenStack tmp = withoutSpace();
-		tmp.guessFunctions(location);
-		final TokenIterator it = tmp.tokenIterator();
-		final ShuntingYard shuntingYard = new ShuntingYard(it, knowledge, location);
-		final ReversePolishInterpretor rpn = new ReversePolishInterpretor(location, shuntingYard.getQueue(), knowledge,
-				memory, context);
+		final List<Token> compiled = getCompiled(location);
+		final TokenStack queue = new TokenStack(new ArrayList<Token>(compiled.size()));
+		for (Token token : compiled)
+			if (token.getTokenType() == TokenType.PLAIN_TEXT)
+				queue.tokens.add(ShuntingYard.resolve(token, knowledge, location));
+			else
+				queue.tokens.add(token);
+
+		final ReversePolishInterpretor rpn = new ReversePolishInterpretor(location, queue, knowledge, memory,
+				context);
 		return rpn.getResult();
 
 	}
@@ -69,7 +69,7 @@ public class CommandNoteLong extends CommandMultilines2<TimingDiagram> {
 	protected CommandExecutionResult executeNow(final TimingDiagram diagram, BlocLines lines, ParserPass currentPass)
 			throws NoSuchColorException {
 
-		final RegexResult line0 = getStartingPattern().matcher(lines.getFirst().getTrimmed().getString());
+		final RegexResult line0 = getStartingResult(lines);
 		lines = lines.subExtract(1, 1);
 		lines = lines.removeEmptyColumns();
 		final String code = line0.get("CODE", 0);
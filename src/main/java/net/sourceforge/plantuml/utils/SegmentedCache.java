@@ -0,0 +1,150 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache split into independently locked segments.
+ * <p>
+ * Each segment is an access-ordered {@link LinkedHashMap}, so eviction is an
+ * approximate LRU: the least recently used entry of the segment is dropped.
+ * Threads working on keys of different segments never wait for each other.
+ */
+public class SegmentedCache<K, V> {
+
+	private final Segment<K, V>[] segments;
+	private final int mask;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	static class Segment<K, V> extends LinkedHashMap<K, V> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int capacity;
+
+		Segment(int capacity) {
+			super(16, 0.75f, true);
+			this.capacity = capacity;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+			return size() > capacity;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	public SegmentedCache(int maxSize, int nbSegments) {
+		if (Integer.bitCount(nbSegments) != 1)
+			throw new IllegalArgumentException("nbSegments must be a power of two");
+
+		this.segments = (Segment<K, V>[]) new Segment<?, ?>[nbSegments];
+		this.mask = nbSegments - 1;
+		final int capacity = Math.max(1, maxSize / nbSegments);
+		for (int i = 0; i < nbSegments; i++)
+			segments[i] = new Segment<>(capacity);
+	}
+
+	private Segment<K, V> segmentFor(Object key) {
+		int h = key.hashCode();
+		h ^= h >>> 16;
+		return segments[h & mask];
+	}
+
+	public V get(K key) {
+		final Segment<K, V> segment = segmentFor(key);
+		final V result;
+		synchronized (segment) {
+			result = segment.get(key);
+		}
+		if (result == null)
+			misses.increment();
+		else
+			hits.increment();
+		return result;
+	}
+
+	public void put(K key, V value) {
+		final Segment<K, V> segment = segmentFor(key);
+		synchronized (segment) {
+			segment.put(key, value);
+		}
+	}
+
+	public V remove(K key) {
+		final Segment<K, V> segment = segmentFor(key);
+		synchronized (segment) {
+			return segment.remove(key);
+		}
+	}
+
+	public void clear() {
+		for (Segment<K, V> segment : segments)
+			synchronized (segment) {
+				segment.clear();
+			}
+	}
+
+	public int size() {
+		int result = 0;
+		for (Segment<K, V> segment : segments)
+			synchronized (segment) {
+				result += segment.size();
+			}
+		return result;
+	}
+
+	public long getHits() {
+		return hits.sum();
+	}
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	public String getStatistics() {
+		final long h = getHits();
+		final long total = h + getMisses();
+		final long rate = total == 0 ? 0 : 100 * h / total;
+		return size() + " entries, " + h + "/" + total + " hits (" + rate + "%)";
+	}
+
+}
@@ -94,12 +94,15 @@ public class SignatureUtils {
 	}
 	// ::done
 
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
 	public static String toHexString(byte data[]) {
-		final StringBuilder sb = new StringBuilder(data.length * 2);
-		for (byte b : data) {
-			sb.append(String.format("%02x", b));
+		final char[] result = new char[data.length * 2];
+		for (int i = 0; i < data.length; i++) {
+			result[2 * i] = HEX[(data[i] >> 4) & 0x0F];
+			result[2 * i + 1] = HEX[data[i] & 0x0F];
 		}
-		return sb.toString();
+		return new String(result);
 	}
 
 	public static String getMD5Hex(String s) {
@@ -88,7 +88,7 @@ public class CommandWBSItemMultiline extends CommandMultilines2<WBSDiagram> {
 	@Override
 	protected CommandExecutionResult executeNow(WBSDiagram diagram, BlocLines lines, ParserPass currentPass)
 			throws NoSuchColorException {
-		final RegexResult line0 = getStartingPattern().matcher(lines.getFirst().getTrimmed().getString());
+		final RegexResult line0 = getStartingResult(lines);
 
 		final List<String> lineLast = StringUtils.getSplit(getEndPattern(), lines.getLast().getString());
 		lines = lines.removeStartingAndEnding(line0.get("DATA", 0), 1);
@@ -27,6 +27,7 @@ import java.util.Iterator;
 
 import org.stathissideris.ascii2image.core.ConversionOptions;
 import org.stathissideris.ascii2image.core.Pair;
+import org.stathissideris.ascii2image.text.BitGrid;
 import org.stathissideris.ascii2image.text.AbstractionGrid;
 import org.stathissideris.ascii2image.text.CellSet;
 import org.stathissideris.ascii2image.text.TextGrid;
@@ -148,13 +149,17 @@ public class Diagram {
 		for(CellSet set : boundarySetsStep1) {			
 			//the fill buffer keeps track of which cells have been
 			//filled already
-			TextGrid fillBuffer = new TextGrid(width * 3, height * 3);
+			BitGrid fillBuffer = new BitGrid(width * 3, height * 3);
+			
+			//the abstraction only depends on the set, each seed
+			//works on its own copy of it
+			TextGrid setBuffer = new AbstractionGrid(workGrid, set).getCopyOfInternalBuffer();
 			
 			for(int yi = 0; yi < height * 3; yi++){
 				for(int xi = 0; xi < width * 3; xi++){
-					if(fillBuffer.isBlank(xi, yi)){
+					if(!fillBuffer.get(xi, yi)){
 						
-						TextGrid copyGrid = new AbstractionGrid(workGrid, set).getCopyOfInternalBuffer();
+						TextGrid copyGrid = new TextGrid(setBuffer);
 
 						CellSet boundaries =
 							copyGrid
@@ -162,12 +167,9 @@ public class Diagram {
 						if(boundaries.size() == 0) continue; //i'm not sure why these occur
 						boundarySetsStep2.add(boundaries.makeScaledOneThirdEquivalent());
 					
-						copyGrid = new AbstractionGrid(workGrid, set).getCopyOfInternalBuffer();
-						CellSet filled =
-							copyGrid
-							.fillContinuousArea(copyGrid.new Cell(xi, yi), '*');
-						fillBuffer.fillCellsWith(filled, '*');
-						fillBuffer.fillCellsWith(boundaries, '-');
+						copyGrid = new TextGrid(setBuffer);
+						copyGrid.fillContinuousArea(copyGrid.new Cell(xi, yi), '*', fillBuffer);
+						fillBuffer.setAll(boundaries);
 						
 						if(DEBUG){
 							//System.out.println("Fill buffer:");
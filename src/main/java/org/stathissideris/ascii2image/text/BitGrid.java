@@ -0,0 +1,77 @@
+/**
+ * ditaa - Diagrams Through Ascii Art
+ * 
+ * Copyright (C) 2004-2011 Efstathios Sideris
+ *
+ * ditaa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as 
+ * published by the Free Software Foundation, either version 3 of
+ * the License, or (at your option) any later version.
+ *
+ * ditaa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with ditaa.  If not, see <http://www.gnu.org/licenses/>.
+ *   
+ */
+package org.stathissideris.ascii2image.text;
+
+import java.util.BitSet;
+import java.util.Iterator;
+
+/**
+ * A width x height grid of flags, one bit per cell.
+ * 
+ * Used instead of a TextGrid when only "has this cell been visited"
+ * is needed.
+ */
+public class BitGrid {
+
+	private final int width;
+	private final int height;
+	private final BitSet bits;
+
+	public BitGrid(int width, int height){
+		this.width = width;
+		this.height = height;
+		this.bits = new BitSet(width * height);
+	}
+
+	public int getWidth(){
+		return width;
+	}
+
+	public int getHeight(){
+		return height;
+	}
+
+	public boolean get(int x, int y){
+		if(isOutOfBounds(x, y)) return false;
+		return bits.get(y * width + x);
+	}
+
+	public void set(int x, int y){
+		if(isOutOfBounds(x, y)) return;
+		bits.set(y * width + x);
+	}
+
+	/**
+	 * Sets all the cells in <code>cells</code>
+	 * 
+	 * @param cells
+	 */
+	public void setAll(Iterable<TextGrid.Cell> cells){
+		Iterator<TextGrid.Cell> it = cells.iterator();
+		while(it.hasNext()){
+			TextGrid.Cell cell = it.next();
+			set(cell.x, cell.y);
+		}
+	}
+
+	private boolean isOutOfBounds(int x, int y){
+		return x < 0 || y < 0 || x >= width || y >= height;
+	}
+}
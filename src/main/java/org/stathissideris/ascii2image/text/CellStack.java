@@ -0,0 +1,57 @@
+/**
+ * ditaa - Diagrams Through Ascii Art
+ * 
+ * Copyright (C) 2004-2011 Efstathios Sideris
+ *
+ * ditaa is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as 
+ * published by the Free Software Foundation, either version 3 of
+ * the License, or (at your option) any later version.
+ *
+ * ditaa is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with ditaa.  If not, see <http://www.gnu.org/licenses/>.
+ *   
+ */
+package org.stathissideris.ascii2image.text;
+
+import java.util.Arrays;
+
+/**
+ * A LIFO stack of cell coordinates, each packed into a long, so that
+ * flood-filling does not allocate a Cell per visited position.
+ */
+final class CellStack {
+
+	private long[] data = new long[64];
+	private int size;
+
+	void push(int x, int y){
+		if(size == data.length) data = Arrays.copyOf(data, size * 2);
+		data[size++] = ((long) x << 32) | (y & 0xffffffffL);
+	}
+
+	/**
+	 * @return the packed coordinates, to be read with {@link #x(long)}
+	 * and {@link #y(long)}
+	 */
+	long pop(){
+		return data[--size];
+	}
+
+	boolean isEmpty(){
+		return size == 0;
+	}
+
+	static int x(long packed){
+		return (int) (packed >> 32);
+	}
+
+	static int y(long packed){
+		return (int) packed;
+	}
+}
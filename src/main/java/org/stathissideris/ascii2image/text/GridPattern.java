@@ -77,6 +77,7 @@ import java.util.regex.Pattern;
 public class GridPattern extends TextGrid {
 	
 	private ArrayList<Pattern> regExps = new ArrayList<Pattern>(); //TODO optimise: store as PatternS
+	private CharClass[][] charClasses;
 	private boolean regExpsAreValid = false;
 	
 	private static final boolean DEBUG = false;
@@ -119,20 +120,58 @@ public class GridPattern extends TextGrid {
 		return true;
 	}
 	
+	/**
+	 * Same as <code>isMatchedBy(grid.getSubGrid(x, y, 3, 3))</code>, but reads
+	 * the cells of <code>grid</code> directly and looks every character up in
+	 * tables computed once from the regular expressions.
+	 * 
+	 * The 3x3 window must be inside the grid.
+	 */
+	public boolean isMatchedAt(TextGrid grid, int x, int y){
+		if(!regExpsAreValid) prepareRegExps();
+		final CharClass[][] classes = charClasses;
+		if(classes == null || classes.length != 3)
+			return isMatchedBy(grid.getSubGrid(x, y, 3, 3));
+
+		for(int i = 0; i < 3; i++) {
+			final StringBuilder line = grid.getRow(y + i);
+			for(int j = 0; j < 3; j++)
+				// the regular expressions see a surrogate pair as one character
+				if(Character.isSurrogate(line.charAt(x + j)))
+					return isMatchedBy(grid.getSubGrid(x, y, 3, 3));
+		}
+		for(int i = 0; i < 3; i++) {
+			final CharClass[] row = classes[i];
+			if(row.length != 3) return false;
+			final StringBuilder line = grid.getRow(y + i);
+			for(int j = 0; j < 3; j++)
+				if(!row[j].matches(line.charAt(x + j))) return false;
+		}
+		return true;
+	}
+
 	private void prepareRegExps(){
 		regExpsAreValid = true;
 		regExps.clear();
 		if (DEBUG)
 			System.out.println("Trying to match:");
 		if(!usesStandardSyntax){
+			ArrayList<CharClass[]> classes = new ArrayList<CharClass[]>();
 			Iterator<StringBuilder> it = getRows().iterator();
 			while (it.hasNext()) {
 				String row = it.next().toString();
 				regExps.add(Pattern.compile(makeRegExp(row)));
+				ArrayList<String> tokens = makeTokens(row);
+				CharClass[] rowClasses = new CharClass[tokens.size()];
+				for(int i = 0; i < rowClasses.length; i++)
+					rowClasses[i] = new CharClass(tokens.get(i));
+				classes.add(rowClasses);
 				if(DEBUG)
 					System.out.println(row+" becomes "+makeRegExp(row));
 			}			
+			charClasses = classes.toArray(new CharClass[classes.size()][]);
 		} else {
+			charClasses = null;
 			Iterator<StringBuilder> it = getRows().iterator();
 			while (it.hasNext()) {
 				String row = it.next().toString();
@@ -143,8 +182,20 @@ public class GridPattern extends TextGrid {
 	
 	private String makeRegExp(String pattern){
 		StringBuilder result = new StringBuilder();
+		for(String token : makeTokens(pattern))
+			result.append(token);
+		return result.toString();
+	}
+
+	/**
+	 * Translates each of the first three tokens of <code>pattern</code> to a
+	 * regular expression matching exactly one character.
+	 */
+	private ArrayList<String> makeTokens(String pattern){
+		ArrayList<String> tokens = new ArrayList<String>();
 		int tokensHandled = 0;
 		for(int i = 0; i < pattern.length() && tokensHandled < 3; i++){
+			StringBuilder result = new StringBuilder();
 			char c = pattern.charAt(i);
 			if(c == '[') {
 				result.append("[^|:]");
@@ -230,9 +281,52 @@ public class GridPattern extends TextGrid {
 					result.append("[^-=+\\/\\\\]");
 				}
 			} else result.append(String.valueOf(c));
+			tokens.add(result.toString());
 			tokensHandled++;
 		}
-		return result.toString();
+		return tokens;
+	}
+
+	/**
+	 * The answer of a one-character regular expression for every character.
+	 * 
+	 * ASCII characters are looked up in a 128-bit mask. The classes only name
+	 * ASCII characters, so all other characters give the same answer, except
+	 * the line terminators that "." does not match.
+	 */
+	static final class CharClass {
+		private final long low;
+		private final long high;
+		private final boolean others;
+		private final boolean nextLine;
+		private final boolean lineSeparator;
+		private final boolean paragraphSeparator;
+
+		CharClass(String regExp){
+			Pattern pattern = Pattern.compile(regExp);
+			long low = 0;
+			long high = 0;
+			for(char c = 0; c < 128; c++) {
+				if(!pattern.matcher(String.valueOf(c)).matches()) continue;
+				if(c < 64) low |= 1L << c;
+				else high |= 1L << (c - 64);
+			}
+			this.low = low;
+			this.high = high;
+			this.others = pattern.matcher("\u00e9").matches();
+			this.nextLine = pattern.matcher("\u0085").matches();
+			this.lineSeparator = pattern.matcher("\u2028").matches();
+			this.paragraphSeparator = pattern.matcher("\u2029").matches();
+		}
+
+		boolean matches(char c){
+			if(c < 64) return (low & (1L << c)) != 0;
+			if(c < 128) return (high & (1L << (c - 64))) != 0;
+			if(c == '\u0085') return nextLine;
+			if(c == '\u2028') return lineSeparator;
+			if(c == '\u2029') return paragraphSeparator;
+			return others;
+		}
 	}
 
 
@@ -44,6 +44,16 @@ public class GridPatternGroup extends ArrayList<GridPattern> {
 		}
 		return false;
 	}
+
+	/**
+	 * Same as <code>isAnyMatchedBy(grid.getSubGrid(x, y, 3, 3))</code>
+	 * without copying the window.
+	 */
+	public boolean isAnyMatchedAt(TextGrid grid, int x, int y){
+		for(int i = 0; i < size(); i++)
+			if(get(i).isMatchedAt(grid, x, y)) return true;
+		return false;
+	}
 	
 	
 	public void add(GridPattern... patterns) {
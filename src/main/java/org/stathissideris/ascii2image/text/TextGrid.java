@@ -157,6 +157,13 @@ public class TextGrid {
 		return getSubGrid(cell.x - 1, cell.y - 1, 3, 3);
 	}
 
+	private boolean isTestingWindowInside(int x, int y){
+		if(x < 1 || y < 1 || y + 1 >= rows.size()) return false;
+		for(int i = y - 1; i <= y + 1; i++)
+			if(x + 1 >= rows.get(i).length()) return false;
+		return true;
+	}
+
 
 	public String getStringAt(int x, int y, int length){
 		return getStringAt(new Cell(x, y), length);
@@ -1184,6 +1191,8 @@ public class TextGrid {
 
 
 	public boolean matchesAny(Cell cell, GridPatternGroup criteria){
+		if(isTestingWindowInside(cell.x, cell.y))
+			return criteria.isAnyMatchedAt(this, cell.x - 1, cell.y - 1);
 		TextGrid subGrid = getTestingSubGrid(cell);
 		return subGrid.matchesAny(criteria);
 	}
@@ -1310,6 +1319,40 @@ public class TextGrid {
 		return seedFillOld(cell, c);
 	}
 
+	/**
+	 * Same as {@link #fillContinuousArea(Cell, char)}, but marks the
+	 * cells filled in <code>filled</code> instead of collecting them
+	 * in a CellSet.
+	 * 
+	 * @param cell
+	 * @param c
+	 * @param filled
+	 */
+	public void fillContinuousArea(Cell cell, char c, BitGrid filled){
+		if(isOutOfBounds(cell)) throw new IllegalArgumentException("Attempted to fill area out of bounds: "+cell);
+		char oldChar = get(cell);
+		
+		if(oldChar == c) return;
+
+		CellStack stack = new CellStack();
+
+		stack.push(cell.x, cell.y);
+		
+		while(!stack.isEmpty()){
+			long packed = stack.pop();
+			int x = CellStack.x(packed);
+			int y = CellStack.y(packed);
+			
+			set(x, y, c);
+			filled.set(x, y);
+
+			if(get(x, y - 1) == oldChar) stack.push(x, y - 1);
+			if(get(x, y + 1) == oldChar) stack.push(x, y + 1);
+			if(get(x + 1, y) == oldChar) stack.push(x + 1, y);
+			if(get(x - 1, y) == oldChar) stack.push(x - 1, y);
+		}
+	}
+
 	private CellSet seedFill(Cell seed, char newChar){
 		CellSet cellsFilled = new CellSet();
 		char oldChar = get(seed);
@@ -1389,35 +1432,33 @@ public class TextGrid {
 
 		char newChar = 1; //TODO: kludge
 
-		Stack<Cell> stack = new Stack<Cell>();
+		CellStack stack = new CellStack();
 
-		stack.push(seed);
+		stack.push(seed.x, seed.y);
 		
 		while(!stack.isEmpty()){
-			Cell cell = (Cell) stack.pop();
-			
-			set(cell, newChar);
-
-			Cell nCell = cell.getNorth();
-			Cell sCell = cell.getSouth();
-			Cell eCell = cell.getEast();
-			Cell wCell = cell.getWest();
+			long cell = stack.pop();
+			int x = CellStack.x(cell);
+			int y = CellStack.y(cell);
 			
-			if(get(nCell) == oldChar) stack.push(nCell);
-			else if(get(nCell) == '*') boundaries.add(nCell);
-			
-			if(get(sCell) == oldChar) stack.push(sCell);
-			else if(get(sCell) == '*') boundaries.add(sCell);
-			
-			if(get(eCell) == oldChar) stack.push(eCell);
-			else if(get(eCell) == '*') boundaries.add(eCell);
-			
-			if(get(wCell) == oldChar) stack.push(wCell);
-			else if(get(wCell) == '*') boundaries.add(wCell);
+			set(x, y, newChar);
+
+			//same order as the Cell version, so that boundaries
+			//are added to the set in the same order
+			expandBoundary(x, y - 1, oldChar, stack, boundaries);
+			expandBoundary(x, y + 1, oldChar, stack, boundaries);
+			expandBoundary(x + 1, y, oldChar, stack, boundaries);
+			expandBoundary(x - 1, y, oldChar, stack, boundaries);
 		}
 		
 		return boundaries;
 	}
+
+	private void expandBoundary(int x, int y, char oldChar, CellStack stack, CellSet boundaries){
+		char c = get(x, y);
+		if(c == oldChar) stack.push(x, y);
+		else if(c == '*') boundaries.add(new Cell(x, y));
+	}
 	
 	
 	//TODO: incomplete method seedFillLine()
@@ -0,0 +1,140 @@
+package com.plantuml.ubrex.builder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.plantuml.ubrex.CompiledExpression;
+import com.plantuml.ubrex.CompositeList;
+import com.plantuml.ubrex.TextNavigator;
+import com.plantuml.ubrex.UMatcher;
+import com.plantuml.ubrex.UnicodeBracketedExpression;
+
+import net.sourceforge.plantuml.descdiagram.command.CommandLinkElement;
+
+class CompiledExpressionTest {
+
+	// Same as UBrexCommandIf
+	private UBrexPart ifCommand() {
+		final UBrexConcat simple = UBrexConcat.build( //
+				UBrexLeaf.spaceZeroOrMore(), //
+				new UBrexOptional(UBrexConcat.build( //
+						new UBrexNamed("ARROW_BODY1", new UBrexLeaf("〇+「-.」")), //
+						new UBrexLeaf("〇?〘 [ 〶$ARROW_STYLE1=〘" + CommandLinkElement.UBREX_LINE_STYLE + "〙] 〙"), //
+						new UBrexNamed("ARROW_DIRECTION",
+								new UBrexLeaf("〇?【 *┇left┇right┇up┇down┇l〇?e┇r〇?i┇u〇?p┇d〇?o】")), //
+						new UBrexLeaf("〇?〘 [  〶$ARROW_STYLE2=〘" + CommandLinkElement.UBREX_LINE_STYLE + "〙] 〙"), //
+						new UBrexNamed("ARROW_BODY2", new UBrexLeaf("〇*「-.」")), //
+						new UBrexLeaf(">") //
+				)), //
+				UBrexLeaf.spaceZeroOrMore(), //
+				new UBrexOptional(new UBrexLeaf("[ 〶$BRACKET=〘〇+「〤]*」  〇*「〤]」〙 ]")), UBrexLeaf.spaceZeroOrMore(), //
+				new UBrexOr(//
+						new UBrexLeaf(
+								"if 〇*〴s 〴g  〶$IF1=〇*〴G 〴g 〇*〴s 〇?〘as 〇+〴s 〶$ASIF1=〇+「〴an_.」 〇+〴s 〙〘then〙"), //
+						new UBrexLeaf("if 〇+〴s 〶$IF2=〇l+〴. 〘then〙 "), //
+						new UBrexLeaf("if 〇*〴s 〴g  〶$IF1=〇*〴G 〴g 〇*〴s 〇?〘as 〇+〴s 〶$ASIF1=〇+「〴an_.」 〇+〴s 〙"), //
+						new UBrexLeaf("if 〇+〴s 〶$IF2=〇+〴.") //
+				));
+
+		return UBrexConcat.build( //
+				new UBrexOr(simple, //
+						UBrexConcat.build(new UBrexNamed("STAR", new UBrexLeaf("(* 〇?〘top〙)")), simple), //
+						UBrexConcat.build(new UBrexNamed("BAR", new UBrexLeaf("=〇+= 〇*〴s 〇+「〴an_.」〇*〴s =〇+=")),
+								simple), //
+						UBrexConcat.build(
+								new UBrexLeaf("〴g 〶$QUOTED1=〇*〴G 〴g 〇?〘〇+〴s as 〇+〴s 〶$QUOTED2=〇+「〴an_.」 〙 "),
+								simple),
+						UBrexConcat.build(new UBrexNamed("CODE", new UBrexLeaf("〇+「〴an_.」")), simple) //
+				), //
+				UBrexLeaf.end());
+	}
+
+	// Same as UBrexCommandPartition, without the color
+	private UBrexPart partitionCommand() {
+		return UBrexConcat.build(new UBrexLeaf("partition"), //
+				UBrexLeaf.spaceOneOrMore(), //
+				new UBrexLeaf("【 〃 〶$NAME=〇+「〤〃」 〃 ┇ 〶$NAME=〇+〴S   】"), //
+				UBrexLeaf.spaceZeroOrMore(), //
+				new UBrexOptional(new UBrexLeaf("【 # 〇{6}「0〜9a〜fA〜F」┇ 〇?# 〇+〴w 】")), //
+				new UBrexOptional(new UBrexNamed("STEREOTYPE", new UBrexLeaf("<<  〄+〴. ->〘 >>〙"))), //
+				UBrexLeaf.spaceZeroOrMore(), //
+				new UBrexOptional(new UBrexLeaf("{")), //
+				UBrexLeaf.end());
+	}
+
+	// Same as UBrexCommandHideShow2
+	private UBrexPart hideShowCommand() {
+		return UBrexConcat.build( //
+				new UBrexNamed("COMMAND", new UBrexLeaf("【hide-class┇hide┇show-class┇show】")), //
+				UBrexLeaf.spaceOneOrMore(), //
+				new UBrexNamed("WHAT", new UBrexLeaf("【 << 〇*「〤<>」>> ┇ 〇+〴S 】 ")), //
+				UBrexLeaf.end());
+	}
+
+	private static final List<String> LINES = Arrays.asList("", "if", "if (x) then", "if x then", "if \"a b\" then",
+			"if \"a b\" as foo then", "-->if (ok)", "-[dashed,bold]up-> if (ok) then", "(*) if \"x\" then",
+			"(* top) if x", "== bar == if x then", "\"start\" as S if \"c\" then", "start --> [yes] if x then",
+			"abc if then", "IF x THEN", "partition foo", "partition \"foo bar\" #AABBCC <<stereo>> {",
+			"partition foo #red", "partition  x<<a>> {", "partition", "hide foo", "show <<stereo>>", "hide-class x",
+			"show", "hide  <<a", "show <<>>", "if x then then", "x --> if y", "ifx then");
+
+	private static void assertSame(UnicodeBracketedExpression interpreted, UnicodeBracketedExpression compiled,
+			String line, int position) {
+		final UMatcher m1 = interpreted.match(TextNavigator.build(line), position);
+		final UMatcher m2 = compiled.match(TextNavigator.build(line), position);
+		assertEquals(m1.startMatch(), m2.startMatch(), line);
+		assertEquals(m1.exactMatch(), m2.exactMatch(), line);
+		assertEquals(m1.getAcceptedMatch(), m2.getAcceptedMatch(), line);
+		if (m1.startMatch() == false)
+			return;
+
+		for (String key : m2.getKeysToBeRefactored())
+			assertEquals(m1.getCapture(key), m2.getCapture(key), line + " " + key);
+		if (m2.getKeysToBeRefactored().size() > 0)
+			assertEquals(m1.getKeysToBeRefactored(), m2.getKeysToBeRefactored(), line);
+	}
+
+	private static void assertSame(UBrexPart part) {
+		final UnicodeBracketedExpression interpreted = UnicodeBracketedExpression.from(part.getChallenge());
+		final UnicodeBracketedExpression compiled = UnicodeBracketedExpression.compile(part.getChallenge());
+		assertTrue(compiled instanceof CompiledExpression);
+		for (String line : LINES)
+			for (int i = 0; i <= line.length(); i++)
+				assertSame(interpreted, compiled, line, i);
+	}
+
+	@Test
+	void testIf() {
+		assertSame(ifCommand());
+		final UMatcher match = ifCommand().match("-[dashed,bold]up-> if (ok) then");
+		assertTrue(match.exactMatch());
+		assertEquals("[up]", match.getCapture("ARROW_DIRECTION").toString());
+		assertEquals("[(ok) ]", match.getCapture("IF2").toString());
+	}
+
+	@Test
+	void testPartition() {
+		assertSame(partitionCommand());
+	}
+
+	@Test
+	void testHideShow() {
+		assertSame(hideShowCommand());
+	}
+
+	@Test
+	void testLookBehindIsInterpreted() {
+		final UnicodeBracketedExpression cut = UnicodeBracketedExpression
+				.compile(CompositeList.parseAndBuild("〇*「〤_」  〒(<=)〴d  _"));
+		assertFalse(cut instanceof CompiledExpression);
+		assertTrue(cut.match("abc1_").exactMatch());
+		assertFalse(cut.match("abc_").exactMatch());
+	}
+
+}
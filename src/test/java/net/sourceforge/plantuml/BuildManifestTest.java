@@ -0,0 +1,74 @@
+package net.sourceforge.plantuml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static test.utils.TestUtils.writeUtf8File;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class BuildManifestTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void test_local_include_is_tracked() throws Exception {
+		writeUtf8File(tempDir.resolve("main.puml"), "@startuml\n!include inc.iuml\n@enduml\n");
+		writeUtf8File(tempDir.resolve("inc.iuml"), "Alice -> Bob\n");
+
+		assertThat(recordAndCheck()).isEqualTo(true);
+	}
+
+	@Test
+	public void test_include_using_date_is_not_recorded() throws Exception {
+		writeUtf8File(tempDir.resolve("main.puml"), "@startuml\n!include inc.iuml\n@enduml\n");
+		writeUtf8File(tempDir.resolve("inc.iuml"), "title %date(\"yyyy-MM-dd\")\nAlice -> Bob\n");
+
+		assertThat(recordAndCheck()).isEqualTo(false);
+	}
+
+	@Test
+	public void test_remote_theme_is_untracked() throws Exception {
+		writeUtf8File(tempDir.resolve("main.puml"),
+				"@startuml\n!theme cerulean from https://example.com/themes\nAlice -> Bob\n@enduml\n");
+
+		final String fingerprint = BuildManifest.getFingerprint(tempDir.resolve("main.puml").toFile(), new Option());
+		assertThat(fingerprint).isEqualTo(null);
+	}
+
+	@Test
+	public void test_filedate_is_untracked() throws Exception {
+		writeUtf8File(tempDir.resolve("main.puml"), "@startuml\ntitle %filedate()\nAlice -> Bob\n@enduml\n");
+
+		final String fingerprint = BuildManifest.getFingerprint(tempDir.resolve("main.puml").toFile(), new Option());
+		assertThat(fingerprint).isEqualTo(null);
+	}
+
+	@Test
+	public void test_output_options_change_fingerprint() throws Exception {
+		writeUtf8File(tempDir.resolve("main.puml"), "@startuml\nAlice -> Bob\n@enduml\n");
+		final File source = tempDir.resolve("main.puml").toFile();
+
+		final String light = BuildManifest.getFingerprint(source, new Option());
+		assertThat(BuildManifest.getFingerprint(source, new Option())).isEqualTo(light);
+		assertThat(BuildManifest.getFingerprint(source, new Option("-darkmode")).equals(light)).isEqualTo(false);
+		assertThat(BuildManifest.getFingerprint(source, new Option("-nometadata")).equals(light)).isEqualTo(false);
+		assertThat(BuildManifest.getFingerprint(source, new Option("-debugsvek")).equals(light)).isEqualTo(false);
+	}
+
+	private boolean recordAndCheck() throws Exception {
+		final File source = tempDir.resolve("main.puml").toFile();
+		final File include = tempDir.resolve("inc.iuml").toFile();
+		final String fingerprint = BuildManifest.getFingerprint(source, new Option());
+		assertThat(fingerprint == null).isEqualTo(false);
+
+		final BuildManifest manifest = BuildManifest.getManifest(tempDir.toFile());
+		manifest.record(source, fingerprint, Collections.singletonList(include), Collections.emptyList());
+		return manifest.isUpToDate(source, fingerprint);
+	}
+
+}
@@ -3,11 +3,14 @@ package net.sourceforge.plantuml;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static net.sourceforge.plantuml.FileFormat.PNG;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -22,6 +25,18 @@ class PSystemUtilsTest {
 	// Test Cases
 	//
 
+	@Test
+	void test_join_gives_back_io_exception_from_other_worker() throws Exception {
+		final ForkJoinTask<String> task = ForkJoinPool.commonPool().submit(ForkJoinTask.adapt(() -> {
+			throw new IOException("boom");
+		}));
+		while (task.isDone() == false)
+			Thread.sleep(1);
+
+		final IOException e = assertThrows(IOException.class, () -> PSystemUtils.join(task));
+		assertThat(e.getMessage()).isEqualTo("boom");
+	}
+
 	@Test
 	void test_splitPng(@TempDir Path tempDir) throws Exception {
 		final String source = "" +
@@ -0,0 +1,59 @@
+package net.sourceforge.plantuml.klimt.drawing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import net.sourceforge.plantuml.FileFormat;
+import net.sourceforge.plantuml.klimt.UStroke;
+import net.sourceforge.plantuml.klimt.UTranslate;
+import net.sourceforge.plantuml.klimt.color.HColors;
+import net.sourceforge.plantuml.klimt.font.StringBounder;
+import net.sourceforge.plantuml.klimt.shape.ULine;
+import net.sourceforge.plantuml.klimt.shape.URectangle;
+
+class UGraphicRecorderTest {
+
+	private static void drawSample(UGraphic ug) {
+		ug.apply(new UTranslate(10, 20)).apply(UStroke.withThickness(2)).draw(URectangle.build(30, 40));
+		for (int i = 0; i < 5; i++) {
+			ug = ug.apply(UTranslate.dy(15));
+			ug.apply(HColors.BLUE).draw(ULine.hline(70));
+		}
+	}
+
+	@Test
+	void test_replay_gives_same_bounds() {
+		final StringBounder stringBounder = FileFormat.PNG.getDefaultStringBounder();
+
+		final LimitFinder direct = LimitFinder.create(stringBounder, true);
+		drawSample(direct);
+
+		final UGraphicRecorder recorder = UGraphicRecorder.create(HColors.WHITE, null, stringBounder);
+		drawSample(recorder);
+		final LimitFinder replayed = LimitFinder.create(stringBounder, true);
+		recorder.replay(replayed);
+
+		assertThat(recorder.size()).isEqualTo(6);
+		assertThat(replayed.getMinX()).isEqualTo(direct.getMinX());
+		assertThat(replayed.getMinY()).isEqualTo(direct.getMinY());
+		assertThat(replayed.getMaxX()).isEqualTo(direct.getMaxX());
+		assertThat(replayed.getMaxY()).isEqualTo(direct.getMaxY());
+	}
+
+	@Test
+	void test_replay_twice() {
+		final StringBounder stringBounder = FileFormat.PNG.getDefaultStringBounder();
+		final UGraphicRecorder recorder = UGraphicRecorder.create(HColors.WHITE, null, stringBounder);
+		drawSample(recorder);
+
+		final LimitFinder first = LimitFinder.create(stringBounder, true);
+		recorder.replay(first);
+		final LimitFinder second = LimitFinder.create(stringBounder, true);
+		recorder.replay(second.apply(new UTranslate(100, 100)));
+
+		assertThat(second.getMaxX()).isEqualTo(first.getMaxX() + 100);
+		assertThat(second.getMaxY()).isEqualTo(first.getMaxY() + 100);
+	}
+
+}
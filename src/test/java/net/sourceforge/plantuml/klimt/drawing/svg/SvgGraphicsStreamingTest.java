@@ -0,0 +1,47 @@
+package net.sourceforge.plantuml.klimt.drawing.svg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import net.sourceforge.plantuml.klimt.UGroupType;
+import net.sourceforge.plantuml.skin.Pragma;
+
+class SvgGraphicsStreamingTest {
+
+	private static String render(boolean streaming) throws Exception {
+		final SvgGraphics svg = new SvgGraphics(42L, SvgOption.basic().withPragma(Pragma.createEmpty())
+				.withStreaming(streaming));
+		svg.setFillColor("#FF0000");
+		svg.setStrokeColor("#000000");
+		svg.svgRectangle(10, 10, 50, 30, 0, 0, 0);
+		svg.text("a < b & été 😀", 12, 25, "sans-serif", 14, null, null, null, 40,
+				Collections.<String, String>emptyMap(), null);
+
+		final Map<UGroupType, String> typeIdents = new EnumMap<>(UGroupType.class);
+		typeIdents.put(UGroupType.CLASS, "entity");
+		svg.startGroup(typeIdents);
+		svg.openLink("https://plantuml.com", "the \"title\"", "_top");
+		svg.svgLine(0, 0, 100, 100, 0);
+		svg.closeLink();
+		svg.closeGroup();
+		svg.svgRectangle(70, 10, 20, 20, 0, 0, 3);
+
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		svg.createXml(baos);
+		return new String(baos.toByteArray(), "UTF-8");
+	}
+
+	@Test
+	void test_streaming_gives_same_output() throws Exception {
+		final String dom = render(false);
+		assertThat(dom).contains("<a ", "<g ", "&amp;", "&#233;");
+		assertThat(render(true)).isEqualTo(dom);
+	}
+
+}
@@ -0,0 +1,32 @@
+package net.sourceforge.plantuml.klimt.drawing.svg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+class SvgSerializerTest {
+
+	@Test
+	void test_non_ascii_inlined_image() throws Exception {
+		final String image = "<svg x=\"0\" y=\"0\"><text>été 😀</text></svg>";
+		final SvgSerializer serializer = new SvgSerializer(Collections.singletonMap("imagesvginlined0", image));
+
+		final Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+		final Element root = document.createElement("svg");
+		root.appendChild(document.createElement("imagesvginlined0"));
+
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		serializer.writeDocument(baos, root, null);
+
+		// Same bytes as the DOM path, which writes the whole document with getBytes()
+		assertThat(baos.toByteArray()).isEqualTo(("<svg>" + image + "</svg>").getBytes());
+	}
+
+}
@@ -0,0 +1,57 @@
+package net.sourceforge.plantuml.klimt.shape;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import net.sourceforge.plantuml.FileFormat;
+import net.sourceforge.plantuml.klimt.font.StringBounder;
+import net.sourceforge.plantuml.klimt.geom.XDimension2D;
+
+class DimensionMemoTest {
+
+	private final AtomicInteger count = new AtomicInteger();
+
+	private final Function<StringBounder, XDimension2D> slow = stringBounder -> {
+		count.incrementAndGet();
+		return new XDimension2D(10, 20);
+	};
+
+	@Test
+	void shouldComputeOnlyOnceForTheSameStringBounder() {
+		final DimensionMemo memo = new DimensionMemo(getClass());
+		final StringBounder stringBounder = FileFormat.PNG.getDefaultStringBounder();
+
+		final XDimension2D first = memo.get(stringBounder, slow);
+		final XDimension2D second = memo.get(stringBounder, slow);
+
+		assertThat(second).isSameAs(first);
+		assertThat(count.get()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldComputeAgainForAnotherStringBounder() {
+		final DimensionMemo memo = new DimensionMemo(getClass());
+
+		memo.get(FileFormat.PNG.getDefaultStringBounder(), slow);
+		memo.get(FileFormat.SVG.getDefaultStringBounder(), slow);
+
+		assertThat(count.get()).isEqualTo(2);
+	}
+
+	@Test
+	void shouldComputeAgainAfterClear() {
+		final DimensionMemo memo = new DimensionMemo(getClass());
+		final StringBounder stringBounder = FileFormat.PNG.getDefaultStringBounder();
+
+		memo.get(stringBounder, slow);
+		memo.clear();
+		memo.get(stringBounder, slow);
+
+		assertThat(count.get()).isEqualTo(2);
+	}
+
+}
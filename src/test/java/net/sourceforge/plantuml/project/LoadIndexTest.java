@@ -0,0 +1,57 @@
+package net.sourceforge.plantuml.project;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import net.sourceforge.plantuml.project.time.Day;
+import net.sourceforge.plantuml.project.time.DayOfWeek;
+
+class LoadIndexTest {
+
+	private static OpenClose weekdays() {
+		final OpenClose calendar = new OpenClose();
+		calendar.setStartingDay(Day.create(2024, 1, 1));
+		calendar.close(DayOfWeek.SATURDAY);
+		calendar.close(DayOfWeek.SUNDAY);
+		return calendar;
+	}
+
+	// Walks the calendar one day at a time
+	private static int countDays(LoadPlanable plan, Day start, int fullLoad) {
+		int result = 0;
+		for (Day day = start; fullLoad > 0; day = day.increment()) {
+			fullLoad -= plan.getLoadAt(day);
+			result++;
+		}
+		return result;
+	}
+
+	@Test
+	void test_same_days_as_walking_the_calendar() {
+		final OpenClose calendar = weekdays();
+		calendar.close(Day.create(2024, 5, 1));
+		final LoadIndex index = new LoadIndex(calendar);
+		final Day start = Day.create(2024, 1, 3);
+		for (int load = 100; load <= 100 * 500; load += 100)
+			assertThat(index.countDaysForward(start.getAbsoluteDayNum(), load, 100000))
+					.isEqualTo(countDays(calendar, start, load));
+
+		// 2024-01-06 is a saturday
+		assertThat(index.countDaysBackward(Day.create(2024, 1, 8).getAbsoluteDayNum(), 200, 100000)).isEqualTo(4);
+		assertThat(index.nextDayWithLoad(Day.create(2024, 1, 6), 100)).isEqualTo(Day.create(2024, 1, 8));
+	}
+
+	@Test
+	void test_index_follows_calendar_changes() {
+		final OpenClose calendar = weekdays();
+		final LoadIndex index = new LoadIndex(calendar);
+		final int monday = Day.create(2024, 1, 8).getAbsoluteDayNum();
+		assertThat(index.countDaysForward(monday, 500, 100)).isEqualTo(5);
+
+		calendar.close(Day.create(2024, 1, 9));
+		assertThat(index.countDaysForward(monday, 500, 100)).isEqualTo(8);
+		assertThat(index.countDaysForward(monday, 500, 7)).isEqualTo(-1);
+	}
+
+}
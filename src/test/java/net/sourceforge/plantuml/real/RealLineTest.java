@@ -0,0 +1,44 @@
+package net.sourceforge.plantuml.real;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class RealLineTest {
+
+	@Test
+	void test_constraints_added_in_reverse_order() {
+		final RealOrigin origin = RealUtils.createOrigin();
+		final List<Real> points = new ArrayList<>();
+		for (int i = 0; i < 100; i++)
+			points.add(origin.addAtLeast(0));
+
+		for (int i = points.size() - 1; i > 0; i--)
+			points.get(i).ensureBiggerThan(points.get(i - 1).addFixed(10));
+
+		origin.compileNow();
+		assertThat(points.get(99).getCurrentValue()).isEqualTo(990.0);
+	}
+
+	@Test
+	void test_max_and_fixed_chains() {
+		final RealOrigin origin = RealUtils.createOrigin();
+		final Real a = origin.addAtLeast(5);
+		final Real b = origin.addAtLeast(20);
+		Real chain = a;
+		for (int i = 0; i < 10000; i++)
+			chain = chain.addFixed(1);
+
+		final Real c = origin.addAtLeast(0);
+		c.ensureBiggerThan(RealUtils.max(chain, b).addFixed(2));
+		a.ensureBiggerThan(b);
+
+		origin.compileNow();
+		assertThat(chain.getCurrentValue()).isEqualTo(10020.0);
+		assertThat(c.getCurrentValue()).isEqualTo(10022.0);
+	}
+
+}
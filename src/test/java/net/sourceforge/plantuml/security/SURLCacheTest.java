@@ -0,0 +1,114 @@
+package net.sourceforge.plantuml.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Checks the include cache against a local HTTP server.
+ */
+class SURLCacheTest {
+
+	private static final String ETAG = "\"v1\"";
+	private static final String CONTENT = "@startuml\nBob -> Alice\n@enduml\n";
+
+	private final AtomicInteger nbRequests = new AtomicInteger();
+	private final AtomicInteger nbNotModified = new AtomicInteger();
+
+	private HttpServer server;
+	private String root;
+
+	@TempDir
+	Path tempDir;
+
+	@BeforeEach
+	void startServer() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/", this::handle);
+		server.start();
+		root = "http://localhost:" + server.getAddress().getPort() + "/";
+		System.setProperty(SecurityUtils.ALLOWLIST_URL, root);
+		SURL.resetBadHosts();
+		SURLCache.getInstance().clearMemory();
+	}
+
+	@AfterEach
+	void stopServer() {
+		server.stop(0);
+		System.getProperties().remove(SecurityUtils.ALLOWLIST_URL);
+		System.getProperties().remove(SecurityUtils.INCLUDE_CACHE_TTL);
+		System.getProperties().remove(SecurityUtils.INCLUDE_CACHE_PATH);
+		System.getProperties().remove(SecurityUtils.INCLUDE_OFFLINE);
+		SURL.resetBadHosts();
+		SURLCache.getInstance().clearMemory();
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		nbRequests.incrementAndGet();
+		if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+			nbNotModified.incrementAndGet();
+			exchange.sendResponseHeaders(304, -1);
+			exchange.close();
+			return;
+		}
+		final byte[] body = CONTENT.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("ETag", ETAG);
+		exchange.sendResponseHeaders(200, body.length);
+		try (OutputStream os = exchange.getResponseBody()) {
+			os.write(body);
+		}
+	}
+
+	private String read(String path) {
+		final byte[] data = SURL.create(root + path).getCachedBytes();
+		return data == null ? null : new String(data, StandardCharsets.UTF_8);
+	}
+
+	@Test
+	void fresh_entry_is_not_downloaded_again() {
+		System.setProperty(SecurityUtils.INCLUDE_CACHE_TTL, "3600");
+
+		assertThat(read("a.puml")).isEqualTo(CONTENT);
+		assertThat(read("a.puml")).isEqualTo(CONTENT);
+		assertThat(nbRequests.get()).isEqualTo(1);
+	}
+
+	@Test
+	void stale_entry_is_revalidated_with_etag() {
+		System.setProperty(SecurityUtils.INCLUDE_CACHE_TTL, "0");
+
+		assertThat(read("b.puml")).isEqualTo(CONTENT);
+		assertThat(read("b.puml")).isEqualTo(CONTENT);
+		assertThat(nbRequests.get()).isEqualTo(2);
+		assertThat(nbNotModified.get()).isEqualTo(1);
+	}
+
+	@Test
+	void offline_mode_serves_disk_copy_without_network() {
+		System.setProperty(SecurityUtils.INCLUDE_CACHE_TTL, "0");
+		System.setProperty(SecurityUtils.INCLUDE_CACHE_PATH, tempDir.toString());
+
+		assertThat(read("c.puml")).isEqualTo(CONTENT);
+		server.stop(0);
+		SURLCache.getInstance().clearMemory();
+		System.setProperty(SecurityUtils.INCLUDE_OFFLINE, "true");
+
+		assertThat(read("c.puml")).isEqualTo(CONTENT);
+		assertThat(read("unknown.puml")).isNull();
+		assertThat(nbRequests.get()).isEqualTo(1);
+	}
+
+}
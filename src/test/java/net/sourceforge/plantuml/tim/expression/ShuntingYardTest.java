@@ -1,6 +1,7 @@
 package net.sourceforge.plantuml.tim.expression;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import org.junit.jupiter.api.Test;
 
@@ -172,4 +173,28 @@ class ShuntingYardTest {
 
 	}
 
+	@Test
+	public void testWithoutKnowledgeKeepsVariables() throws Exception {
+
+		final EaterMock eater = new EaterMock(new StringLocated("$i < 2 * $n", null));
+		final TokenStack stack = eater.eatTokenStackPublic().withoutSpace();
+
+		final ShuntingYard shuntingYard = new ShuntingYard(stack.tokenIterator(), null, null);
+		final TokenStack queue = shuntingYard.getQueue();
+
+		assertEquals("[PLAIN_TEXT{$i}, NUMBER{2}, PLAIN_TEXT{$n}, OPERATOR{*}, OPERATOR{<}]", queue.toString());
+
+	}
+
+	@Test
+	public void testSameLineGivesSameTokenStack() throws Exception {
+
+		final StringLocated line = new StringLocated("$i + 1", null);
+		final TokenStack stack1 = new EaterMock(line).eatTokenStackPublic();
+		final TokenStack stack2 = new EaterMock(new StringLocated("$i + 1", null)).eatTokenStackPublic();
+
+		assertSame(stack1, stack2);
+
+	}
+
 }
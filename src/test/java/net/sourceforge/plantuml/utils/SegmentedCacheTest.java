@@ -0,0 +1,55 @@
+package net.sourceforge.plantuml.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class SegmentedCacheTest {
+
+	@Test
+	void shouldReturnStoredValues() {
+		final SegmentedCache<String, Integer> cache = new SegmentedCache<>(100, 4);
+		cache.put("a", 1);
+		cache.put("b", 2);
+		assertThat(cache.get("a")).isEqualTo(1);
+		assertThat(cache.get("b")).isEqualTo(2);
+		assertThat(cache.get("c")).isNull();
+	}
+
+	@Test
+	void shouldCountHitsAndMisses() {
+		final SegmentedCache<String, Integer> cache = new SegmentedCache<>(100, 4);
+		cache.put("a", 1);
+		cache.get("a");
+		cache.get("a");
+		cache.get("z");
+		assertThat(cache.getHits()).isEqualTo(2);
+		assertThat(cache.getMisses()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldStayBounded() {
+		final SegmentedCache<Integer, Integer> cache = new SegmentedCache<>(64, 4);
+		for (int i = 0; i < 10_000; i++)
+			cache.put(i, i);
+		assertThat(cache.size()).isLessThanOrEqualTo(64);
+	}
+
+	@Test
+	void shouldKeepRecentlyUsedEntries() {
+		final SegmentedCache<Integer, Integer> cache = new SegmentedCache<>(2, 1);
+		cache.put(1, 1);
+		cache.put(2, 2);
+		cache.get(1);
+		cache.put(3, 3);
+		assertThat(cache.get(1)).isEqualTo(1);
+		assertThat(cache.get(2)).isNull();
+	}
+
+	@Test
+	void segmentCountMustBeAPowerOfTwo() {
+		assertThrows(IllegalArgumentException.class, () -> new SegmentedCache<String, String>(100, 3));
+	}
+
+}